@@ -2,12 +2,16 @@ package br.com.loomi.orders;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Order Processing Service.
  * This class bootstraps the Spring Boot application.
  */
 @SpringBootApplication
+@EnableScheduling
+@ConfigurationPropertiesScan
 public class OrderProcessingApplication {
 
     public static void main(String[] args) {
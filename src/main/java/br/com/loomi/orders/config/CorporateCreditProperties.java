@@ -0,0 +1,38 @@
+package br.com.loomi.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Credit limits for corporate customers.
+ * Customers without an explicit entry in {@code limits} use {@code defaultLimit}.
+ *
+ * @param defaultLimit the limit applied to customers without an override
+ * @param limits       per-customer limit overrides keyed by customer id
+ */
+@ConfigurationProperties(prefix = "app.corporate.credit")
+public record CorporateCreditProperties(
+        @DefaultValue("100000") BigDecimal defaultLimit,
+        Map<String, BigDecimal> limits
+) {
+
+    /**
+     * Normalizes missing overrides to an empty map.
+     */
+    public CorporateCreditProperties {
+        limits = limits != null ? Map.copyOf(limits) : Map.of();
+    }
+
+    /**
+     * Resolves the credit limit of a customer.
+     *
+     * @param customerId the customer identifier
+     * @return the customer's override, or the default limit
+     */
+    public BigDecimal limitFor(String customerId) {
+        return limits.getOrDefault(customerId, defaultLimit);
+    }
+}
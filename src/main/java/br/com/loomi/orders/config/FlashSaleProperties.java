@@ -0,0 +1,54 @@
+package br.com.loomi.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+/**
+ * Hot SKUs whose stock or pre-order slots are split into striped sub-pools.
+ *
+ * @param skus    product ids that run in flash-sale mode
+ * @param stripes number of sub-pools per SKU, {@code 0} for one per available core
+ */
+@ConfigurationProperties(prefix = "app.flash-sale")
+public record FlashSaleProperties(
+        Set<String> skus,
+        @DefaultValue("0") int stripes
+) {
+
+    /**
+     * Normalizes a missing SKU list to an empty set.
+     */
+    public FlashSaleProperties {
+        skus = skus != null ? Set.copyOf(skus) : Set.of();
+    }
+
+    /**
+     * Configuration with flash-sale mode turned off.
+     *
+     * @return properties without hot SKUs
+     */
+    public static FlashSaleProperties disabled() {
+        return new FlashSaleProperties(Set.of(), 0);
+    }
+
+    /**
+     * Checks whether a product runs in flash-sale mode.
+     *
+     * @param productId the product identifier
+     * @return true if the product is a configured hot SKU
+     */
+    public boolean isFlashSale(String productId) {
+        return skus.contains(productId);
+    }
+
+    /**
+     * Resolves the number of sub-pools per SKU.
+     *
+     * @return the configured stripes, or the number of available cores
+     */
+    public int resolvedStripes() {
+        return stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+}
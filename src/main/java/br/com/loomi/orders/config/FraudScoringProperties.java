@@ -0,0 +1,45 @@
+package br.com.loomi.orders.config;
+
+import br.com.loomi.orders.service.fraud.FraudDecision;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Fraud scoring stage configuration.
+ *
+ * By default the review threshold equals the alert threshold, so scoring never sends an
+ * order to manual approval. Lower it only if someone reviews the orders it holds, through
+ * the approve and reject endpoints.
+ *
+ * @param budget          how long order processing waits for a score
+ * @param timeoutDecision decision applied when the score misses the budget or fails
+ * @param reviewThreshold scores at or above this send the order to manual approval
+ * @param alertThreshold  scores at or above this fail the order with a fraud alert
+ * @param threads         scoring worker threads
+ * @param queueCapacity   scoring requests waiting for a worker before new ones are rejected
+ */
+@ConfigurationProperties(prefix = "app.fraud")
+public record FraudScoringProperties(
+        @DefaultValue("50ms") Duration budget,
+        @DefaultValue("APPROVE") FraudDecision timeoutDecision,
+        @DefaultValue("0.8") double reviewThreshold,
+        @DefaultValue("0.8") double alertThreshold,
+        @DefaultValue("4") int threads,
+        @DefaultValue("1000") int queueCapacity
+) {
+
+    /**
+     * Maps a score to a decision.
+     *
+     * @param score the fraud score, between 0 and 1
+     * @return the decision for the score
+     */
+    public FraudDecision decide(double score) {
+        if (score >= alertThreshold) {
+            return FraudDecision.ALERT;
+        }
+        return score >= reviewThreshold ? FraudDecision.REVIEW : FraudDecision.APPROVE;
+    }
+}
@@ -119,6 +119,8 @@ public class KafkaConfig {
 
     /**
      * Creates the Kafka listener container factory for order events.
+     * Records are delivered in batches so the consumer can fan them out to the
+     * per-customer work queue and commit offsets once the batch is done.
      *
      * @return the configured listener container factory
      */
@@ -128,6 +130,7 @@ public class KafkaConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(orderEventConsumerFactory());
         factory.setCommonErrorHandler(kafkaErrorHandler());
+        factory.setBatchListener(true);
         return factory;
     }
 }
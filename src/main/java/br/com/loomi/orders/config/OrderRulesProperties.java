@@ -0,0 +1,62 @@
+package br.com.loomi.orders.config;
+
+import br.com.loomi.orders.service.rules.RuleAction;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Global order rules, evaluated in declaration order.
+ * Without configuration the built-in high-value and payment simulation rules apply.
+ * Fraud is decided by the fraud scoring stage; {@link RuleAction#FRAUD_ALERT} rules can still be
+ * added to force alerts on top of it.
+ *
+ * @param definitions the rules
+ * @param seed        seed of the random simulator, random per thread when absent
+ */
+@ConfigurationProperties(prefix = "app.rules")
+public record OrderRulesProperties(
+        List<Rule> definitions,
+        Long seed
+) {
+
+    /**
+     * Falls back to the built-in rules when none are configured.
+     */
+    public OrderRulesProperties {
+        definitions = definitions != null && !definitions.isEmpty()
+                ? List.copyOf(definitions)
+                : defaultRules();
+    }
+
+    /**
+     * The built-in rules.
+     *
+     * @return high value above 10,000 and 2% payment failures
+     */
+    public static List<Rule> defaultRules() {
+        return List.of(
+                new Rule("high-value", RuleAction.FLAG_HIGH_VALUE, BigDecimal.valueOf(10_000), 1.0),
+                new Rule("payment-simulation", RuleAction.FAIL_PAYMENT, null, 0.02)
+        );
+    }
+
+    /**
+     * A single rule: fires when the order total is above {@code minAmount} and a draw
+     * of the simulator falls below {@code probability}.
+     *
+     * @param name        unique rule name, used as metric tag
+     * @param action      the effect applied when the rule fires
+     * @param minAmount   exclusive lower bound of the order total, none when null
+     * @param probability chance of firing once the threshold is met, 1.0 for always
+     */
+    public record Rule(
+            String name,
+            RuleAction action,
+            BigDecimal minAmount,
+            @DefaultValue("1.0") double probability
+    ) {
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.loomi.orders.config;
+
+import br.com.loomi.orders.service.processing.PipelineStage;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Order processing pipeline configuration.
+ * Every stage gets the default sizing unless it is overridden under {@code stages}.
+ *
+ * @param threads       default worker threads per stage
+ * @param queueCapacity default orders waiting in front of a stage before the previous stage runs it inline
+ * @param stages        per-stage overrides
+ */
+@ConfigurationProperties(prefix = "app.processing.pipeline")
+public record ProcessingPipelineProperties(
+        @DefaultValue("2") int threads,
+        @DefaultValue("256") int queueCapacity,
+        Map<PipelineStage, Stage> stages
+) {
+
+    public ProcessingPipelineProperties {
+        stages = stages != null ? Map.copyOf(stages) : Map.of();
+    }
+
+    /**
+     * Resolves the worker threads of a stage.
+     *
+     * @param stage the pipeline stage
+     * @return the configured threads, or the default
+     */
+    public int threads(PipelineStage stage) {
+        Stage override = stages.get(stage);
+        return override != null && override.threads() != null ? override.threads() : threads;
+    }
+
+    /**
+     * Resolves the queue capacity in front of a stage.
+     *
+     * @param stage the pipeline stage
+     * @return the configured capacity, or the default
+     */
+    public int queueCapacity(PipelineStage stage) {
+        Stage override = stages.get(stage);
+        return override != null && override.queueCapacity() != null ? override.queueCapacity() : queueCapacity;
+    }
+
+    /**
+     * Sizing override of a single stage.
+     *
+     * @param threads       worker threads, or null for the default
+     * @param queueCapacity queue capacity, or null for the default
+     */
+    public record Stage(Integer threads, Integer queueCapacity) {
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.loomi.orders.domain.dto;
+
+/**
+ * Last line of a bulk order import response.
+ *
+ * @param created  number of orders created
+ * @param rejected number of lines rejected or failed
+ * @param complete false if the upload could not be read to the end
+ */
+public record BulkOrderImportSummary(long created, long rejected, boolean complete) {
+}
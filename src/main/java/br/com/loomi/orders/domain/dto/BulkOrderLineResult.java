@@ -0,0 +1,68 @@
+package br.com.loomi.orders.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of one line of a bulk order import, streamed back as an NDJSON line.
+ *
+ * @param line        the 1-based line number in the upload
+ * @param status      CREATED, REJECTED or FAILED
+ * @param orderId     the created order id, if created
+ * @param totalAmount the priced total, if created
+ * @param code        the error code, if not created
+ * @param message     the error message, if not created
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkOrderLineResult(int line, Status status, Long orderId, BigDecimal totalAmount,
+                                  String code, String message) {
+
+    /**
+     * Outcome of an imported line.
+     */
+    public enum Status {
+        /** The order was persisted and its ORDER_CREATED event published. */
+        CREATED,
+        /** The line was invalid and nothing was written. */
+        REJECTED,
+        /** The line was valid but its chunk could not be persisted. */
+        FAILED
+    }
+
+    /**
+     * Builds the result of a created order.
+     *
+     * @param line        the line number
+     * @param orderId     the order id
+     * @param totalAmount the order total
+     * @return the result
+     */
+    public static BulkOrderLineResult created(int line, Long orderId, BigDecimal totalAmount) {
+        return new BulkOrderLineResult(line, Status.CREATED, orderId, totalAmount, null, null);
+    }
+
+    /**
+     * Builds the result of an invalid line.
+     *
+     * @param line    the line number
+     * @param code    the error code
+     * @param message the error message
+     * @return the result
+     */
+    public static BulkOrderLineResult rejected(int line, String code, String message) {
+        return new BulkOrderLineResult(line, Status.REJECTED, null, null, code, message);
+    }
+
+    /**
+     * Builds the result of a valid line whose chunk could not be persisted.
+     *
+     * @param line    the line number
+     * @param code    the error code
+     * @param message the error message
+     * @return the result
+     */
+    public static BulkOrderLineResult failed(int line, String code, String message) {
+        return new BulkOrderLineResult(line, Status.FAILED, null, null, code, message);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.loomi.orders.domain.dto;
 
 import br.com.loomi.orders.domain.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -41,6 +42,8 @@ public class OrderDetailResponse {
     private OrderStatus status;
     private Instant createdAt;
     private Instant updatedAt;
+    @JsonIgnore
+    private long version;
 
     /**
      * Gets the unique order identifier.
@@ -167,4 +170,23 @@ public class OrderDetailResponse {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    /**
+     * Gets the order version the details were read at.
+     * Not serialized; used to build the response ETag.
+     *
+     * @return the order version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the order version the details were read at.
+     *
+     * @param version the order version to set
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
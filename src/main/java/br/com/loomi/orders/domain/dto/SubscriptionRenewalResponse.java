@@ -0,0 +1,13 @@
+package br.com.loomi.orders.domain.dto;
+
+import java.time.Instant;
+
+/**
+ * Response to a subscription renewal.
+ *
+ * @param customerId the customer identifier
+ * @param productId  the subscribed product identifier
+ * @param periodEnd  the new end of the subscription period
+ */
+public record SubscriptionRenewalResponse(String customerId, String productId, Instant periodEnd) {
+}
@@ -47,6 +47,10 @@ public class Order {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Default constructor for JPA.
      */
@@ -154,6 +158,14 @@ public class Order {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Adds an item to this order and establishes the bidirectional relationship.
      *
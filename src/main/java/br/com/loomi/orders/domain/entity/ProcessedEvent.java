@@ -0,0 +1,69 @@
+package br.com.loomi.orders.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Records an event that has already been consumed.
+ * Used to deduplicate redelivered Kafka messages across consumer instances.
+ */
+@Entity
+@Table(name = "processed_events")
+public class ProcessedEvent {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private UUID eventId;
+
+    @Column(nullable = false, length = 64)
+    private String eventType;
+
+    @Column(nullable = false)
+    private Instant processedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public ProcessedEvent() {
+    }
+
+    /**
+     * Constructs a ProcessedEvent with all fields.
+     *
+     * @param eventId the consumed event identifier
+     * @param eventType the consumed event type
+     * @param processedAt when the event was processed
+     */
+    public ProcessedEvent(UUID eventId, String eventType, Instant processedAt) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.processedAt = processedAt;
+    }
+
+    // Getters and Setters
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Instant processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.loomi.orders.domain.enums;
+
+/**
+ * Output formats of an order history export.
+ * NDJSON writes one order per line with its items nested; CSV writes one row per item.
+ */
+public enum OrderExportFormat {
+    NDJSON,
+    CSV
+}
@@ -29,6 +29,7 @@ public enum OrderFailureReason {
     CREDIT_LIMIT_EXCEEDED,
     INVALID_CORPORATE_DATA,
     PENDING_MANUAL_APPROVAL,
+    APPROVAL_REJECTED,
 
     // GLOBAL
     PAYMENT_FAILED,
@@ -0,0 +1,108 @@
+package br.com.loomi.orders.persistence;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch writer for inserting many new orders at once.
+ *
+ * Order ids are reserved from the orders sequence in one round trip, so orders and items
+ * can be inserted as two JDBC batches without reading generated keys row by row. With
+ * {@code reWriteBatchedInserts} enabled the driver folds each batch into multi-row INSERTs.
+ * Must run inside a transaction.
+ */
+@Repository
+public class OrderBulkWriter {
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('orders', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_ORDER_SQL = """
+            INSERT INTO orders (id, customer_id, total_amount, status, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String INSERT_ITEM_SQL = """
+            INSERT INTO order_items (order_id, product_id, product_type, quantity, unit_price, total_price, metadata)
+            VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the writer.
+     *
+     * @param jdbcTemplate the JDBC template
+     * @param objectMapper the mapper used to serialize item metadata
+     */
+    public OrderBulkWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Inserts new orders with their items.
+     * Ids, timestamps and version are assigned on the given orders.
+     *
+     * @param orders unsaved orders
+     */
+    public void insert(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, orders.size());
+        Instant now = Instant.now();
+        OffsetDateTime timestamp = now.atOffset(ZoneOffset.UTC);
+
+        List<Object[]> orderRows = new ArrayList<>(orders.size());
+        List<Object[]> itemRows = new ArrayList<>(orders.size() * 2);
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            order.setId(ids.get(i));
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            order.setVersion(0L);
+            orderRows.add(new Object[]{
+                    order.getId(), order.getCustomerId(), order.getTotalAmount(), order.getStatus().name(),
+                    timestamp, timestamp
+            });
+            for (OrderItem item : order.getItems()) {
+                itemRows.add(new Object[]{
+                        order.getId(), item.getProductId(), item.getProductType().name(), item.getQuantity(),
+                        item.getUnitPrice(), item.getTotalPrice(), toJson(item)
+                });
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orderRows, new int[]{
+                Types.BIGINT, Types.VARCHAR, Types.NUMERIC, Types.VARCHAR,
+                Types.TIMESTAMP_WITH_TIMEZONE, Types.TIMESTAMP_WITH_TIMEZONE});
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, itemRows, new int[]{
+                Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.INTEGER,
+                Types.NUMERIC, Types.NUMERIC, Types.VARCHAR});
+    }
+
+    private String toJson(OrderItem item) {
+        if (item.getMetadata() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(item.getMetadata());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Item metadata is not serializable", ex);
+        }
+    }
+}
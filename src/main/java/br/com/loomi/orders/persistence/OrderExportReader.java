@@ -0,0 +1,85 @@
+package br.com.loomi.orders.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Reads a customer's whole order history through a forward-only JDBC cursor.
+ *
+ * The PostgreSQL driver only fetches with a cursor when auto-commit is off, so callers must
+ * run inside a transaction; rows then arrive {@code fetch-size} at a time and are handed
+ * on one by one, and nothing but the current fetch batch is held in memory.
+ */
+@Repository
+public class OrderExportReader {
+
+    private static final String SELECT_BY_CUSTOMER_SQL = """
+            SELECT o.id, o.status, o.total_amount, o.failure_reason, o.created_at, o.updated_at,
+                   i.product_id, i.product_type, i.quantity, i.unit_price, i.total_price
+              FROM orders o
+              LEFT JOIN order_items i ON i.order_id = o.id
+             WHERE o.customer_id = ?
+             ORDER BY o.created_at DESC, o.id DESC, i.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    /**
+     * Constructs the reader.
+     *
+     * @param jdbcTemplate the JDBC template
+     * @param fetchSize    rows fetched from the cursor per round trip
+     */
+    public OrderExportReader(JdbcTemplate jdbcTemplate,
+                             @Value("${app.orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams the orders of a customer, newest first, one item row at a time.
+     * An exception thrown by the consumer stops the query and is propagated.
+     *
+     * @param customerId the customer identifier
+     * @param consumer   receives each row
+     */
+    public void streamByCustomer(String customerId, Consumer<OrderExportRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_BY_CUSTOMER_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setString(1, customerId);
+            return statement;
+        }, (ResultSet rs) -> consumer.accept(toRow(rs)));
+    }
+
+    private static OrderExportRow toRow(ResultSet rs) throws SQLException {
+        int quantity = rs.getInt(9);
+        boolean hasQuantity = !rs.wasNull();
+        return new OrderExportRow(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getBigDecimal(3),
+                rs.getString(4),
+                toInstant(rs.getObject(5, OffsetDateTime.class)),
+                toInstant(rs.getObject(6, OffsetDateTime.class)),
+                rs.getString(7),
+                rs.getString(8),
+                hasQuantity ? quantity : null,
+                rs.getBigDecimal(10),
+                rs.getBigDecimal(11));
+    }
+
+    private static Instant toInstant(OffsetDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.loomi.orders.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One order item joined with its order, as read by the export cursor.
+ * Rows of the same order are consecutive; an order without items has a single row with
+ * null item columns.
+ *
+ * @param orderId       the order identifier
+ * @param status        the order status
+ * @param totalAmount   the order total
+ * @param failureReason the failure reason, if any
+ * @param createdAt     when the order was created
+ * @param updatedAt     when the order was last updated
+ * @param productId     the item product, or null
+ * @param productType   the item product type, or null
+ * @param quantity      the item quantity, or null
+ * @param unitPrice     the item unit price, or null
+ * @param totalPrice    the item total price, or null
+ */
+public record OrderExportRow(
+        long orderId,
+        String status,
+        BigDecimal totalAmount,
+        String failureReason,
+        Instant createdAt,
+        Instant updatedAt,
+        String productId,
+        String productType,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalPrice
+) {
+}
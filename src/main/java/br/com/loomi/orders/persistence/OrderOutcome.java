@@ -0,0 +1,24 @@
+package br.com.loomi.orders.persistence;
+
+import br.com.loomi.orders.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Minimal view of a finished order, used to rebuild per-customer aggregates.
+ *
+ * @param id          the order identifier
+ * @param customerId  the customer identifier
+ * @param totalAmount the order total
+ * @param status      the final status
+ * @param updatedAt   when the order reached its final status
+ */
+public record OrderOutcome(
+        Long id,
+        String customerId,
+        BigDecimal totalAmount,
+        OrderStatus status,
+        Instant updatedAt
+) {
+}
@@ -1,9 +1,19 @@
 package br.com.loomi.orders.persistence;
 
 import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * JPA repository for Order entity persistence.
@@ -19,4 +29,107 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @return page of orders
      */
     Page<Order> findByCustomerIdOrderByCreatedAtDesc(String customerId, Pageable pageable);
+
+    /**
+     * Reads finished orders updated since a given instant, in id order, one page after another.
+     *
+     * @param afterId only orders with a greater id are returned
+     * @param since the earliest update timestamp
+     * @param statuses the final statuses to include
+     * @param pageable the page size; the page number must be zero
+     * @return the next page of order outcomes
+     */
+    @Query("""
+            select new br.com.loomi.orders.persistence.OrderOutcome(
+                       o.id, o.customerId, o.totalAmount, o.status, o.updatedAt)
+              from Order o
+             where o.id > :afterId
+               and o.updatedAt >= :since
+               and o.status in :statuses
+             order by o.id
+            """)
+    List<OrderOutcome> findOutcomesAfter(@Param("afterId") Long afterId,
+                                         @Param("since") Instant since,
+                                         @Param("statuses") Collection<OrderStatus> statuses,
+                                         Pageable pageable);
+
+    /**
+     * Marks an order as processed with a single narrow UPDATE guarded by its current status.
+     * Pending item changes are flushed first and the persistence context is cleared
+     * afterwards, so a loaded entity is detached and never overwrites this update.
+     *
+     * @param id the order identifier
+     * @param expectedStatus the status the order must currently have
+     * @param updatedAt the update timestamp
+     * @return number of affected rows, 0 when the order was not in the expected status
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o
+               set o.status = br.com.loomi.orders.domain.enums.OrderStatus.PROCESSED,
+                   o.failureReason = null,
+                   o.failureMessage = null,
+                   o.updatedAt = :updatedAt,
+                   o.version = o.version + 1
+             where o.id = :id
+               and o.status = :expectedStatus
+            """)
+    int markProcessed(@Param("id") Long id,
+                      @Param("expectedStatus") OrderStatus expectedStatus,
+                      @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Marks an order as failed with a single narrow UPDATE guarded by its current status.
+     *
+     * @param id the order identifier
+     * @param expectedStatus the status the order must currently have
+     * @param failureReason the failure reason
+     * @param failureMessage the failure message
+     * @param updatedAt the update timestamp
+     * @return number of affected rows, 0 when the order was not in the expected status
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o
+               set o.status = br.com.loomi.orders.domain.enums.OrderStatus.FAILED,
+                   o.failureReason = :failureReason,
+                   o.failureMessage = :failureMessage,
+                   o.updatedAt = :updatedAt,
+                   o.version = o.version + 1
+             where o.id = :id
+               and o.status = :expectedStatus
+            """)
+    int markFailed(@Param("id") Long id,
+                   @Param("expectedStatus") OrderStatus expectedStatus,
+                   @Param("failureReason") OrderFailureReason failureReason,
+                   @Param("failureMessage") String failureMessage,
+                   @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Marks an order as pending manual approval with a single narrow UPDATE guarded by its current status.
+     *
+     * @param id the order identifier
+     * @param expectedStatus the status the order must currently have
+     * @param failureMessage the message explaining why approval is needed
+     * @param updatedAt the update timestamp
+     * @return number of affected rows, 0 when the order was not in the expected status
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o
+               set o.status = br.com.loomi.orders.domain.enums.OrderStatus.PENDING_APPROVAL,
+                   o.failureReason = br.com.loomi.orders.domain.enums.OrderFailureReason.PENDING_MANUAL_APPROVAL,
+                   o.failureMessage = :failureMessage,
+                   o.updatedAt = :updatedAt,
+                   o.version = o.version + 1
+             where o.id = :id
+               and o.status = :expectedStatus
+            """)
+    int markPendingApproval(@Param("id") Long id,
+                            @Param("expectedStatus") OrderStatus expectedStatus,
+                            @Param("failureMessage") String failureMessage,
+                            @Param("updatedAt") Instant updatedAt);
 }
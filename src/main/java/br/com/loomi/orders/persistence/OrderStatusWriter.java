@@ -0,0 +1,120 @@
+package br.com.loomi.orders.persistence;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch writer for the final status of many processed orders at once.
+ *
+ * Every transition is a narrow UPDATE guarded by {@code status = 'PENDING'} and the
+ * version the order was loaded with, sent together as one JDBC batch; the item columns
+ * that processors change are then written for the orders that moved, as a second batch.
+ * Nothing goes through the persistence context, so a stale copy of an order can never
+ * overwrite columns another writer changed. Must run inside a transaction.
+ */
+@Repository
+public class OrderStatusWriter {
+
+    private static final String TRANSITION_SQL = """
+            UPDATE orders
+               SET status = ?, failure_reason = ?, failure_message = ?, total_amount = ?,
+                   updated_at = ?, version = version + 1
+             WHERE id = ? AND status = 'PENDING' AND version = ?
+            """;
+
+    private static final String UPDATE_ITEM_SQL = """
+            UPDATE order_items SET total_price = ?, metadata = CAST(? AS jsonb) WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the writer.
+     *
+     * @param jdbcTemplate the JDBC template
+     * @param objectMapper the mapper used to serialize item metadata
+     */
+    public OrderStatusWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Moves PENDING orders to their final status and writes their items' total price and
+     * metadata. Orders no longer PENDING, or changed since they were loaded, are left
+     * untouched and neither are their items.
+     * The given orders are not modified.
+     *
+     * @param transitions the orders with the status each should reach
+     * @param updatedAt   the update timestamp
+     * @return for each transition, whether this call performed it
+     * @throws IllegalArgumentException if a transition targets PENDING
+     */
+    public boolean[] transitionFromPending(List<OrderTransition> transitions, Instant updatedAt) {
+        boolean[] written = new boolean[transitions.size()];
+        if (transitions.isEmpty()) {
+            return written;
+        }
+
+        OffsetDateTime timestamp = updatedAt.atOffset(ZoneOffset.UTC);
+        List<Object[]> orderRows = new ArrayList<>(transitions.size());
+        for (OrderTransition transition : transitions) {
+            Order order = transition.order();
+            OrderFailureReason reason = switch (transition.status()) {
+                case PROCESSED -> null;
+                case FAILED -> transition.failureReason();
+                case PENDING_APPROVAL -> OrderFailureReason.PENDING_MANUAL_APPROVAL;
+                case PENDING -> throw new IllegalArgumentException("Cannot transition order back to PENDING");
+            };
+            String message = transition.status() == OrderStatus.PROCESSED ? null : transition.failureMessage();
+            orderRows.add(new Object[]{
+                    transition.status().name(), reason != null ? reason.name() : null, message,
+                    order.getTotalAmount(), timestamp, order.getId(), order.getVersion()
+            });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(TRANSITION_SQL, orderRows, new int[]{
+                Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC,
+                Types.TIMESTAMP_WITH_TIMEZONE, Types.BIGINT, Types.BIGINT});
+
+        List<Object[]> itemRows = new ArrayList<>(transitions.size() * 2);
+        for (int i = 0; i < counts.length; i++) {
+            written[i] = counts[i] != 0;
+            if (!written[i]) {
+                continue;
+            }
+            for (OrderItem item : transitions.get(i).order().getItems()) {
+                itemRows.add(new Object[]{item.getTotalPrice(), toJson(item), item.getId()});
+            }
+        }
+        if (!itemRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, itemRows, new int[]{
+                    Types.NUMERIC, Types.VARCHAR, Types.BIGINT});
+        }
+        return written;
+    }
+
+    private String toJson(OrderItem item) {
+        if (item.getMetadata() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(item.getMetadata());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Item metadata is not serializable", ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.loomi.orders.persistence;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+
+/**
+ * The final status a processed order should reach, as written by {@link OrderStatusWriter}.
+ *
+ * @param order          the order as loaded and changed by its processors
+ * @param status         the target status
+ * @param failureReason  the failure reason, or null
+ * @param failureMessage the failure or approval message, or null
+ */
+public record OrderTransition(
+        Order order,
+        OrderStatus status,
+        OrderFailureReason failureReason,
+        String failureMessage
+) {
+}
@@ -0,0 +1,75 @@
+package br.com.loomi.orders.persistence;
+
+import br.com.loomi.orders.domain.event.OrderEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC writer recording many consumed events as processed in a single statement.
+ *
+ * The events are passed as two arrays and inserted with {@code ON CONFLICT DO NOTHING};
+ * {@code RETURNING} reports exactly which rows this statement inserted, which a rewritten
+ * JDBC batch cannot. Ids are inserted in sorted order so that two batches claiming
+ * overlapping events lock them in the same order and cannot deadlock. Must run inside a
+ * transaction.
+ */
+@Repository
+public class ProcessedEventBatchWriter {
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO processed_events (event_id, event_type, processed_at)
+            SELECT e.event_id, e.event_type, ?
+              FROM unnest(?, ?) AS e(event_id, event_type)
+            ON CONFLICT (event_id) DO NOTHING
+            RETURNING event_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs the writer.
+     *
+     * @param jdbcTemplate the JDBC template
+     */
+    public ProcessedEventBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records events as processed unless they were already recorded.
+     * A concurrent insert of the same id blocks until the other transaction ends.
+     *
+     * @param events      the events, all with an id
+     * @param processedAt when the events were processed
+     * @return the ids recorded by this call
+     */
+    public List<UUID> insertAllIfAbsent(List<OrderEvent> events, Instant processedAt) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        List<OrderEvent> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparing(OrderEvent::getEventId));
+        UUID[] ids = new UUID[sorted.size()];
+        String[] types = new String[sorted.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = sorted.get(i).getEventId();
+            types[i] = sorted.get(i).getEventType();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT_SQL);
+            statement.setObject(1, processedAt.atOffset(ZoneOffset.UTC));
+            statement.setArray(2, connection.createArrayOf("uuid", ids));
+            statement.setArray(3, connection.createArrayOf("varchar", types));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+}
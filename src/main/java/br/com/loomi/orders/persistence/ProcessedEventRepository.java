@@ -0,0 +1,47 @@
+package br.com.loomi.orders.persistence;
+
+import br.com.loomi.orders.domain.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA repository for consumed event bookkeeping.
+ * Backs the persistent half of the event deduplication store.
+ */
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, UUID> {
+
+    /**
+     * Records an event as processed unless it was already recorded.
+     * A concurrent insert of the same id blocks until the other transaction ends,
+     * so racing redeliveries are serialized by the primary key.
+     *
+     * @param eventId the event identifier
+     * @param eventType the event type
+     * @param processedAt when the event was processed
+     * @return 1 if the event was recorded, 0 if it was already present
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO processed_events (event_id, event_type, processed_at)
+            VALUES (:eventId, :eventType, :processedAt)
+            ON CONFLICT (event_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") UUID eventId,
+                       @Param("eventType") String eventType,
+                       @Param("processedAt") Instant processedAt);
+
+    /**
+     * Deletes entries processed before the given cutoff.
+     *
+     * @param cutoff entries older than this instant are removed
+     * @return number of removed entries
+     */
+    @Modifying
+    @Query("delete from ProcessedEvent e where e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -4,7 +4,11 @@ import br.com.loomi.orders.domain.dto.CreateOrderRequest;
 import br.com.loomi.orders.domain.dto.CreateOrderResponse;
 import br.com.loomi.orders.domain.dto.OrderDetailResponse;
 import br.com.loomi.orders.domain.dto.OrderSummaryResponse;
+import br.com.loomi.orders.domain.enums.OrderExportFormat;
+import br.com.loomi.orders.service.OrderExportService;
+import br.com.loomi.orders.service.OrderImportService;
 import br.com.loomi.orders.service.OrderService;
+import br.com.loomi.orders.service.OrderStatusWaiters;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -12,24 +16,42 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 /**
  * REST controller for order management operations.
- * Provides endpoints for creating, retrieving, and listing orders.
+ * Provides endpoints for creating, importing, retrieving, awaiting, approving, listing, and exporting orders.
  */
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderImportService orderImportService;
+    private final OrderExportService orderExportService;
+    private final OrderStatusWaiters statusWaiters;
 
     /**
-     * Constructs the order controller with the required service.
+     * Constructs the order controller with the required services.
      *
-     * @param orderService the order service
+     * @param orderService       the order service
+     * @param orderImportService the bulk order import service
+     * @param orderExportService the order history export service
+     * @param statusWaiters      the registry of clients waiting for status changes
      */
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           OrderImportService orderImportService,
+                           OrderExportService orderExportService,
+                           OrderStatusWaiters statusWaiters) {
         this.orderService = orderService;
+        this.orderImportService = orderImportService;
+        this.orderExportService = orderExportService;
+        this.statusWaiters = statusWaiters;
     }
 
     /**
@@ -44,15 +66,79 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Imports orders from an NDJSON upload, one order per line.
+     * The upload is read and answered as a stream: one NDJSON result per line, as each
+     * chunk is saved, followed by a summary line.
+     *
+     * @param body the NDJSON request body
+     * @return response entity streaming the per-line results
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importBulk(InputStream body) {
+        StreamingResponseBody results = out -> orderImportService.importOrders(body, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
+    }
+
     /**
      * Retrieves order details by ID.
+     * The response carries an ETag built from the order id and version; a request whose
+     * If-None-Match still matches gets 304 Not Modified without a body.
      *
      * @param orderId the order identifier
      * @return response entity containing order details
      */
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderDetailResponse> getById(@PathVariable Long orderId) {
-        return ResponseEntity.ok(orderService.getOrder(orderId));
+        return withETag(orderService.getOrder(orderId));
+    }
+
+    /**
+     * Waits for an order to leave PENDING (long polling).
+     * The request is parked without holding a thread and answered as soon as this instance
+     * commits the order's new status, or right away if it already left PENDING. When the
+     * wait times out the order is read once more: 204 No Content means it is still PENDING
+     * and the client should call again.
+     *
+     * @param orderId the order identifier
+     * @return deferred response entity containing order details
+     */
+    @GetMapping("/{orderId}/await")
+    public DeferredResult<ResponseEntity<OrderDetailResponse>> awaitProcessing(@PathVariable Long orderId) {
+        DeferredResult<ResponseEntity<OrderDetailResponse>> result = new DeferredResult<>(statusWaiters.timeoutMs());
+        Consumer<OrderDetailResponse> waiter = detail -> result.setResult(withETag(detail));
+        result.onTimeout(() -> {
+            OrderDetailResponse current = statusWaiters.currentIfChanged(orderId);
+            result.setResult(current != null ? withETag(current) : ResponseEntity.noContent().build());
+        });
+        result.onCompletion(() -> statusWaiters.cancel(orderId, waiter));
+        statusWaiters.await(orderId, waiter);
+        return result;
+    }
+
+    /**
+     * Approves an order waiting for manual approval.
+     *
+     * @param orderId the order identifier
+     * @return response entity containing the PROCESSED order details, or 409 Conflict
+     *         if the order is not pending approval
+     */
+    @PostMapping("/{orderId}/approve")
+    public ResponseEntity<OrderDetailResponse> approve(@PathVariable Long orderId) {
+        return withETag(orderService.approveOrder(orderId));
+    }
+
+    /**
+     * Rejects an order waiting for manual approval.
+     *
+     * @param orderId the order identifier
+     * @return response entity containing the FAILED order details, or 409 Conflict
+     *         if the order is not pending approval
+     */
+    @PostMapping("/{orderId}/reject")
+    public ResponseEntity<OrderDetailResponse> reject(@PathVariable Long orderId) {
+        return withETag(orderService.rejectOrder(orderId));
     }
 
     /**
@@ -72,4 +158,34 @@ public class OrderController {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         return ResponseEntity.ok(orderService.getOrdersByCustomer(customerId, pageable));
     }
+
+    /**
+     * Exports every order of a customer, newest first, as a stream.
+     * Unlike the paginated listing, the whole history is read with one database cursor.
+     *
+     * @param customerId the customer identifier
+     * @param format     NDJSON (one order per line, items nested) or CSV (one row per item)
+     * @return response entity streaming the export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam String customerId,
+            @RequestParam(defaultValue = "NDJSON") OrderExportFormat format) {
+
+        MediaType contentType = switch (format) {
+            case NDJSON -> MediaType.APPLICATION_NDJSON;
+            case CSV -> new MediaType("text", "csv", StandardCharsets.UTF_8);
+        };
+        StreamingResponseBody export = out -> orderExportService.export(customerId, format, out);
+        return ResponseEntity.ok().contentType(contentType).body(export);
+    }
+
+    /**
+     * Builds an order detail response with an ETag made of the order id and version.
+     */
+    private static ResponseEntity<OrderDetailResponse> withETag(OrderDetailResponse order) {
+        return ResponseEntity.ok()
+                .eTag(order.getOrderId() + "-" + order.getVersion())
+                .body(order);
+    }
 }
@@ -0,0 +1,57 @@
+package br.com.loomi.orders.rest;
+
+import br.com.loomi.orders.domain.dto.SubscriptionRenewalResponse;
+import br.com.loomi.orders.service.supporting.SubscriptionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * REST controller for managing active subscriptions.
+ * Subscriptions are activated by processing SUBSCRIPTION order items; these endpoints
+ * renew or cancel them afterwards. Active subscriptions are tracked in memory, so a
+ * request acts on the subscriptions known to the instance that receives it.
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    /**
+     * Constructs the subscription controller.
+     *
+     * @param subscriptionService the subscription service
+     */
+    public SubscriptionController(SubscriptionService subscriptionService) {
+        this.subscriptionService = subscriptionService;
+    }
+
+    /**
+     * Extends an active subscription by one period.
+     *
+     * @param customerId the customer identifier
+     * @param productId  the subscribed product identifier
+     * @return response entity containing the new period end, or 404 if the subscription is not active
+     */
+    @PostMapping("/{customerId}/{productId}/renew")
+    public ResponseEntity<SubscriptionRenewalResponse> renew(@PathVariable String customerId,
+                                                             @PathVariable String productId) {
+        Instant periodEnd = subscriptionService.renew(customerId, productId);
+        return ResponseEntity.ok(new SubscriptionRenewalResponse(customerId, productId, periodEnd));
+    }
+
+    /**
+     * Cancels an active subscription immediately.
+     *
+     * @param customerId the customer identifier
+     * @param productId  the subscribed product identifier
+     * @return 204 No Content, or 404 if the subscription is not active
+     */
+    @DeleteMapping("/{customerId}/{productId}")
+    public ResponseEntity<Void> cancel(@PathVariable String customerId, @PathVariable String productId) {
+        subscriptionService.cancel(customerId, productId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.dto.OrderDetailResponse;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of order details for orders in a terminal status.
+ *
+ * PROCESSED and FAILED orders never change, so their details can be served from memory
+ * instead of reloading the order and its items on every poll. Orders in any other status
+ * are never cached. At most {@code maxEntries} orders are kept; the least recently read
+ * one is evicted first. Status transitions written by this instance invalidate the entry
+ * as a safeguard; since only final statuses are cached, transitions made by other
+ * instances cannot leave a stale entry behind.
+ */
+@Component
+public class OrderDetailCache {
+
+    private final OrderMetricsService metricsService;
+    private final Map<Long, OrderDetailResponse> detailsById;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs the cache.
+     *
+     * @param maxEntries     maximum number of orders kept
+     * @param metricsService the metrics service
+     */
+    public OrderDetailCache(@Value("${app.orders.detail-cache.max-entries:10000}") int maxEntries,
+                            OrderMetricsService metricsService) {
+        this.metricsService = metricsService;
+        this.detailsById = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, OrderDetailResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Registers the cache size and hit ratio gauges once the cache is constructed.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        metricsService.registerOrderDetailCache(this::size, this::hitRatio);
+    }
+
+    /**
+     * Gets the cached details of an order.
+     * The returned instance is shared and must not be modified.
+     *
+     * @param orderId the order identifier
+     * @return the cached details, or null on a miss
+     */
+    public OrderDetailResponse get(Long orderId) {
+        OrderDetailResponse detail;
+        synchronized (detailsById) {
+            detail = detailsById.get(orderId);
+        }
+        (detail != null ? hits : misses).increment();
+        return detail;
+    }
+
+    /**
+     * Caches the details of an order if it is in a terminal status.
+     *
+     * @param detail the freshly loaded details
+     */
+    public void putIfTerminal(OrderDetailResponse detail) {
+        if (!isTerminal(detail.getStatus())) {
+            return;
+        }
+        synchronized (detailsById) {
+            detailsById.put(detail.getOrderId(), detail);
+        }
+    }
+
+    /**
+     * Drops the cached details of an order after its status changed.
+     *
+     * @param orderId the order identifier
+     */
+    public void invalidate(Long orderId) {
+        synchronized (detailsById) {
+            detailsById.remove(orderId);
+        }
+    }
+
+    /**
+     * Gets the number of cached orders.
+     *
+     * @return the cached order count
+     */
+    public int size() {
+        synchronized (detailsById) {
+            return detailsById.size();
+        }
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache since startup.
+     *
+     * @return the hit ratio between 0 and 1, or 0 before the first lookup
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private static boolean isTerminal(OrderStatus status) {
+        return status == OrderStatus.PROCESSED || status == OrderStatus.FAILED;
+    }
+}
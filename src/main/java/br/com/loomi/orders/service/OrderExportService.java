@@ -0,0 +1,223 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.enums.OrderExportFormat;
+import br.com.loomi.orders.persistence.OrderExportReader;
+import br.com.loomi.orders.persistence.OrderExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Service for exporting a customer's full order history.
+ *
+ * Rows come from {@link OrderExportReader}'s cursor and are written straight to the output
+ * stream as they arrive, so an export never holds more than one fetch batch, whatever the
+ * number of orders.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER =
+            "order_id,status,total_amount,failure_reason,created_at,updated_at,"
+                    + "product_id,product_type,quantity,unit_price,total_price";
+
+    private final OrderExportReader exportReader;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs the export service.
+     *
+     * @param exportReader       the cursor-based order reader
+     * @param objectMapper       the JSON mapper
+     * @param transactionManager the manager of the read-only transaction the cursor needs
+     */
+    public OrderExportService(OrderExportReader exportReader,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.exportReader = exportReader;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Writes every order of a customer, newest first.
+     *
+     * @param customerId the customer identifier
+     * @param format     the output format
+     * @param out        where the export is written
+     * @throws IOException if the output cannot be written, e.g. the client went away
+     */
+    public void export(String customerId, OrderExportFormat format, OutputStream out) throws IOException {
+        RowWriter writer = switch (format) {
+            case NDJSON -> new NdjsonWriter(objectMapper.getFactory().createGenerator(out));
+            case CSV -> new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        };
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    exportReader.streamByCustomer(customerId, writer));
+            writer.finish();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Writes rows as they come off the cursor.
+     */
+    private interface RowWriter extends Consumer<OrderExportRow> {
+
+        @Override
+        default void accept(OrderExportRow row) {
+            try {
+                write(row);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        void write(OrderExportRow row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per order. Rows of an order are consecutive, so the object is closed
+     * when the order id changes and items are written as they arrive.
+     */
+    private static final class NdjsonWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private long currentOrderId;
+        private boolean open;
+
+        NdjsonWriter(JsonGenerator generator) {
+            this.generator = generator;
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(OrderExportRow row) throws IOException {
+            if (!open || row.orderId() != currentOrderId) {
+                closeOrder();
+                openOrder(row);
+            }
+            if (row.productId() != null) {
+                generator.writeStartObject();
+                generator.writeStringField("productId", row.productId());
+                generator.writeStringField("productType", row.productType());
+                generator.writeNumberField("quantity", row.quantity());
+                generator.writeNumberField("unitPrice", row.unitPrice());
+                generator.writeNumberField("totalPrice", row.totalPrice());
+                generator.writeEndObject();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            closeOrder();
+            generator.close();
+        }
+
+        private void openOrder(OrderExportRow row) throws IOException {
+            currentOrderId = row.orderId();
+            open = true;
+            generator.writeStartObject();
+            generator.writeNumberField("orderId", row.orderId());
+            generator.writeStringField("status", row.status());
+            generator.writeNumberField("totalAmount", row.totalAmount());
+            if (row.failureReason() != null) {
+                generator.writeStringField("failureReason", row.failureReason());
+            }
+            generator.writeStringField("createdAt", String.valueOf(row.createdAt()));
+            generator.writeStringField("updatedAt", String.valueOf(row.updatedAt()));
+            generator.writeArrayFieldStart("items");
+        }
+
+        private void closeOrder() throws IOException {
+            if (open) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                open = false;
+            }
+        }
+    }
+
+    /**
+     * One CSV row per item, with the order columns repeated.
+     */
+    private static final class CsvWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(OrderExportRow row) throws IOException {
+            writer.write(Long.toString(row.orderId()));
+            writeColumn(row.status());
+            writeColumn(row.totalAmount());
+            writeColumn(row.failureReason());
+            writeColumn(row.createdAt());
+            writeColumn(row.updatedAt());
+            writeColumn(row.productId());
+            writeColumn(row.productType());
+            writeColumn(row.quantity());
+            writeColumn(row.unitPrice());
+            writeColumn(row.totalPrice());
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeColumn(Object value) throws IOException {
+            writer.write(',');
+            if (value instanceof BigDecimal amount) {
+                writer.write(amount.toPlainString());
+            } else if (value != null) {
+                writeEscaped(value.toString());
+            }
+        }
+
+        /**
+         * Quotes a value that contains a separator, quote or line break (RFC 4180).
+         */
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
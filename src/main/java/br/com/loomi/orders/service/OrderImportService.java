@@ -0,0 +1,277 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.dto.BulkOrderImportSummary;
+import br.com.loomi.orders.domain.dto.BulkOrderLineResult;
+import br.com.loomi.orders.domain.dto.CreateOrderRequest;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.persistence.OrderBulkWriter;
+import br.com.loomi.orders.service.event.OrderEventPublisher;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Service for importing many orders from one NDJSON upload.
+ *
+ * The upload is read one JSON value at a time with Jackson's streaming parser, and
+ * results are written back as NDJSON as each chunk finishes, so memory stays bounded by
+ * the chunk size whatever the upload size. Each line is validated and priced like a
+ * single order; valid orders of a chunk are inserted with JDBC batches in one transaction
+ * and their ORDER_CREATED events are published together once it commits. An invalid line
+ * only rejects itself; a chunk that cannot be persisted fails its own lines.
+ */
+@Service
+public class OrderImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderImportService.class);
+
+    private static final String ERROR_MALFORMED_JSON = "MALFORMED_JSON";
+    private static final String ERROR_INVALID_REQUEST = "INVALID_REQUEST";
+    private static final String ERROR_VALIDATION = "VALIDATION_ERROR";
+    private static final String ERROR_PERSISTENCE = "PERSISTENCE_ERROR";
+    private static final String PERSISTENCE_ERROR_MESSAGE = "Orders of this chunk could not be saved";
+
+    private final OrderService orderService;
+    private final OrderBulkWriter bulkWriter;
+    private final OrderEventPublisher eventPublisher;
+    private final OrderMetricsService metricsService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /**
+     * Constructs the import service.
+     *
+     * @param orderService        the order service that validates and prices orders
+     * @param bulkWriter          the JDBC batch writer
+     * @param eventPublisher      the event publisher
+     * @param metricsService      the metrics service
+     * @param validator           the bean validator
+     * @param objectMapper        the JSON mapper
+     * @param transactionTemplate the template for the per-chunk transaction
+     * @param chunkSize           lines validated and inserted together
+     */
+    public OrderImportService(OrderService orderService,
+                              OrderBulkWriter bulkWriter,
+                              OrderEventPublisher eventPublisher,
+                              OrderMetricsService metricsService,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.orders.bulk.chunk-size:500}") int chunkSize) {
+        this.orderService = orderService;
+        this.bulkWriter = bulkWriter;
+        this.eventPublisher = eventPublisher;
+        this.metricsService = metricsService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the orders of an NDJSON upload, writing one result line per input line
+     * followed by a summary line.
+     * A syntax error stops the import at that line; the lines before it are kept.
+     *
+     * @param body the NDJSON upload
+     * @param out  where the NDJSON results are written
+     * @return the import summary, also written as the last line
+     * @throws IOException if the upload cannot be read or the response cannot be written
+     */
+    public BulkOrderImportSummary importOrders(InputStream body, OutputStream out) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonParser parser = factory.createParser(body);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            List<Line> chunk = new ArrayList<>(chunkSize);
+            long created = 0;
+            long rejected = 0;
+            boolean complete = true;
+
+            while (true) {
+                Line line;
+                try {
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    int lineNumber = parser.currentTokenLocation().getLineNr();
+                    line = parse(lineNumber, objectMapper.readTree(parser));
+                } catch (StreamReadException ex) {
+                    line = new Line(BulkOrderLineResult.rejected(
+                            ex.getLocation() != null ? ex.getLocation().getLineNr() : -1,
+                            ERROR_MALFORMED_JSON, ex.getOriginalMessage()));
+                    complete = false;
+                }
+
+                chunk.add(line);
+                if (!complete) {
+                    break;
+                }
+                if (chunk.size() == chunkSize) {
+                    int chunkCreated = flush(chunk, generator);
+                    created += chunkCreated;
+                    rejected += chunk.size() - chunkCreated;
+                    chunk.clear();
+                }
+            }
+
+            int chunkCreated = flush(chunk, generator);
+            created += chunkCreated;
+            rejected += chunk.size() - chunkCreated;
+
+            BulkOrderImportSummary summary = new BulkOrderImportSummary(created, rejected, complete);
+            writeLine(generator, summary);
+            return summary;
+        }
+    }
+
+    /**
+     * Binds, validates and prices one line.
+     */
+    private Line parse(int lineNumber, JsonNode node) {
+        CreateOrderRequest request;
+        try {
+            request = objectMapper.treeToValue(node, CreateOrderRequest.class);
+        } catch (JsonProcessingException ex) {
+            return new Line(BulkOrderLineResult.rejected(lineNumber, ERROR_INVALID_REQUEST, ex.getOriginalMessage()));
+        }
+
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreateOrderRequest> violation = violations.iterator().next();
+            return new Line(BulkOrderLineResult.rejected(lineNumber, ERROR_VALIDATION,
+                    violation.getPropertyPath() + " " + violation.getMessage()));
+        }
+
+        try {
+            return new Line(lineNumber, orderService.buildOrder(request));
+        } catch (BusinessException ex) {
+            return new Line(BulkOrderLineResult.rejected(lineNumber, ex.getCode(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Persists the valid orders of a chunk, publishes their events and writes every
+     * line's result.
+     *
+     * @return the number of orders created
+     */
+    private int flush(List<Line> chunk, JsonGenerator generator) throws IOException {
+        List<Order> orders = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            if (line.order != null) {
+                orders.add(line.order);
+            }
+        }
+
+        if (!orders.isEmpty() && persist(chunk, orders)) {
+            publish(orders);
+        }
+
+        int created = 0;
+        for (Line line : chunk) {
+            if (line.result.status() == BulkOrderLineResult.Status.CREATED) {
+                created++;
+            }
+            writeLine(generator, line.result);
+        }
+        generator.flush();
+        return created;
+    }
+
+    /**
+     * Inserts the chunk's orders in one transaction and sets each line's result.
+     *
+     * @return whether the orders were committed
+     */
+    private boolean persist(List<Line> chunk, List<Order> orders) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> bulkWriter.insert(orders));
+        } catch (RuntimeException ex) {
+            LOGGER.error("Failed to save a chunk of {} imported orders", orders.size(), ex);
+            for (Line line : chunk) {
+                if (line.order != null) {
+                    line.result = BulkOrderLineResult.failed(line.number, ERROR_PERSISTENCE,
+                            PERSISTENCE_ERROR_MESSAGE);
+                }
+            }
+            return false;
+        }
+
+        for (Line line : chunk) {
+            if (line.order != null) {
+                line.result = BulkOrderLineResult.created(
+                        line.number, line.order.getId(), line.order.getTotalAmount());
+                metricsService.recordOrderCreated(line.order.getTotalAmount());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Publishes the chunk's events and waits for them, so an upload never has more than
+     * one chunk of records in flight.
+     * The orders are already committed, so a failed send is only logged and their lines
+     * stay CREATED; retrying the upload would create them twice.
+     */
+    private void publish(List<Order> orders) {
+        try {
+            eventPublisher.publishOrdersCreated(orders).join();
+        } catch (CompletionException ex) {
+            LOGGER.warn("Failed to publish ORDER_CREATED for some of {} imported orders", orders.size(), ex.getCause());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to publish ORDER_CREATED for some of {} imported orders", orders.size(), ex);
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        generator.writeObject(value);
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * A parsed line: either a priced order waiting for its chunk, or a final result.
+     */
+    private static final class Line {
+
+        private final int number;
+        private final Order order;
+        private BulkOrderLineResult result;
+
+        Line(int number, Order order) {
+            this.number = number;
+            this.order = order;
+        }
+
+        Line(BulkOrderLineResult result) {
+            this.number = result.line();
+            this.order = null;
+            this.result = result;
+        }
+    }
+}
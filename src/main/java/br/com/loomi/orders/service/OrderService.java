@@ -2,18 +2,22 @@ package br.com.loomi.orders.service;
 
 import br.com.loomi.orders.domain.dto.*;
 import br.com.loomi.orders.domain.entity.Order;
-import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.domain.enums.ProductType;
 import br.com.loomi.orders.exception.BusinessException;
 import br.com.loomi.orders.persistence.OrderRepository;
 import br.com.loomi.orders.service.catalog.ProductCatalogService;
 import br.com.loomi.orders.service.catalog.ProductInfo;
 import br.com.loomi.orders.service.event.OrderEventPublisher;
+import br.com.loomi.orders.service.mapping.OrderMapper;
 import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.supporting.AvailabilityView;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -27,6 +31,8 @@ public class OrderService {
     private final ProductCatalogService catalogService;
     private final OrderEventPublisher eventPublisher;
     private final OrderMetricsService metricsService;
+    private final AvailabilityView availabilityView;
+    private final OrderDetailCache detailCache;
 
     /**
      * Constructs the order service with required dependencies.
@@ -35,102 +41,168 @@ public class OrderService {
      * @param catalogService the product catalog service
      * @param eventPublisher the event publisher
      * @param metricsService the metrics service
+     * @param availabilityView the availability view used by the sold-out pre-check
+     * @param detailCache the cache of terminal order details
      */
     public OrderService(OrderRepository orderRepository,
                         ProductCatalogService catalogService,
                         OrderEventPublisher eventPublisher,
-                        OrderMetricsService metricsService) {
+                        OrderMetricsService metricsService,
+                        AvailabilityView availabilityView,
+                        OrderDetailCache detailCache) {
         this.orderRepository = orderRepository;
         this.catalogService = catalogService;
         this.eventPublisher = eventPublisher;
         this.metricsService = metricsService;
+        this.availabilityView = availabilityView;
+        this.detailCache = detailCache;
     }
 
     /**
      * Creates a new order from the given request.
+     * When the availability pre-check is enabled, items that are known to be sold out
+     * are rejected here, before the order is persisted or published.
      *
      * @param request the order creation request
      * @return the created order response
      */
     public CreateOrderResponse createOrder(CreateOrderRequest request) {
+        Order saved = orderRepository.save(buildOrder(request));
+
+        metricsService.recordOrderCreated(saved.getTotalAmount());
+
+        eventPublisher.publishOrderCreated(saved);
+
+        return OrderMapper.toCreateResponse(saved);
+    }
+
+    /**
+     * Builds a priced PENDING order from a request without persisting it.
+     * Items known to be sold out are rejected.
+     *
+     * @param request the order creation request
+     * @return the unsaved order with its items and total
+     * @throws BusinessException if the order has no items, a product is unknown or sold out
+     */
+    public Order buildOrder(CreateOrderRequest request) {
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new BusinessException(HttpStatus.BAD_REQUEST,
                     "EMPTY_ITEMS", "Order must contain at least one item");
         }
 
-        Order order = new Order();
-        order.setCustomerId(request.getCustomerId());
-        order.markPending();
-
-        BigDecimal total = BigDecimal.ZERO;
-
-        for (CreateOrderItemRequest itemReq : request.getItems()) {
+        List<CreateOrderItemRequest> requested = request.getItems();
+        ProductInfo[] products = new ProductInfo[requested.size()];
+        int index = 0;
+        for (CreateOrderItemRequest itemReq : requested) {
             ProductInfo product = catalogService.getRequiredProduct(itemReq.getProductId());
+            rejectIfSoldOut(product, itemReq.getQuantity());
+            products[index++] = product;
+        }
 
-            OrderItem item = new OrderItem();
-            item.setProductId(product.getProductId());
-            item.setProductType(product.getProductType());
-            item.setQuantity(itemReq.getQuantity());
-            item.setUnitPrice(product.getPrice());
+        return OrderMapper.toNewOrder(request, products);
+    }
 
-            BigDecimal itemTotal = product.getPrice()
-                    .multiply(BigDecimal.valueOf(itemReq.getQuantity()));
-            item.setTotalPrice(itemTotal);
+    /**
+     * Rejects an item whose product is known to have fewer units left than requested.
+     *
+     * @param product the catalog product
+     * @param quantity the requested quantity
+     * @throws BusinessException if the product is clearly sold out
+     */
+    private void rejectIfSoldOut(ProductInfo product, int quantity) {
+        if (!availabilityView.isClearlyUnavailable(product.getProductId(), quantity)) {
+            return;
+        }
 
-            item.setMetadata(itemReq.getMetadata());
+        String reason = soldOutReason(product.getProductType()).name();
+        metricsService.recordOrderRejectedEarly(reason);
+        throw new BusinessException(HttpStatus.BAD_REQUEST, reason,
+                "Product %s is sold out".formatted(product.getProductId()));
+    }
 
-            order.addItem(item);
-            total = total.add(itemTotal);
+    private static OrderFailureReason soldOutReason(ProductType productType) {
+        return switch (productType) {
+            case DIGITAL -> OrderFailureReason.LICENSE_UNAVAILABLE;
+            case PRE_ORDER -> OrderFailureReason.PRE_ORDER_SOLD_OUT;
+            default -> OrderFailureReason.OUT_OF_STOCK;
+        };
+    }
+
+    /**
+     * Retrieves detailed information about an order.
+     * Orders in a terminal status are served from {@link OrderDetailCache} after the first read.
+     *
+     * @param id the order identifier
+     * @return the order detail response; shared when cached, so it must not be modified
+     */
+    public OrderDetailResponse getOrder(Long id) {
+        OrderDetailResponse cached = detailCache.get(id);
+        if (cached != null) {
+            return cached;
         }
 
-        order.setTotalAmount(total);
-        Order saved = orderRepository.save(order);
+        Order order = findOrder(id);
 
-        metricsService.recordOrderCreated(saved.getTotalAmount());
+        OrderDetailResponse resp = OrderMapper.toDetail(order);
+        detailCache.putIfTerminal(resp);
+        return resp;
+    }
 
-        eventPublisher.publishOrderCreated(saved);
+    /**
+     * Approves an order waiting for manual approval, moving it to PROCESSED.
+     * The update is guarded by the PENDING_APPROVAL status, so an order already approved,
+     * rejected or still being processed is left untouched.
+     *
+     * @param id the order identifier
+     * @return the approved order details
+     * @throws BusinessException if the order does not exist or is not pending approval
+     */
+    public OrderDetailResponse approveOrder(Long id) {
+        if (orderRepository.markProcessed(id, OrderStatus.PENDING_APPROVAL, Instant.now()) == 0) {
+            throw notPendingApproval(id);
+        }
 
-        CreateOrderResponse response = new CreateOrderResponse();
-        response.setOrderId(saved.getId());
-        response.setStatus(saved.getStatus());
-        response.setTotalAmount(saved.getTotalAmount());
-        response.setCreatedAt(saved.getCreatedAt());
-        return response;
+        Order order = findOrder(id);
+        eventPublisher.publishOrderProcessed(order);
+        metricsService.recordOrderProcessed(OrderStatus.PROCESSED);
+        return OrderMapper.toDetail(order);
     }
 
     /**
-     * Retrieves detailed information about an order.
+     * Rejects an order waiting for manual approval, moving it to FAILED with
+     * {@link OrderFailureReason#APPROVAL_REJECTED}.
      *
      * @param id the order identifier
-     * @return the order detail response
+     * @return the rejected order details
+     * @throws BusinessException if the order does not exist or is not pending approval
      */
-    public OrderDetailResponse getOrder(Long id) {
-        Order order = orderRepository.findById(id).orElseThrow(() ->
+    public OrderDetailResponse rejectOrder(Long id) {
+        String message = "Order rejected on manual approval";
+        if (orderRepository.markFailed(id, OrderStatus.PENDING_APPROVAL, OrderFailureReason.APPROVAL_REJECTED,
+                message, Instant.now()) == 0) {
+            throw notPendingApproval(id);
+        }
+
+        Order order = findOrder(id);
+        eventPublisher.publishOrderFailed(order, OrderFailureReason.APPROVAL_REJECTED, message);
+        metricsService.recordOrderProcessed(OrderStatus.FAILED);
+        metricsService.recordOrderFailed(OrderFailureReason.APPROVAL_REJECTED.name());
+        return OrderMapper.toDetail(order);
+    }
+
+    private Order findOrder(Long id) {
+        return orderRepository.findById(id).orElseThrow(() ->
                 new BusinessException(HttpStatus.NOT_FOUND, "ORDER_NOT_FOUND",
                         "Order %s not found".formatted(id)));
+    }
 
-        OrderDetailResponse resp = new OrderDetailResponse();
-        resp.setOrderId(order.getId());
-        resp.setCustomerId(order.getCustomerId());
-        resp.setTotalAmount(order.getTotalAmount());
-        resp.setStatus(order.getStatus());
-        resp.setCreatedAt(order.getCreatedAt());
-        resp.setUpdatedAt(order.getUpdatedAt());
-
-        List<OrderDetailResponse.Item> items = order.getItems().stream()
-                .map(i -> new OrderDetailResponse.Item(
-                        i.getId(),
-                        i.getProductId(),
-                        i.getProductType().name(),
-                        i.getQuantity(),
-                        i.getUnitPrice(),
-                        i.getTotalPrice(),
-                        i.getMetadata()
-                ))
-                .toList();
-
-        resp.setItems(items);
-        return resp;
+    private BusinessException notPendingApproval(Long id) {
+        if (!orderRepository.existsById(id)) {
+            return new BusinessException(HttpStatus.NOT_FOUND, "ORDER_NOT_FOUND",
+                    "Order %s not found".formatted(id));
+        }
+        return new BusinessException(HttpStatus.CONFLICT, "ORDER_NOT_PENDING_APPROVAL",
+                "Order %s is not pending approval".formatted(id));
     }
 
     /**
@@ -0,0 +1,156 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.dto.OrderDetailResponse;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.mapping.OrderMapper;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory registry of clients waiting for an order to leave PENDING, keyed by order id.
+ *
+ * A waiter is only a callback, typically completing a parked async request, so waiting
+ * costs no thread. The PUBLISH stage notifies the waiters of an order once its new status
+ * is committed, building the response from the order it already holds. Only transitions
+ * processed by this instance are seen; waiters whose order was processed elsewhere find
+ * out when they time out and read the order again.
+ */
+@Component
+public class OrderStatusWaiters {
+
+    private final OrderService orderService;
+    private final Map<Long, List<Consumer<OrderDetailResponse>>> waitersByOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int maxWaiters;
+    private final long timeoutMs;
+
+    /**
+     * Constructs the registry.
+     *
+     * @param orderService   the order service used to read the current status
+     * @param metricsService the metrics service
+     * @param maxWaiters     the most waiters parked at once
+     * @param timeoutMs      how long a waiter is parked before it reads the order again
+     */
+    public OrderStatusWaiters(OrderService orderService,
+                              OrderMetricsService metricsService,
+                              @Value("${app.orders.await.max-waiters:100000}") int maxWaiters,
+                              @Value("${app.orders.await.timeout-ms:30000}") long timeoutMs) {
+        this.orderService = orderService;
+        this.maxWaiters = maxWaiters;
+        this.timeoutMs = timeoutMs;
+        metricsService.registerOrderStatusWaiters(waiting::get);
+    }
+
+    /**
+     * Calls the waiter once the order leaves PENDING, right away if it already has.
+     * The waiter may be called more than once and must ignore later calls; the caller must
+     * {@link #cancel cancel} it when it stops waiting.
+     *
+     * @param orderId the order identifier
+     * @param waiter  receives the order details
+     * @throws BusinessException if the order does not exist or too many clients are waiting
+     */
+    public void await(Long orderId, Consumer<OrderDetailResponse> waiter) {
+        if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "TOO_MANY_WAITERS",
+                    "Too many clients are waiting for order updates, retry later");
+        }
+        waitersByOrder.merge(orderId, List.of(waiter), OrderStatusWaiters::concat);
+
+        // Registered before reading, so a transition committed in between is not missed.
+        OrderDetailResponse current;
+        try {
+            current = orderService.getOrder(orderId);
+        } catch (RuntimeException ex) {
+            cancel(orderId, waiter);
+            throw ex;
+        }
+        if (current.getStatus() != OrderStatus.PENDING) {
+            waiter.accept(current);
+        }
+    }
+
+    /**
+     * Removes a waiter that is no longer waiting. Does nothing if it was already notified.
+     *
+     * @param orderId the order identifier
+     * @param waiter  the waiter passed to {@link #await}
+     */
+    public void cancel(Long orderId, Consumer<OrderDetailResponse> waiter) {
+        boolean[] removed = {false};
+        waitersByOrder.computeIfPresent(orderId, (id, waiters) -> {
+            List<Consumer<OrderDetailResponse>> remaining = new ArrayList<>(waiters);
+            removed[0] = remaining.remove(waiter);
+            return remaining.isEmpty() ? null : List.copyOf(remaining);
+        });
+        if (removed[0]) {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Notifies the waiters of an order whose new status was committed.
+     *
+     * @param order the order in its new status, with its items loaded
+     */
+    public void notifyTransition(Order order) {
+        List<Consumer<OrderDetailResponse>> waiters = waitersByOrder.remove(order.getId());
+        if (waiters == null) {
+            return;
+        }
+        waiting.addAndGet(-waiters.size());
+        OrderDetailResponse detail = OrderMapper.toDetail(order);
+        for (Consumer<OrderDetailResponse> waiter : waiters) {
+            waiter.accept(detail);
+        }
+    }
+
+    /**
+     * Reads the order for a waiter that timed out.
+     *
+     * @param orderId the order identifier
+     * @return the order details, or null while the order is still PENDING
+     */
+    public OrderDetailResponse currentIfChanged(Long orderId) {
+        OrderDetailResponse current = orderService.getOrder(orderId);
+        return current.getStatus() != OrderStatus.PENDING ? current : null;
+    }
+
+    /**
+     * Gets how long a waiter is parked before timing out.
+     *
+     * @return the timeout in milliseconds
+     */
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Gets the number of parked waiters.
+     *
+     * @return the waiter count
+     */
+    public int size() {
+        return waiting.get();
+    }
+
+    private static <T> List<T> concat(List<T> existing, List<T> added) {
+        List<T> merged = new ArrayList<>(existing.size() + added.size());
+        merged.addAll(existing);
+        merged.addAll(added);
+        return List.copyOf(merged);
+    }
+}
@@ -15,6 +15,8 @@ public class ProductInfo {
     private String name;
     private ProductType productType;
     private BigDecimal price;
+    private long priceInCents;
+    private BigDecimal priceInTwoDecimals;
     private Integer stock;
     private Integer licenses;
     private LocalDate releaseDate;
@@ -87,10 +89,33 @@ public class ProductInfo {
     /**
      * Sets the product price.
      *
-     * @param price the price to set
+     * @param price the price to set, in whole cents
+     * @throws ArithmeticException if the price has fractions of a cent
      */
     public void setPrice(BigDecimal price) {
         this.price = price;
+        this.priceInCents = price != null ? price.movePointRight(2).longValueExact() : 0L;
+        this.priceInTwoDecimals = price != null ? BigDecimal.valueOf(priceInCents, 2) : null;
+    }
+
+    /**
+     * Gets the product price in cents, computed once when the price is set so that
+     * pricing an order item needs no BigDecimal arithmetic.
+     *
+     * @return the price in cents
+     */
+    public long getPriceInCents() {
+        return priceInCents;
+    }
+
+    /**
+     * Gets the product price at the two-decimal scale of item and order totals, so a
+     * single unit can be priced without allocating a new BigDecimal.
+     *
+     * @return the price with a scale of 2
+     */
+    public BigDecimal getPriceInTwoDecimals() {
+        return priceInTwoDecimals;
     }
 
     /**
@@ -1,12 +1,23 @@
 package br.com.loomi.orders.service.event;
 
 import br.com.loomi.orders.domain.event.OrderEvent;
-import br.com.loomi.orders.service.processing.OrderProcessingService;
+import br.com.loomi.orders.service.features.CustomerFeatureStore;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.processing.CustomerWorkQueue;
+import br.com.loomi.orders.service.processing.OrderProcessingPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Kafka consumer for order events.
  * Listens to order-related events and triggers processing logic.
@@ -16,32 +27,152 @@ public class OrderEventConsumer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrderEventConsumer.class);
 
-    private final OrderProcessingService orderProcessingService;
+    private static final String DUPLICATE_SOURCE_CACHE = "cache";
+    private static final String PAYLOAD_CUSTOMER_ID_KEY = "customerId";
+    private static final String PAYLOAD_ORDER_ID_KEY = "orderId";
+    private static final String PAYLOAD_TOTAL_AMOUNT_KEY = "totalAmount";
+
+    private static final String EVENT_ORDER_CREATED = "ORDER_CREATED";
+    private static final String EVENT_ORDER_PROCESSED = "ORDER_PROCESSED";
+    private static final String EVENT_ORDER_FAILED = "ORDER_FAILED";
+
+    private final OrderProcessingPipeline processingPipeline;
+    private final ProcessedEventStore processedEventStore;
+    private final OrderMetricsService metricsService;
+    private final CustomerWorkQueue customerWorkQueue;
+    private final CustomerFeatureStore customerFeatureStore;
 
     /**
-     * Constructs the event consumer with the required processing service.
+     * Constructs the event consumer with the required processing pipeline.
      *
-     * @param orderProcessingService the order processing service
+     * @param processingPipeline     the order processing pipeline
+     * @param processedEventStore    the event deduplication store
+     * @param metricsService         the metrics service
+     * @param customerWorkQueue      the per-customer work queue
+     * @param customerFeatureStore   the per-customer order aggregates
      */
-    public OrderEventConsumer(OrderProcessingService orderProcessingService) {
-        this.orderProcessingService = orderProcessingService;
+    public OrderEventConsumer(OrderProcessingPipeline processingPipeline,
+                              ProcessedEventStore processedEventStore,
+                              OrderMetricsService metricsService,
+                              CustomerWorkQueue customerWorkQueue,
+                              CustomerFeatureStore customerFeatureStore) {
+        this.processingPipeline = processingPipeline;
+        this.processedEventStore = processedEventStore;
+        this.metricsService = metricsService;
+        this.customerWorkQueue = customerWorkQueue;
+        this.customerFeatureStore = customerFeatureStore;
     }
 
     /**
-     * Handles incoming order events from Kafka.
-     * Processes ORDER_CREATED events by triggering order processing.
+     * Handles a batch of order events from Kafka.
+     * ORDER_CREATED events are dispatched to the per-customer work queue, so orders of
+     * the same customer run one at a time while different customers run in parallel.
+     * A customer is released once its order is persisted; publishing overlaps with the
+     * customer's next order.
+     * ORDER_PROCESSED and ORDER_FAILED events update the customer aggregates inline.
+     * The method returns only after the whole batch finished, so offsets are committed
+     * after processing. On failure the lowest failed index is reported to the container,
+     * which commits the records before it and redelivers the rest.
      *
-     * @param event the order event
+     * @param events the order events in partition order
      */
     @KafkaListener(
             topics = "${app.kafka.order-events-topic:order-events}",
             containerFactory = "orderEventListenerContainerFactory"
     )
-    public void onMessage(OrderEvent event) {
-        if (!"ORDER_CREATED".equals(event.getEventType())) {
+    public void onMessages(List<OrderEvent> events) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            futures.add(dispatch(event));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .exceptionally(ex -> null)
+                .join();
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                throw new BatchListenerFailedException("Failed to process order event", cause, i);
+            }
+        }
+    }
+
+    /**
+     * Queues a single event for processing.
+     * Redeliveries already seen by this instance are dropped before any database work.
+     *
+     * @param event the order event
+     * @return a future completed when the event has been handled, including publishing
+     */
+    private CompletableFuture<Void> dispatch(OrderEvent event) {
+        if (EVENT_ORDER_PROCESSED.equals(event.getEventType()) || EVENT_ORDER_FAILED.equals(event.getEventType())) {
+            recordOutcome(event);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!EVENT_ORDER_CREATED.equals(event.getEventType())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (processedEventStore.isKnownDuplicate(event.getEventId())) {
+            LOGGER.info("Skipping duplicate ORDER_CREATED event {}", event.getEventId());
+            metricsService.recordDuplicateEvent(DUPLICATE_SOURCE_CACHE);
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        customerWorkQueue.submitAsync(customerKey(event), () -> {
+            LOGGER.info("Received ORDER_CREATED event {}", event.getPayload());
+            OrderProcessingPipeline.Submission submission = processingPipeline.submit(event);
+            submission.completed().whenComplete((result, ex) -> {
+                if (ex != null) {
+                    handled.completeExceptionally(ex);
+                    return;
+                }
+                processedEventStore.remember(event.getEventId());
+                handled.complete(null);
+            });
+            return submission.persisted();
+        }).whenComplete((result, ex) -> {
+            if (ex != null) {
+                handled.completeExceptionally(ex);
+            }
+        });
+        return handled;
+    }
+
+    /**
+     * Feeds a finished order into the customer aggregates.
+     * Events published before the payload carried the customer are ignored.
+     *
+     * @param event the ORDER_PROCESSED or ORDER_FAILED event
+     */
+    private void recordOutcome(OrderEvent event) {
+        Map<String, Object> payload = event.getPayload();
+        Object customerId = payload.get(PAYLOAD_CUSTOMER_ID_KEY);
+        Object totalAmount = payload.get(PAYLOAD_TOTAL_AMOUNT_KEY);
+        if (customerId == null || totalAmount == null) {
             return;
         }
-        LOGGER.info("Received ORDER_CREATED event {}", event.getPayload());
-        orderProcessingService.processOrderCreated(event);
+
+        BigDecimal amount = new BigDecimal(totalAmount.toString());
+        if (EVENT_ORDER_PROCESSED.equals(event.getEventType())) {
+            customerFeatureStore.recordProcessed(customerId.toString(), amount, event.getTimestamp());
+        } else {
+            customerFeatureStore.recordFailed(customerId.toString(), amount, event.getTimestamp());
+        }
+    }
+
+    /**
+     * Resolves the serialization key of an event, falling back to the order id
+     * for events published without a customer.
+     *
+     * @param event the order event
+     * @return the key used by the work queue
+     */
+    private static String customerKey(OrderEvent event) {
+        Map<String, Object> payload = event.getPayload();
+        Object customerId = payload.get(PAYLOAD_CUSTOMER_ID_KEY);
+        return customerId != null ? customerId.toString() : String.valueOf(payload.get(PAYLOAD_ORDER_ID_KEY));
     }
 }
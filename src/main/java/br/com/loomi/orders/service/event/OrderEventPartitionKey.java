@@ -0,0 +1,11 @@
+package br.com.loomi.orders.service.event;
+
+/**
+ * Selects which field is used as the Kafka record key for order lifecycle events.
+ * Keying by customer sends every order of a customer to the same partition,
+ * so they are consumed in order by a single consumer.
+ */
+public enum OrderEventPartitionKey {
+    ORDER_ID,
+    CUSTOMER_ID
+}
@@ -11,7 +11,9 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service responsible for publishing order-related events to Kafka.
@@ -43,17 +45,22 @@ public class OrderEventPublisher {
 
     private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
     private final String topic;
+    private final OrderEventPartitionKey partitionKey;
 
     /**
      * Constructs the event publisher with Kafka template and topic name.
      *
      * @param kafkaTemplate the Kafka template
      * @param topic the Kafka topic name
+     * @param partitionKey which order field is used as record key for lifecycle events
      */
     public OrderEventPublisher(KafkaTemplate<String, OrderEvent> kafkaTemplate,
-                               @Value("${app.kafka.order-events-topic:order-events}") String topic) {
+                               @Value("${app.kafka.order-events-topic:order-events}") String topic,
+                               @Value("${app.kafka.order-events.partition-key:ORDER_ID}")
+                               OrderEventPartitionKey partitionKey) {
         this.kafkaTemplate = kafkaTemplate;
         this.topic = topic;
+        this.partitionKey = partitionKey;
     }
 
     /**
@@ -62,14 +69,39 @@ public class OrderEventPublisher {
      * @param order the created order
      */
     public void publishOrderCreated(Order order) {
+        kafkaTemplate.send(topic, keyFor(order), orderCreatedEvent(order));
+    }
+
+    /**
+     * Publishes order created events for a batch of orders.
+     * Every record is handed to the producer before any acknowledgement is awaited, so the
+     * producer can batch them. A send that throws, such as a metadata timeout, fails only
+     * its own record; the records after it are still sent.
+     *
+     * @param orders the created orders
+     * @return a future completed once every record was acknowledged, or completed
+     *         exceptionally if any record could not be sent
+     */
+    public CompletableFuture<Void> publishOrdersCreated(List<Order> orders) {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            try {
+                sends[i] = kafkaTemplate.send(topic, keyFor(order), orderCreatedEvent(order));
+            } catch (RuntimeException ex) {
+                sends[i] = CompletableFuture.failedFuture(ex);
+            }
+        }
+        return CompletableFuture.allOf(sends);
+    }
+
+    private static OrderEvent orderCreatedEvent(Order order) {
         Map<String, Object> payload = new HashMap<>();
         payload.put(FIELD_ORDER_ID, order.getId().toString());
         payload.put(FIELD_CUSTOMER_ID, order.getCustomerId());
         payload.put(FIELD_TOTAL_AMOUNT, order.getTotalAmount());
         payload.put(FIELD_STATUS, order.getStatus().name());
-
-        OrderEvent event = OrderEvent.of(EVENT_ORDER_CREATED, payload);
-        kafkaTemplate.send(topic, order.getId().toString(), event);
+        return OrderEvent.of(EVENT_ORDER_CREATED, payload);
     }
 
     /**
@@ -80,10 +112,12 @@ public class OrderEventPublisher {
     public void publishOrderProcessed(Order order) {
         Map<String, Object> payload = Map.of(
                 FIELD_ORDER_ID, order.getId().toString(),
+                FIELD_CUSTOMER_ID, order.getCustomerId(),
+                FIELD_TOTAL_AMOUNT, order.getTotalAmount(),
                 FIELD_PROCESSED_AT, order.getUpdatedAt()
         );
         OrderEvent event = OrderEvent.of(EVENT_ORDER_PROCESSED, payload);
-        kafkaTemplate.send(topic, order.getId().toString(), event);
+        kafkaTemplate.send(topic, keyFor(order), event);
     }
 
     /**
@@ -96,12 +130,14 @@ public class OrderEventPublisher {
     public void publishOrderFailed(Order order, OrderFailureReason reason, String message) {
         Map<String, Object> payload = Map.of(
                 FIELD_ORDER_ID, order.getId().toString(),
+                FIELD_CUSTOMER_ID, order.getCustomerId(),
+                FIELD_TOTAL_AMOUNT, order.getTotalAmount(),
                 FIELD_REASON, reason.name(),
                 FIELD_FAILED_AT, order.getUpdatedAt(),
                 FIELD_MESSAGE, message
         );
         OrderEvent event = OrderEvent.of(EVENT_ORDER_FAILED, payload);
-        kafkaTemplate.send(topic, order.getId().toString(), event);
+        kafkaTemplate.send(topic, keyFor(order), event);
     }
 
     /**
@@ -115,7 +151,7 @@ public class OrderEventPublisher {
                 FIELD_STATUS, order.getStatus().name()
         );
         OrderEvent event = OrderEvent.of(EVENT_ORDER_PENDING_APPROVAL, payload);
-        kafkaTemplate.send(topic, order.getId().toString(), event);
+        kafkaTemplate.send(topic, keyFor(order), event);
     }
 
     /**
@@ -153,4 +189,17 @@ public class OrderEventPublisher {
 
         kafkaTemplate.send(topic, orderId, event);
     }
+
+    /**
+     * Resolves the record key for an order lifecycle event.
+     *
+     * @param order the order the event refers to
+     * @return the customer id or the order id, depending on the configured partition key
+     */
+    private String keyFor(Order order) {
+        if (partitionKey == OrderEventPartitionKey.CUSTOMER_ID && order.getCustomerId() != null) {
+            return order.getCustomerId();
+        }
+        return order.getId().toString();
+    }
 }
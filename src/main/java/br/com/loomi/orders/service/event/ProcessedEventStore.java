@@ -0,0 +1,151 @@
+package br.com.loomi.orders.service.event;
+
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.persistence.ProcessedEventBatchWriter;
+import br.com.loomi.orders.persistence.ProcessedEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deduplication store for consumed events, keyed by event id.
+ *
+ * A bounded in-memory LRU answers the common redelivery case without touching the
+ * database. The processed_events table is the source of truth across instances and
+ * is trimmed periodically according to the configured TTL.
+ */
+@Component
+public class ProcessedEventStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessedEventStore.class);
+
+    private final ProcessedEventRepository repository;
+    private final ProcessedEventBatchWriter batchWriter;
+    private final Duration ttl;
+    private final Map<UUID, Boolean> recentEvents;
+
+    /**
+     * Constructs the store with its repository and sizing configuration.
+     *
+     * @param repository  the processed event repository
+     * @param batchWriter the writer claiming a batch of events in one statement
+     * @param cacheSize   maximum number of event ids kept in memory
+     * @param ttlHours    how long processed event ids are kept in the database
+     */
+    public ProcessedEventStore(ProcessedEventRepository repository,
+                               ProcessedEventBatchWriter batchWriter,
+                               @Value("${app.events.dedup.cache-size:10000}") int cacheSize,
+                               @Value("${app.events.dedup.ttl-hours:168}") long ttlHours) {
+        this.repository = repository;
+        this.batchWriter = batchWriter;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.recentEvents = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Checks the in-memory cache for an event that was already processed by this instance.
+     * Never touches the database.
+     *
+     * @param eventId the event identifier
+     * @return true if the event is known to be processed
+     */
+    public boolean isKnownDuplicate(UUID eventId) {
+        if (eventId == null) {
+            return false;
+        }
+        synchronized (recentEvents) {
+            return recentEvents.get(eventId) != null;
+        }
+    }
+
+    /**
+     * Checks whether an event was already processed, by this instance or any other.
+     * Falls back to the processed_events table when the event is not cached.
+     *
+     * @param eventId the event identifier
+     * @return true if the event was already processed
+     */
+    public boolean isProcessed(UUID eventId) {
+        return isKnownDuplicate(eventId) || (eventId != null && repository.existsById(eventId));
+    }
+
+    /**
+     * Remembers an event as processed in the in-memory cache.
+     * Call only after the processing transaction has committed.
+     *
+     * @param eventId the event identifier
+     */
+    public void remember(UUID eventId) {
+        if (eventId == null) {
+            return;
+        }
+        synchronized (recentEvents) {
+            recentEvents.put(eventId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Claims an event for processing by recording it in the processed_events table.
+     * Must run inside the processing transaction so the claim is rolled back on failure.
+     * Events without an id cannot be deduplicated and are always claimed.
+     *
+     * @param event the consumed event
+     * @return true if this transaction owns the event, false if it was already processed
+     */
+    public boolean claim(OrderEvent event) {
+        if (event.getEventId() == null) {
+            return true;
+        }
+        return repository.insertIfAbsent(event.getEventId(), event.getEventType(), Instant.now()) == 1;
+    }
+
+    /**
+     * Claims a batch of events with a single statement, as {@link #claim(OrderEvent)} does
+     * for one. Events without an id are not part of the result and are always claimed.
+     *
+     * @param events the consumed events
+     * @return the ids of the events this transaction owns
+     */
+    public Set<UUID> claimAll(List<OrderEvent> events) {
+        List<OrderEvent> identified = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            if (event.getEventId() != null) {
+                identified.add(event);
+            }
+        }
+        if (identified.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(batchWriter.insertAllIfAbsent(identified, Instant.now()));
+    }
+
+    /**
+     * Removes processed event ids older than the configured TTL.
+     */
+    @Scheduled(fixedDelayString = "${app.events.dedup.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = repository.deleteProcessedBefore(Instant.now().minus(ttl));
+        if (removed > 0) {
+            LOGGER.info("Purged {} processed event ids older than {}", removed, ttl);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.loomi.orders.service.features;
+
+/**
+ * Point-in-time aggregates of a customer's finished orders.
+ *
+ * @param orders24h       orders finished in the last 24 hours
+ * @param spend24hCents   spend of the orders processed in the last 24 hours, in cents
+ * @param orders30d       orders finished in the last 30 days
+ * @param spend30dCents   spend of the orders processed in the last 30 days, in cents
+ * @param failures30d     orders failed in the last 30 days
+ */
+public record CustomerFeatureSnapshot(
+        int orders24h,
+        long spend24hCents,
+        int orders30d,
+        long spend30dCents,
+        int failures30d
+) {
+
+    /**
+     * Snapshot of a customer without history.
+     */
+    public static final CustomerFeatureSnapshot EMPTY = new CustomerFeatureSnapshot(0, 0L, 0, 0L, 0);
+
+    /**
+     * Share of the last 30 days' orders that failed.
+     *
+     * @return the failure rate, zero without orders
+     */
+    public double failureRate30d() {
+        return orders30d > 0 ? (double) failures30d / orders30d : 0.0;
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.loomi.orders.service.features;
+
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.persistence.OrderOutcome;
+import br.com.loomi.orders.persistence.OrderRepository;
+import br.com.loomi.orders.service.rules.OrderRuleEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-customer order aggregates for fraud checks, credit limits and subscription rules.
+ *
+ * Aggregates are maintained incrementally from ORDER_PROCESSED and ORDER_FAILED events
+ * instead of being queried per order. At most {@code maxCustomers} customers are kept;
+ * the least recently used one is evicted first, and an evicted customer reads as having
+ * no history until new events arrive. On startup the windows are rebuilt from the last
+ * 30 days of finished orders.
+ *
+ * Counting is at-least-once: a redelivered event, or an event for an order already read
+ * by the warm start, is counted again. The aggregates are meant as risk signals, not
+ * as accounting figures.
+ *
+ * Each instance only counts the events of the partitions it consumes. With the default
+ * {@code app.kafka.order-events.partition-key=ORDER_ID} and more than one instance, a
+ * customer's orders are spread over every instance, so after the warm start each one
+ * sees only part of the history. Run more than one instance only with
+ * {@code CUSTOMER_ID} keying: every event of a customer, including the ORDER_CREATED that
+ * is being checked, then reaches the same instance.
+ */
+@Component
+public class CustomerFeatureStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomerFeatureStore.class);
+
+    private static final Duration WARM_START_WINDOW = Duration.ofDays(30);
+    private static final Set<OrderStatus> FINISHED_STATUSES = EnumSet.of(OrderStatus.PROCESSED, OrderStatus.FAILED);
+
+    private final OrderRepository orderRepository;
+    private final boolean warmStartEnabled;
+    private final int warmStartPageSize;
+    private final Clock clock;
+    private final Map<String, CustomerFeatures> featuresByCustomer;
+
+    /**
+     * Constructs the store.
+     *
+     * @param orderRepository   the order repository used by the warm start
+     * @param maxCustomers      maximum number of customers kept in memory
+     * @param warmStartEnabled  whether to rebuild the aggregates from the orders table on startup
+     * @param warmStartPageSize rows read per warm-start query
+     */
+    @Autowired
+    public CustomerFeatureStore(OrderRepository orderRepository,
+                                @Value("${app.features.max-customers:50000}") int maxCustomers,
+                                @Value("${app.features.warm-start.enabled:true}") boolean warmStartEnabled,
+                                @Value("${app.features.warm-start.page-size:5000}") int warmStartPageSize) {
+        this(orderRepository, maxCustomers, warmStartEnabled, warmStartPageSize, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs the store with a custom clock.
+     *
+     * @param orderRepository   the order repository used by the warm start
+     * @param maxCustomers      maximum number of customers kept in memory
+     * @param warmStartEnabled  whether to rebuild the aggregates from the orders table on startup
+     * @param warmStartPageSize rows read per warm-start query
+     * @param clock             the clock that defines the current windows
+     */
+    CustomerFeatureStore(OrderRepository orderRepository, int maxCustomers, boolean warmStartEnabled,
+                         int warmStartPageSize, Clock clock) {
+        this.orderRepository = orderRepository;
+        this.warmStartEnabled = warmStartEnabled;
+        this.warmStartPageSize = warmStartPageSize;
+        this.clock = clock;
+        this.featuresByCustomer = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CustomerFeatures> eldest) {
+                return size() > maxCustomers;
+            }
+        };
+    }
+
+    /**
+     * Records a processed order.
+     *
+     * @param customerId  the customer identifier
+     * @param totalAmount the order total
+     * @param processedAt when the order was processed
+     */
+    public void recordProcessed(String customerId, BigDecimal totalAmount, Instant processedAt) {
+        record(customerId, totalAmount, processedAt, false);
+    }
+
+    /**
+     * Records a failed order.
+     *
+     * @param customerId  the customer identifier
+     * @param totalAmount the order total
+     * @param failedAt    when the order failed
+     */
+    public void recordFailed(String customerId, BigDecimal totalAmount, Instant failedAt) {
+        record(customerId, totalAmount, failedAt, true);
+    }
+
+    /**
+     * Reads the current aggregates of a customer.
+     *
+     * @param customerId the customer identifier
+     * @return the aggregates, empty for customers without tracked history
+     */
+    public CustomerFeatureSnapshot snapshot(String customerId) {
+        CustomerFeatures features;
+        synchronized (featuresByCustomer) {
+            features = featuresByCustomer.get(customerId);
+        }
+        return features != null ? features.snapshot(clock.millis()) : CustomerFeatureSnapshot.EMPTY;
+    }
+
+    /**
+     * Gets the number of customers currently tracked.
+     *
+     * @return the tracked customer count
+     */
+    public int size() {
+        synchronized (featuresByCustomer) {
+            return featuresByCustomer.size();
+        }
+    }
+
+    /**
+     * Rebuilds the aggregates from the orders finished in the last 30 days.
+     * Reads the table in id order, one bounded page at a time. A failing read only
+     * stops the warm start; live events keep updating the aggregates.
+     *
+     * @return the number of orders loaded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int warmStart() {
+        if (!warmStartEnabled) {
+            return 0;
+        }
+
+        Instant since = clock.instant().minus(WARM_START_WINDOW);
+        PageRequest page = PageRequest.ofSize(warmStartPageSize);
+        long afterId = 0L;
+        int loaded = 0;
+
+        try {
+            List<OrderOutcome> outcomes;
+            do {
+                outcomes = orderRepository.findOutcomesAfter(afterId, since, FINISHED_STATUSES, page);
+                for (OrderOutcome outcome : outcomes) {
+                    record(outcome.customerId(), outcome.totalAmount(), outcome.updatedAt(),
+                            outcome.status() == OrderStatus.FAILED);
+                    afterId = outcome.id();
+                }
+                loaded += outcomes.size();
+            } while (outcomes.size() == warmStartPageSize);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Customer feature warm start stopped after {} orders", loaded, ex);
+            return loaded;
+        }
+
+        LOGGER.info("Warmed customer features from {} orders ({} customers tracked)", loaded, size());
+        return loaded;
+    }
+
+    private void record(String customerId, BigDecimal totalAmount, Instant at, boolean failed) {
+        if (customerId == null || at == null) {
+            return;
+        }
+        CustomerFeatures features;
+        synchronized (featuresByCustomer) {
+            features = featuresByCustomer.computeIfAbsent(customerId, id -> new CustomerFeatures());
+        }
+        long amountCents = totalAmount != null ? OrderRuleEngine.toCents(totalAmount) : 0L;
+        features.record(at.toEpochMilli(), amountCents, failed);
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.loomi.orders.service.features;
+
+import java.util.Arrays;
+
+/**
+ * Sliding-window order counters of a single customer.
+ *
+ * Two rings of primitive buckets back the windows: 24 hourly buckets for the 24h window
+ * and 30 daily buckets for the 30d window. Each bucket remembers which hour or day it
+ * holds, so a bucket reused for a newer period is reset lazily on write and ignored on
+ * read once it falls out of the window. Windows are therefore granular to the bucket:
+ * the 24h aggregates cover the current hour and the 23 before it.
+ */
+final class CustomerFeatures {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int HOURS = 24;
+    private static final int DAYS = 30;
+
+    private final long[] hourStamp = new long[HOURS];
+    private final int[] hourOrders = new int[HOURS];
+    private final long[] hourSpend = new long[HOURS];
+
+    private final long[] dayStamp = new long[DAYS];
+    private final int[] dayOrders = new int[DAYS];
+    private final int[] dayFailures = new int[DAYS];
+    private final long[] daySpend = new long[DAYS];
+
+    CustomerFeatures() {
+        Arrays.fill(hourStamp, Long.MIN_VALUE);
+        Arrays.fill(dayStamp, Long.MIN_VALUE);
+    }
+
+    /**
+     * Adds a finished order. Orders older than the bucket now occupying their slot are dropped.
+     *
+     * @param epochMillis when the order finished
+     * @param amountCents the order total in cents, counted as spend only if processed
+     * @param failed      true if the order failed
+     */
+    synchronized void record(long epochMillis, long amountCents, boolean failed) {
+        long spend = failed ? 0L : amountCents;
+
+        long hour = Math.floorDiv(epochMillis, MILLIS_PER_HOUR);
+        int h = Math.floorMod(hour, HOURS);
+        if (hourStamp[h] < hour) {
+            hourStamp[h] = hour;
+            hourOrders[h] = 0;
+            hourSpend[h] = 0L;
+        }
+        if (hourStamp[h] == hour) {
+            hourOrders[h]++;
+            hourSpend[h] += spend;
+        }
+
+        long day = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        int d = Math.floorMod(day, DAYS);
+        if (dayStamp[d] < day) {
+            dayStamp[d] = day;
+            dayOrders[d] = 0;
+            dayFailures[d] = 0;
+            daySpend[d] = 0L;
+        }
+        if (dayStamp[d] == day) {
+            dayOrders[d]++;
+            daySpend[d] += spend;
+            if (failed) {
+                dayFailures[d]++;
+            }
+        }
+    }
+
+    /**
+     * Sums the buckets still inside their window.
+     *
+     * @param nowMillis the current instant
+     * @return the aggregates
+     */
+    synchronized CustomerFeatureSnapshot snapshot(long nowMillis) {
+        long hour = Math.floorDiv(nowMillis, MILLIS_PER_HOUR);
+        int orders24h = 0;
+        long spend24h = 0L;
+        for (int i = 0; i < HOURS; i++) {
+            if (hourStamp[i] > hour - HOURS && hourStamp[i] <= hour) {
+                orders24h += hourOrders[i];
+                spend24h += hourSpend[i];
+            }
+        }
+
+        long day = Math.floorDiv(nowMillis, MILLIS_PER_DAY);
+        int orders30d = 0;
+        int failures30d = 0;
+        long spend30d = 0L;
+        for (int i = 0; i < DAYS; i++) {
+            if (dayStamp[i] > day - DAYS && dayStamp[i] <= day) {
+                orders30d += dayOrders[i];
+                failures30d += dayFailures[i];
+                spend30d += daySpend[i];
+            }
+        }
+
+        return new CustomerFeatureSnapshot(orders24h, spend24h, orders30d, spend30d, failures30d);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.loomi.orders.service.fraud;
+
+/**
+ * Outcome of the fraud scoring stage for an order.
+ */
+public enum FraudDecision {
+
+    /**
+     * The order proceeds normally.
+     */
+    APPROVE,
+
+    /**
+     * The order waits for manual approval.
+     */
+    REVIEW,
+
+    /**
+     * The order fails with a fraud alert.
+     */
+    ALERT
+}
@@ -0,0 +1,17 @@
+package br.com.loomi.orders.service.fraud;
+
+/**
+ * Scores how likely an order is to be fraudulent.
+ * Implementations run on the scoring pool and may block, for example on order history lookups.
+ */
+@FunctionalInterface
+public interface FraudScorer {
+
+    /**
+     * Scores an order.
+     *
+     * @param request the order snapshot
+     * @return the fraud score, between 0 (legitimate) and 1 (fraudulent)
+     */
+    double score(FraudScoringRequest request);
+}
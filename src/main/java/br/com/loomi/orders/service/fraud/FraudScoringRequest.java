@@ -0,0 +1,26 @@
+package br.com.loomi.orders.service.fraud;
+
+import br.com.loomi.orders.service.features.CustomerFeatureSnapshot;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the order fields a fraud scorer may use.
+ * Taken on the processing thread so scorers never touch the managed entity.
+ *
+ * @param orderId     the order identifier
+ * @param customerId  the customer identifier
+ * @param amountCents the order total in cents
+ * @param itemCount   the number of items in the order
+ * @param createdAt   when the order was created
+ * @param history     the customer's order aggregates before this order
+ */
+public record FraudScoringRequest(
+        Long orderId,
+        String customerId,
+        long amountCents,
+        int itemCount,
+        Instant createdAt,
+        CustomerFeatureSnapshot history
+) {
+}
@@ -0,0 +1,176 @@
+package br.com.loomi.orders.service.fraud;
+
+import br.com.loomi.orders.config.FraudScoringProperties;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.service.features.CustomerFeatureSnapshot;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.rules.OrderRuleEngine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the fraud scorer in parallel with item processing under a latency budget.
+ *
+ * {@link #submit} starts scoring on a bounded worker pool and returns immediately;
+ * {@link #await} waits for whatever is left of the budget. A score that misses the budget,
+ * fails, or cannot be queued is replaced by the configured timeout decision, so a slow
+ * scorer never holds an order for longer than the budget.
+ */
+@Component
+public class FraudScoringStage {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FraudScoringStage.class);
+
+    private static final String CAUSE_TIMEOUT = "timeout";
+    private static final String CAUSE_ERROR = "error";
+    private static final String CAUSE_REJECTED = "rejected";
+
+    private final FraudScorer scorer;
+    private final FraudScoringProperties properties;
+    private final OrderMetricsService metricsService;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructs the stage.
+     *
+     * @param scorer         the fraud scorer
+     * @param properties     the budget and decision configuration
+     * @param metricsService the metrics service
+     */
+    public FraudScoringStage(FraudScorer scorer, FraudScoringProperties properties, OrderMetricsService metricsService) {
+        this.scorer = scorer;
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.executor = new ThreadPoolExecutor(
+                properties.threads(), properties.threads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new ScorerThreadFactory());
+    }
+
+    /**
+     * Starts scoring an order. The budget starts counting now.
+     *
+     * @param order   the order to score
+     * @param history the customer's order aggregates
+     * @return the pending score
+     */
+    public PendingScore submit(Order order, CustomerFeatureSnapshot history) {
+        FraudScoringRequest request = new FraudScoringRequest(
+                order.getId(),
+                order.getCustomerId(),
+                OrderRuleEngine.toCents(order.getTotalAmount()),
+                order.getItems().size(),
+                order.getCreatedAt(),
+                history
+        );
+        long deadline = System.nanoTime() + properties.budget().toNanos();
+
+        try {
+            return new PendingScore(CompletableFuture.supplyAsync(() -> timedScore(request), executor), deadline);
+        } catch (RejectedExecutionException ex) {
+            return new PendingScore(null, deadline);
+        }
+    }
+
+    /**
+     * Waits for the score within the remaining budget and maps it to a decision.
+     *
+     * @param pending the pending score
+     * @return the scored decision, or the timeout decision if no score arrived in time
+     */
+    public FraudDecision await(PendingScore pending) {
+        if (pending.future == null) {
+            return fallback(CAUSE_REJECTED);
+        }
+
+        try {
+            double score = pending.future.get(Math.max(0, pending.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            FraudDecision decision = properties.decide(score);
+            metricsService.recordFraudDecision(decision, false);
+            return decision;
+        } catch (TimeoutException ex) {
+            pending.cancel();
+            return fallback(CAUSE_TIMEOUT);
+        } catch (ExecutionException ex) {
+            LOGGER.warn("Fraud scorer failed, applying {}", properties.timeoutDecision(), ex.getCause());
+            return fallback(CAUSE_ERROR);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pending.cancel();
+            return fallback(CAUSE_TIMEOUT);
+        }
+    }
+
+    /**
+     * Stops the scoring pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private double timedScore(FraudScoringRequest request) {
+        long start = System.nanoTime();
+        try {
+            return scorer.score(request);
+        } finally {
+            metricsService.recordFraudScoreLatency(System.nanoTime() - start);
+        }
+    }
+
+    private FraudDecision fallback(String cause) {
+        metricsService.recordFraudScoreTimeout(cause);
+        metricsService.recordFraudDecision(properties.timeoutDecision(), true);
+        return properties.timeoutDecision();
+    }
+
+    /**
+     * A score in flight, bound to the deadline of its budget.
+     */
+    public static final class PendingScore {
+
+        private final CompletableFuture<Double> future;
+        private final long deadline;
+
+        private PendingScore(CompletableFuture<Double> future, long deadline) {
+            this.future = future;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Abandons the score, e.g. when the order failed before it was needed.
+         */
+        public void cancel() {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Names scoring threads so they are recognizable in logs and thread dumps.
+     */
+    private static final class ScorerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "fraud-scorer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
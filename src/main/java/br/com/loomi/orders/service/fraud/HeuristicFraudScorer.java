@@ -0,0 +1,53 @@
+package br.com.loomi.orders.service.fraud;
+
+import br.com.loomi.orders.service.features.CustomerFeatureSnapshot;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local ruleset scorer combining the order amount with the customer's recent history.
+ *
+ * <ul>
+ *   <li>Amounts above 20,000 add 0.4, above 50,000 another 0.1.</li>
+ *   <li>5 or more orders in the last 24 hours add 0.2, 10 or more add 0.3 instead.</li>
+ *   <li>A 30-day failure rate of 50% or more, over at least 4 orders, adds 0.2.</li>
+ * </ul>
+ *
+ * The amount alone never reaches the default alert threshold of 0.8; only orders above
+ * 20,000 that also show abusive history are alerted, like the few random alerts the
+ * previous rule raised above that amount.
+ */
+@Component
+public class HeuristicFraudScorer implements FraudScorer {
+
+    private static final long LARGE_AMOUNT_CENTS = 2_000_000L;
+    private static final long VERY_LARGE_AMOUNT_CENTS = 5_000_000L;
+    private static final int BURST_ORDERS = 5;
+    private static final int HEAVY_BURST_ORDERS = 10;
+    private static final int MIN_ORDERS_FOR_FAILURE_RATE = 4;
+    private static final double HIGH_FAILURE_RATE = 0.5;
+
+    @Override
+    public double score(FraudScoringRequest request) {
+        // Summed in tenths so that thresholds compare exactly against 0.8 and the like.
+        int tenths = 0;
+
+        if (request.amountCents() > LARGE_AMOUNT_CENTS) {
+            tenths += 4;
+        }
+        if (request.amountCents() > VERY_LARGE_AMOUNT_CENTS) {
+            tenths += 1;
+        }
+
+        CustomerFeatureSnapshot history = request.history();
+        if (history.orders24h() >= HEAVY_BURST_ORDERS) {
+            tenths += 3;
+        } else if (history.orders24h() >= BURST_ORDERS) {
+            tenths += 2;
+        }
+        if (history.orders30d() >= MIN_ORDERS_FOR_FAILURE_RATE && history.failureRate30d() >= HIGH_FAILURE_RATE) {
+            tenths += 2;
+        }
+
+        return Math.min(tenths, 10) / 10.0;
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.loomi.orders.service.mapping;
+
+import br.com.loomi.orders.domain.dto.CreateOrderItemRequest;
+import br.com.loomi.orders.domain.dto.CreateOrderRequest;
+import br.com.loomi.orders.domain.dto.CreateOrderResponse;
+import br.com.loomi.orders.domain.dto.OrderDetailResponse;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps order requests to entities and entities to the response DTOs of the REST API.
+ *
+ * Amounts are summed as {@code long} cents and turned into a {@link BigDecimal} once per
+ * item and once for the total, instead of a multiply per item and an add per item. A
+ * single unit reuses the product's two-decimal price and a single item's total is also
+ * the order total, so the common one-unit order allocates no BigDecimal at all.
+ */
+public final class OrderMapper {
+
+    private OrderMapper() {
+    }
+
+    /**
+     * Builds a priced PENDING order from a request and the catalog products of its items.
+     *
+     * @param request  the order creation request
+     * @param products the product of each requested item, in request order
+     * @return the unsaved order with its items and total
+     * @throws ArithmeticException if an amount does not fit in a long number of cents
+     */
+    public static Order toNewOrder(CreateOrderRequest request, ProductInfo[] products) {
+        List<CreateOrderItemRequest> requested = request.getItems();
+        List<OrderItem> items = new ArrayList<>(requested.size());
+
+        Order order = new Order();
+        order.setCustomerId(request.getCustomerId());
+        order.markPending();
+        order.setItems(items);
+
+        long totalCents = 0;
+        BigDecimal itemTotal = BigDecimal.ZERO;
+        int index = 0;
+        for (CreateOrderItemRequest itemReq : requested) {
+            ProductInfo product = products[index++];
+            Integer quantity = itemReq.getQuantity();
+            long itemCents = Math.multiplyExact(product.getPriceInCents(), quantity.longValue());
+            itemTotal = quantity == 1 ? product.getPriceInTwoDecimals() : BigDecimal.valueOf(itemCents, 2);
+            items.add(new OrderItem(null, order, product.getProductId(), product.getProductType(), quantity,
+                    product.getPrice(), itemTotal, itemReq.getMetadata(), null, null));
+            totalCents = Math.addExact(totalCents, itemCents);
+        }
+
+        order.setTotalAmount(items.size() == 1 ? itemTotal : BigDecimal.valueOf(totalCents, 2));
+        return order;
+    }
+
+    /**
+     * Builds the response of a created order.
+     *
+     * @param order the saved order
+     * @return the created order response
+     */
+    public static CreateOrderResponse toCreateResponse(Order order) {
+        return new CreateOrderResponse(order.getId(), order.getStatus(), order.getTotalAmount(), order.getCreatedAt());
+    }
+
+    /**
+     * Builds the detail response of an order, items included.
+     *
+     * @param order the order, with its items loaded
+     * @return the order detail response
+     */
+    public static OrderDetailResponse toDetail(Order order) {
+        OrderDetailResponse resp = new OrderDetailResponse();
+        resp.setOrderId(order.getId());
+        resp.setCustomerId(order.getCustomerId());
+        resp.setTotalAmount(order.getTotalAmount());
+        resp.setStatus(order.getStatus());
+        resp.setCreatedAt(order.getCreatedAt());
+        resp.setUpdatedAt(order.getUpdatedAt());
+        resp.setVersion(order.getVersion() != null ? order.getVersion() : 0L);
+
+        List<OrderDetailResponse.Item> items = order.getItems().stream()
+                .map(i -> new OrderDetailResponse.Item(
+                        i.getId(),
+                        i.getProductId(),
+                        i.getProductType().name(),
+                        i.getQuantity(),
+                        i.getUnitPrice(),
+                        i.getTotalPrice(),
+                        i.getMetadata()
+                ))
+                .toList();
+
+        resp.setItems(items);
+        return resp;
+    }
+}
@@ -2,13 +2,18 @@ package br.com.loomi.orders.service.metrics;
 
 import br.com.loomi.orders.domain.enums.OrderStatus;
 import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.fraud.FraudDecision;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Service for recording custom business metrics.
@@ -79,6 +84,20 @@ public class OrderMetricsService {
                 .increment();
     }
 
+    /**
+     * Record an order rejected at creation because the availability view showed it sold out.
+     * Increments: orders.rejected_early.total{reason="OUT_OF_STOCK|LICENSE_UNAVAILABLE|PRE_ORDER_SOLD_OUT"}
+     *
+     * @param reason the sold-out reason
+     */
+    public void recordOrderRejectedEarly(String reason) {
+        Counter.builder("orders.rejected_early.total")
+                .description("Total orders rejected at creation because the product was known to be sold out")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
     /**
      * Record that an order item was processed by product type.
      * Increments: orders.items.processed.total{product_type="PHYSICAL|DIGITAL|..."}
@@ -147,6 +166,238 @@ public class OrderMetricsService {
                 .increment();
     }
 
+    /**
+     * Record a duplicate event that was skipped by the deduplication store.
+     * Increments: orders.events.duplicate.total{source="cache|store"}
+     *
+     * @param source where the duplicate was detected
+     */
+    public void recordDuplicateEvent(String source) {
+        Counter.builder("orders.events.duplicate.total")
+                .description("Total duplicate events skipped by source")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record a status transition that affected no rows because the order had already moved on.
+     * Increments: orders.status_transition.conflicts.total{target="PROCESSED|FAILED|PENDING_APPROVAL"}
+     *
+     * @param target the status the transition tried to reach
+     */
+    public void recordStatusTransitionConflict(OrderStatus target) {
+        Counter.builder("orders.status_transition.conflicts.total")
+                .description("Total status transitions skipped because the expected status no longer matched")
+                .tag("target", target.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record subscription lifecycle events.
+     * Increments: subscriptions.lifecycle.total{event="activated|renewed|cancelled|expired"}
+     *
+     * @param event the lifecycle event
+     * @param count number of subscriptions affected
+     */
+    public void recordSubscriptionEvent(String event, int count) {
+        Counter.builder("subscriptions.lifecycle.total")
+                .description("Total subscription lifecycle events")
+                .tag("event", event)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * Expose the depth of the pre-generated license key pool.
+     * Gauge: licenses.key_pool.depth
+     *
+     * @param pool the license key pool
+     */
+    public void registerLicenseKeyPool(Collection<?> pool) {
+        Gauge.builder("licenses.key_pool.depth", pool, Collection::size)
+                .description("License keys available in the pre-generated pool")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a refill of the license key pool.
+     * Records: licenses.key_pool.refill.duration
+     * Increments: licenses.key_pool.generated.total
+     *
+     * @param durationNanos time spent generating the keys
+     * @param generated     number of keys added to the pool
+     */
+    public void recordLicenseKeyRefill(long durationNanos, int generated) {
+        Timer.builder("licenses.key_pool.refill.duration")
+                .description("Time taken to refill the license key pool")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        Counter.builder("licenses.key_pool.generated.total")
+                .description("Total license keys generated by the background refill")
+                .register(meterRegistry)
+                .increment(generated);
+    }
+
+    /**
+     * Record a license key generated inline because the pool was empty.
+     * Increments: licenses.key_pool.miss.total
+     */
+    public void recordLicenseKeyPoolMiss() {
+        Counter.builder("licenses.key_pool.miss.total")
+                .description("Total license keys generated inline because the pool was empty")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record the latency of a fraud score, including scores that arrived after the budget.
+     * Records: fraud.score.duration (histogram)
+     *
+     * @param durationNanos time spent by the scorer
+     */
+    public void recordFraudScoreLatency(long durationNanos) {
+        Timer.builder("fraud.score.duration")
+                .description("Time taken by the fraud scorer")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a fraud score replaced by the default decision.
+     * Increments: fraud.score.timeout.total{cause="timeout|error|rejected"}
+     *
+     * @param cause why no score was available within the budget
+     */
+    public void recordFraudScoreTimeout(String cause) {
+        Counter.builder("fraud.score.timeout.total")
+                .description("Total fraud scores replaced by the default decision")
+                .tag("cause", cause)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record a fraud decision.
+     * Increments: fraud.decision.total{decision="APPROVE|REVIEW|ALERT", source="scored|default"}
+     *
+     * @param decision    the decision applied to the order
+     * @param usedDefault true if the decision is the configured default instead of a score
+     */
+    public void recordFraudDecision(FraudDecision decision, boolean usedDefault) {
+        Counter.builder("fraud.decision.total")
+                .description("Total fraud decisions by outcome and source")
+                .tag("decision", decision.name())
+                .tag("source", usedDefault ? "default" : "scored")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Resolve the evaluation timer of a global order rule.
+     * Timer: orders.rules.evaluation{rule="..."}
+     *
+     * @param rule the rule name
+     * @return the timer, registered once per rule
+     */
+    public Timer ruleEvaluationTimer(String rule) {
+        return Timer.builder("orders.rules.evaluation")
+                .description("Time taken to evaluate a global order rule")
+                .tag("rule", rule)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expose the number of orders waiting in front of a processing pipeline stage.
+     * Gauge: orders.pipeline.queue.depth{stage="LOAD|VALIDATE|RESERVE|PERSIST|PUBLISH"}
+     *
+     * @param stage the stage name
+     * @param queue the stage's work queue
+     */
+    public void registerPipelineQueue(String stage, Collection<?> queue) {
+        Gauge.builder("orders.pipeline.queue.depth", queue, Collection::size)
+                .description("Orders waiting in front of a processing pipeline stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolve the latency timer of a processing pipeline stage.
+     * Timer: orders.pipeline.stage.duration{stage="LOAD|VALIDATE|RESERVE|PERSIST|PUBLISH"}
+     *
+     * @param stage the stage name
+     * @return the timer, registered once per stage
+     */
+    public Timer pipelineStageTimer(String stage) {
+        return Timer.builder("orders.pipeline.stage.duration")
+                .description("Time taken by an order in a processing pipeline stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expose the number of orders waiting for the next group commit.
+     * Gauge: orders.group_commit.queue.depth
+     *
+     * @param depth supplies the current queue depth
+     */
+    public void registerGroupCommitQueue(Supplier<Number> depth) {
+        Gauge.builder("orders.group_commit.queue.depth", depth)
+                .description("Orders waiting for the next status group commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a committed batch of order status updates.
+     * Records: orders.group_commit.batch.size distribution and orders.group_commit.duration
+     *
+     * @param size          number of orders in the batch
+     * @param durationNanos time spent writing and committing the batch
+     */
+    public void recordGroupCommit(int size, long durationNanos) {
+        DistributionSummary.builder("orders.group_commit.batch.size")
+                .description("Orders written per status group commit")
+                .register(meterRegistry)
+                .record(size);
+
+        Timer.builder("orders.group_commit.duration")
+                .description("Time taken to write and commit a batch of order statuses")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Expose the size and hit ratio of the order detail cache.
+     * Gauges: orders.detail_cache.size, orders.detail_cache.hit_ratio
+     *
+     * @param size     supplies the number of cached orders
+     * @param hitRatio supplies the share of lookups answered from the cache
+     */
+    public void registerOrderDetailCache(Supplier<Number> size, Supplier<Number> hitRatio) {
+        Gauge.builder("orders.detail_cache.size", size)
+                .description("Terminal orders cached for GET /api/orders/{orderId}")
+                .register(meterRegistry);
+
+        Gauge.builder("orders.detail_cache.hit_ratio", hitRatio)
+                .description("Share of order detail lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expose the number of clients parked waiting for an order to leave PENDING.
+     * Gauge: orders.await.waiters
+     *
+     * @param waiters supplies the current waiter count
+     */
+    public void registerOrderStatusWaiters(Supplier<Number> waiters) {
+        Gauge.builder("orders.await.waiters", waiters)
+                .description("Clients parked waiting for an order status change")
+                .register(meterRegistry);
+    }
+
     /**
      * Start timing an order processing operation.
      * Use with recordOrderProcessingTime() to record the duration.
@@ -3,38 +3,52 @@ package br.com.loomi.orders.service.processing;
 import br.com.loomi.orders.domain.entity.Order;
 import br.com.loomi.orders.domain.entity.OrderItem;
 import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.ProductType;
 import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.supporting.CnpjValidationCache;
 import br.com.loomi.orders.service.supporting.CorporateCreditService;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Processor for corporate product order items.
  * Handles CNPJ validation, payment terms, bulk discounts, and credit validation.
+ * Credit is reserved until the item's payment term ends, or released as soon as the
+ * order fails.
  */
 @Component
 public class CorporateOrderItemProcessor implements OrderItemProcessor {
 
-    private static final Pattern CNPJ_PATTERN = Pattern.compile("\\d{2}\\.\\d{3}\\.\\d{3}/\\d{4}-\\d{2}");
+    private static final int DEFAULT_PAYMENT_DUE_DAYS = 30;
+    private static final BigDecimal APPROVAL_THRESHOLD = BigDecimal.valueOf(50_000);
 
     private final CorporateCreditService corporateCreditService;
+    private final CnpjValidationCache cnpjValidationCache;
 
     /**
-     * Constructs the processor with the required service.
+     * Constructs the processor with the required services.
      *
      * @param corporateCreditService the corporate credit service
+     * @param cnpjValidationCache    the per-customer CNPJ validation cache
      */
-    public CorporateOrderItemProcessor(CorporateCreditService corporateCreditService) {
+    public CorporateOrderItemProcessor(CorporateCreditService corporateCreditService,
+                                       CnpjValidationCache cnpjValidationCache) {
         this.corporateCreditService = corporateCreditService;
+        this.cnpjValidationCache = cnpjValidationCache;
+    }
+
+    @Override
+    public ProductType supportedType() {
+        return ProductType.CORPORATE;
     }
 
     /**
      * Processes a corporate product order item.
      * Validates CNPJ, applies payment terms and bulk discounts, validates credit.
+     * The approval threshold is checked in {@link #afterOrder}.
      *
      * @param order the parent order
      * @param item the order item to process
@@ -51,21 +65,22 @@ public class CorporateOrderItemProcessor implements OrderItemProcessor {
         }
 
         String cnpj = metadata.get("cnpj").toString();
-        if (!CNPJ_PATTERN.matcher(cnpj).matches()) {
+        if (!cnpjValidationCache.isValid(order.getCustomerId(), cnpj)) {
             throw new BusinessException(HttpStatus.BAD_REQUEST,
                     "INVALID_CORPORATE_DATA",
-                    "Invalid CNPJ format: " + cnpj);
+                    "Invalid CNPJ: " + cnpj);
         }
 
+        int paymentDueDays = DEFAULT_PAYMENT_DUE_DAYS;
         if (metadata.containsKey("paymentTerms")) {
             String terms = metadata.get("paymentTerms").toString();
-            int days = switch (terms) {
+            paymentDueDays = switch (terms) {
                 case "NET_30" -> 30;
                 case "NET_60" -> 60;
                 case "NET_90" -> 90;
-                default -> 30;
+                default -> DEFAULT_PAYMENT_DUE_DAYS;
             };
-            metadata.put("paymentDueDays", days);
+            metadata.put("paymentDueDays", paymentDueDays);
         }
 
         if (item.getQuantity() != null && item.getQuantity() > 100) {
@@ -76,9 +91,21 @@ public class CorporateOrderItemProcessor implements OrderItemProcessor {
             order.setTotalAmount(order.getTotalAmount().subtract(discount));
         }
 
-        corporateCreditService.validateAndReserve(order.getCustomerId(), item.getTotalPrice());
+        context.addCreditReservation(
+                corporateCreditService.validateAndReserve(order.getCustomerId(), item.getTotalPrice(), paymentDueDays));
+    }
 
-        if (order.getTotalAmount().compareTo(BigDecimal.valueOf(50_000)) > 0) {
+    /**
+     * Sends the order to manual approval once, if its total after bulk discounts
+     * is above the approval threshold.
+     *
+     * @param order the parent order
+     * @param view the precomputed view of the order
+     * @param context the processing context
+     */
+    @Override
+    public void afterOrder(Order order, OrderView view, OrderProcessingContext context) {
+        if (order.getTotalAmount().compareTo(APPROVAL_THRESHOLD) > 0) {
             context.setPendingApproval(true);
             context.setFailureReason(OrderFailureReason.PENDING_MANUAL_APPROVAL);
             context.setFailureMessage("Corporate orders above 50,000 require manual approval");
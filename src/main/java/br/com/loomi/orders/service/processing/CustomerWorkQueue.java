@@ -0,0 +1,105 @@
+package br.com.loomi.orders.service.processing;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * In-process work queue that serializes tasks per customer while running
+ * different customers in parallel on a shared worker pool.
+ *
+ * Each customer has at most one task running at a time; later tasks for the same
+ * customer are chained behind the current tail. Only customers with in-flight work
+ * are tracked, so memory is bounded by active customers.
+ */
+@Component
+public class CustomerWorkQueue {
+
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the work queue with a fixed number of worker threads.
+     *
+     * @param threads number of worker threads shared by all customers
+     */
+    public CustomerWorkQueue(@Value("${app.processing.customer-queue.threads:4}") int threads) {
+        this.executor = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+    }
+
+    /**
+     * Submits a task to run after every previously submitted task for the same customer.
+     * A failed task does not block the tasks queued behind it.
+     *
+     * @param customerId the customer the task belongs to
+     * @param task       the work to run
+     * @return a future completed with the outcome of this task only
+     */
+    public CompletableFuture<Void> submit(String customerId, Runnable task) {
+        CompletableFuture<Void> next = tails.compute(customerId, (key, tail) -> tail == null
+                ? CompletableFuture.runAsync(task, executor)
+                : tail.exceptionally(ex -> null).thenRunAsync(task, executor));
+        next.whenComplete((result, ex) -> tails.remove(customerId, next));
+        return next;
+    }
+
+    /**
+     * Submits an asynchronous task to start after every previously submitted task for the
+     * same customer. The customer stays busy until the stage returned by the task completes,
+     * so the task decides how much of its work is serialized.
+     * A failed task does not block the tasks queued behind it.
+     *
+     * @param customerId the customer the task belongs to
+     * @param task       starts the work and returns the stage that releases the customer
+     * @return a future completed when the returned stage completes
+     */
+    public CompletableFuture<Void> submitAsync(String customerId, Supplier<? extends CompletionStage<?>> task) {
+        CompletableFuture<Void> next = tails.compute(customerId, (key, tail) ->
+                (tail == null ? CompletableFuture.<Void>completedFuture(null) : tail.exceptionally(ex -> null))
+                        .thenComposeAsync(ignored -> task.get().thenAccept(result -> { }), executor));
+        next.whenComplete((result, ex) -> tails.remove(customerId, next));
+        return next;
+    }
+
+    /**
+     * Returns the number of customers that currently have queued or running work.
+     *
+     * @return the active customer count
+     */
+    public int activeCustomers() {
+        return tails.size();
+    }
+
+    /**
+     * Stops accepting work and lets queued tasks finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Names worker threads so they are recognizable in logs and thread dumps.
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "customer-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
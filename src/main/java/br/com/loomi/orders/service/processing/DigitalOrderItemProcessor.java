@@ -2,11 +2,13 @@ package br.com.loomi.orders.service.processing;
 
 import br.com.loomi.orders.domain.entity.Order;
 import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.supporting.AvailabilityView;
 import br.com.loomi.orders.service.supporting.DigitalLicenseService;
+import br.com.loomi.orders.service.supporting.LicenseKeyProvider;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Processor for digital product order items.
@@ -16,19 +18,32 @@ import java.util.UUID;
 public class DigitalOrderItemProcessor implements OrderItemProcessor {
 
     private final DigitalLicenseService digitalLicenseService;
+    private final LicenseKeyProvider licenseKeyProvider;
+    private final AvailabilityView availabilityView;
 
     /**
-     * Constructs the processor with the required service.
+     * Constructs the processor with the required services.
      *
      * @param digitalLicenseService the digital license service
+     * @param licenseKeyProvider    the pre-generated license key pool
+     * @param availabilityView      the availability view updated after each allocation
      */
-    public DigitalOrderItemProcessor(DigitalLicenseService digitalLicenseService) {
+    public DigitalOrderItemProcessor(DigitalLicenseService digitalLicenseService,
+                                     LicenseKeyProvider licenseKeyProvider,
+                                     AvailabilityView availabilityView) {
         this.digitalLicenseService = digitalLicenseService;
+        this.licenseKeyProvider = licenseKeyProvider;
+        this.availabilityView = availabilityView;
+    }
+
+    @Override
+    public ProductType supportedType() {
+        return ProductType.DIGITAL;
     }
 
     /**
      * Processes a digital product order item.
-     * Allocates licenses and generates license keys.
+     * Allocates licenses and takes a license key from the pre-generated pool.
      *
      * @param order the parent order
      * @param item the order item to process
@@ -36,11 +51,15 @@ public class DigitalOrderItemProcessor implements OrderItemProcessor {
      */
     @Override
     public void process(Order order, OrderItem item, OrderProcessingContext context) {
-        digitalLicenseService.allocateLicense(order.getCustomerId(), item.getProductId(), item.getQuantity());
+        try {
+            digitalLicenseService.allocateLicense(order.getCustomerId(), item.getProductId(), item.getQuantity());
+        } finally {
+            availabilityView.record(item.getProductId(), digitalLicenseService.getRemainingLicenses(item.getProductId()));
+        }
 
         Map<String, Object> metadata = item.getMetadata();
         if (metadata != null) {
-            metadata.put("licenseKey", UUID.randomUUID().toString());
+            metadata.put("licenseKey", licenseKeyProvider.nextKey());
             metadata.putIfAbsent("deliveryEmail", "noreply@example.com");
         }
     }
@@ -0,0 +1,189 @@
+package br.com.loomi.orders.service.processing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects writes submitted from many threads and hands them to a batch writer together,
+ * so a single transaction commit is paid for the whole group instead of once per write.
+ *
+ * A batch is closed when it reaches {@code maxBatchSize} items or when {@code maxWait}
+ * has passed since its first item arrived, whichever comes first. Batches are written by
+ * one collector thread, one at a time; submitters only wait on their own future.
+ * If a batch fails, every item is written again on its own, so one bad item only fails
+ * its own submitter.
+ *
+ * @param <T> the type of the submitted items
+ * @param <R> the per-item result type
+ */
+public final class GroupCommitter<T, R> {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BatchWriter<T, R> writer;
+    private final BlockingQueue<Pending<T, R>> queue;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the committer and starts its collector thread.
+     *
+     * @param name          the collector thread name
+     * @param maxBatchSize  the most items written together
+     * @param maxWait       how long a batch waits for more items after its first one
+     * @param queueCapacity items waiting for a batch before submitters block
+     * @param writer        writes a batch in one transaction
+     */
+    public GroupCommitter(String name, int maxBatchSize, Duration maxWait, int queueCapacity,
+                          BatchWriter<T, R> writer) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.collector = new Thread(this::collect, name);
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    /**
+     * Queues an item for the next batch, blocking while the queue is full.
+     *
+     * @param item the item to write
+     * @return a future completed with the item's result once its batch is committed
+     */
+    public CompletableFuture<R> submit(T item) {
+        Pending<T, R> pending = new Pending<>(item, new CompletableFuture<>());
+        if (!running) {
+            pending.future().completeExceptionally(new RejectedExecutionException("Group committer is shut down"));
+            return pending.future();
+        }
+        try {
+            queue.put(pending);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(ex);
+        }
+        return pending.future();
+    }
+
+    /**
+     * Gets the number of items waiting for a batch.
+     *
+     * @return the queue depth
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting items, writes the ones already queued and waits for the collector.
+     *
+     * @param timeout how long to wait for the queued items
+     */
+    public void shutdown(Duration timeout) {
+        running = false;
+        try {
+            collector.join(timeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Pending<T, R> left;
+        while ((left = queue.poll()) != null) {
+            left.future().completeExceptionally(new RejectedExecutionException("Group committer is shut down"));
+        }
+    }
+
+    private void collect() {
+        List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T, R> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T, R> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending<T, R>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T, R> pending : batch) {
+            items.add(pending.item());
+        }
+
+        List<R> results;
+        try {
+            results = writer.write(items);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).future().completeExceptionally(ex);
+            } else {
+                batch.forEach(this::writeAlone);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future().complete(results.get(i));
+        }
+    }
+
+    private void writeAlone(Pending<T, R> pending) {
+        try {
+            pending.future().complete(writer.write(List.of(pending.item())).get(0));
+        } catch (RuntimeException ex) {
+            pending.future().completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Writes a batch of items in a single transaction.
+     *
+     * @param <T> the item type
+     * @param <R> the per-item result type
+     */
+    @FunctionalInterface
+    public interface BatchWriter<T, R> {
+
+        /**
+         * Writes every item, committing them together.
+         *
+         * @param items the items, in submission order
+         * @return one result per item, in the same order
+         */
+        List<R> write(List<T> items);
+    }
+
+    private record Pending<T, R>(T item, CompletableFuture<R> future) {
+    }
+}
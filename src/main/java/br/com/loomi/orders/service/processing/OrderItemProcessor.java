@@ -2,13 +2,46 @@ package br.com.loomi.orders.service.processing;
 
 import br.com.loomi.orders.domain.entity.Order;
 import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
 
 /**
  * Interface for processing specific types of order items.
  * Implementations handle product-type-specific validation and business logic.
+ *
+ * For an order with at least one item of the supported type, {@link #beforeOrder} runs once
+ * before any item is processed and {@link #afterOrder} once after every item was processed,
+ * so whole-order checks happen once per order instead of once per item.
  */
 public interface OrderItemProcessor {
 
+    /**
+     * The product type handled by this processor.
+     * Exactly one processor must be registered per type.
+     *
+     * @return the supported product type
+     */
+    ProductType supportedType();
+
+    /**
+     * Runs once per order before its items are processed.
+     *
+     * @param order the order
+     * @param view the precomputed view of the order
+     * @param context the processing context for tracking state
+     */
+    default void beforeOrder(Order order, OrderView view, OrderProcessingContext context) {
+    }
+
+    /**
+     * Runs once per order after all its items were processed.
+     *
+     * @param order the order
+     * @param view the precomputed view of the order
+     * @param context the processing context for tracking state
+     */
+    default void afterOrder(Order order, OrderView view, OrderProcessingContext context) {
+    }
+
     /**
      * Processes an individual order item with product-specific logic.
      *
@@ -0,0 +1,74 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.enums.ProductType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable registry of order item processors, indexed by product type.
+ *
+ * Processors declare their type through {@link OrderItemProcessor#supportedType()}, so the
+ * mapping does not depend on class names and works with proxied beans. The registry is
+ * built once at startup and refuses to start with a duplicate or missing processor.
+ */
+@Component
+public class OrderItemProcessorRegistry {
+
+    private static final ProductType[] TYPES = ProductType.values();
+
+    private final OrderItemProcessor[] processorsByOrdinal = new OrderItemProcessor[TYPES.length];
+    private final Map<ProductType, String> processorNames;
+
+    /**
+     * Builds the registry.
+     *
+     * @param processors every order item processor bean
+     * @throws IllegalStateException if a product type has no processor or more than one
+     */
+    public OrderItemProcessorRegistry(List<OrderItemProcessor> processors) {
+        Map<ProductType, String> names = new EnumMap<>(ProductType.class);
+
+        for (OrderItemProcessor processor : processors) {
+            ProductType type = processor.supportedType();
+            String name = ClassUtils.getUserClass(processor).getSimpleName();
+            if (processorsByOrdinal[type.ordinal()] != null) {
+                throw new IllegalStateException("Duplicate processors for " + type + ": "
+                        + names.get(type) + " and " + name);
+            }
+            processorsByOrdinal[type.ordinal()] = processor;
+            names.put(type, name);
+        }
+
+        for (ProductType type : TYPES) {
+            if (processorsByOrdinal[type.ordinal()] == null) {
+                throw new IllegalStateException("No processor registered for " + type);
+            }
+        }
+
+        this.processorNames = Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * Gets the processor of a product type.
+     *
+     * @param type the product type
+     * @return the processor, or null for a null type
+     */
+    public OrderItemProcessor processorFor(ProductType type) {
+        return type != null ? processorsByOrdinal[type.ordinal()] : null;
+    }
+
+    /**
+     * Gets the class name of the processor registered for each type.
+     *
+     * @return the processor names by product type
+     */
+    public Map<ProductType, String> processorNames() {
+        return processorNames;
+    }
+}
@@ -1,8 +1,12 @@
 package br.com.loomi.orders.service.processing;
 
 import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.service.features.CustomerFeatureSnapshot;
+import br.com.loomi.orders.service.supporting.CorporateCreditService.CreditReservation;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Context object that holds state during order processing.
@@ -16,6 +20,9 @@ public class OrderProcessingContext {
     private OrderFailureReason failureReason;
     private String failureMessage;
     private BigDecimal totalAmount;
+    private Boolean subscriptionsCompatible;
+    private CustomerFeatureSnapshot customerHistory = CustomerFeatureSnapshot.EMPTY;
+    private final List<CreditReservation> creditReservations = new ArrayList<>();
 
     /**
      * Checks if the order is high value.
@@ -124,4 +131,58 @@ public class OrderProcessingContext {
     public void setTotalAmount(BigDecimal totalAmount) {
         this.totalAmount = totalAmount;
     }
+
+    /**
+     * Gets the result of the order-wide subscription compatibility check.
+     *
+     * @return true or false once evaluated, null for orders without subscription items
+     */
+    public Boolean getSubscriptionsCompatible() {
+        return subscriptionsCompatible;
+    }
+
+    /**
+     * Records the result of the order-wide subscription compatibility check.
+     *
+     * @param subscriptionsCompatible true if the order's subscription plans can coexist
+     */
+    public void setSubscriptionsCompatible(Boolean subscriptionsCompatible) {
+        this.subscriptionsCompatible = subscriptionsCompatible;
+    }
+
+    /**
+     * Gets the customer's order aggregates taken when processing started.
+     *
+     * @return the customer history, empty if none is tracked
+     */
+    public CustomerFeatureSnapshot getCustomerHistory() {
+        return customerHistory;
+    }
+
+    /**
+     * Sets the customer's order aggregates.
+     *
+     * @param customerHistory the customer history
+     */
+    public void setCustomerHistory(CustomerFeatureSnapshot customerHistory) {
+        this.customerHistory = customerHistory;
+    }
+
+    /**
+     * Gets the corporate credit reserved for this order so far.
+     *
+     * @return the credit reservations, in the order they were made
+     */
+    public List<CreditReservation> getCreditReservations() {
+        return creditReservations;
+    }
+
+    /**
+     * Records corporate credit reserved for this order, to be released if the order fails.
+     *
+     * @param reservation the credit reservation
+     */
+    public void addCreditReservation(CreditReservation reservation) {
+        creditReservations.add(reservation);
+    }
 }
@@ -0,0 +1,199 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.config.ProcessingPipelineProperties;
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs order processing as a chain of {@link PipelineStage stages}, each on its own
+ * bounded worker pool.
+ *
+ * Every stage hands the order to the next one through a {@link CompletableFuture}, so
+ * the stages of different orders overlap: one order can be publishing while the next
+ * is loading. When the queue in front of a stage is full, the thread finishing the
+ * previous stage runs it inline, which slows the upstream stages down instead of
+ * buffering without bound or dropping orders.
+ */
+@Component
+public class OrderProcessingPipeline {
+
+    private final OrderProcessingService stages;
+    private final Map<PipelineStage, ThreadPoolExecutor> executors = new EnumMap<>(PipelineStage.class);
+    private final Map<PipelineStage, Timer> timers = new EnumMap<>(PipelineStage.class);
+
+    /**
+     * Constructs the pipeline and starts one worker pool per stage.
+     *
+     * @param stages         the service implementing the stages
+     * @param properties     the per-stage sizing
+     * @param metricsService the metrics service
+     */
+    public OrderProcessingPipeline(OrderProcessingService stages,
+                                   ProcessingPipelineProperties properties,
+                                   OrderMetricsService metricsService) {
+        this.stages = stages;
+        for (PipelineStage stage : PipelineStage.values()) {
+            int threads = properties.threads(stage);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.queueCapacity(stage)),
+                    new StageThreadFactory(stage),
+                    new CallerRunsUnlessShutdown());
+            executors.put(stage, executor);
+            metricsService.registerPipelineQueue(stage.name(), executor.getQueue());
+            timers.put(stage, metricsService.pipelineStageTimer(stage.name()));
+        }
+    }
+
+    /**
+     * Starts processing an ORDER_CREATED event.
+     *
+     * @param event the order created event
+     * @return the futures tracking the order through the pipeline
+     */
+    public Submission submit(OrderEvent event) {
+        CompletableFuture<OrderRun> loaded = CompletableFuture.supplyAsync(() -> load(event), executors.get(PipelineStage.LOAD));
+        CompletableFuture<OrderRun> validated = then(loaded, PipelineStage.VALIDATE, stages::validate);
+        CompletableFuture<OrderRun> reserved = then(validated, PipelineStage.RESERVE, stages::reserve);
+        CompletableFuture<OrderRun> persisted = reserved.thenComposeAsync(this::persist, executors.get(PipelineStage.PERSIST));
+        CompletableFuture<OrderRun> published = then(persisted, PipelineStage.PUBLISH, stages::publish);
+
+        return new Submission(persisted.thenAccept(run -> { }), published.thenAccept(run -> { }));
+    }
+
+    /**
+     * Stops every stage pool and lets queued orders finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    private OrderRun load(OrderEvent event) {
+        long start = System.nanoTime();
+        try {
+            return stages.load(event);
+        } finally {
+            timers.get(PipelineStage.LOAD).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Hands an order to the group committer; the stage ends when its batch committed.
+     * If the commit fails, the credit the run reserved is released.
+     */
+    private CompletableFuture<OrderRun> persist(OrderRun run) {
+        if (run == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> committed;
+        run.bindMdc();
+        try {
+            committed = stages.persist(run);
+        } catch (RuntimeException ex) {
+            timers.get(PipelineStage.PERSIST).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            run.releaseCreditReservations();
+            throw ex;
+        } finally {
+            OrderRun.clearMdc();
+        }
+        return committed.handle((result, ex) -> {
+            timers.get(PipelineStage.PERSIST).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (ex != null) {
+                run.releaseCreditReservations();
+                throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+            }
+            return run;
+        });
+    }
+
+    private CompletableFuture<OrderRun> then(CompletableFuture<OrderRun> previous, PipelineStage stage,
+                                             Consumer<OrderRun> body) {
+        return previous.thenApplyAsync(run -> run(stage, run, body), executors.get(stage));
+    }
+
+    /**
+     * Runs one stage for an order, with the order's log tags bound and its latency timed.
+     * An order skipped by LOAD passes through as null.
+     */
+    private OrderRun run(PipelineStage stage, OrderRun run, Consumer<OrderRun> body) {
+        if (run == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        run.bindMdc();
+        try {
+            body.accept(run);
+            return run;
+        } catch (RuntimeException ex) {
+            run.cancelFraudScore();
+            throw ex;
+        } finally {
+            OrderRun.clearMdc();
+            timers.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Futures of an order in the pipeline.
+     *
+     * @param persisted completes once the order's outcome is committed
+     * @param completed completes once the outcome is published
+     */
+    public record Submission(CompletableFuture<Void> persisted, CompletableFuture<Void> completed) {
+    }
+
+    /**
+     * Runs the task on the submitting thread when the stage queue is full.
+     * After shutdown the task is rejected, failing the order's future instead of dropping it.
+     */
+    private static final class CallerRunsUnlessShutdown implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Processing pipeline is shut down");
+            }
+            task.run();
+        }
+    }
+
+    /**
+     * Names stage threads so they are recognizable in logs and thread dumps.
+     */
+    private static final class StageThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        StageThreadFactory(PipelineStage stage) {
+            this.prefix = "pipeline-" + stage.name().toLowerCase() + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -8,33 +8,39 @@ import br.com.loomi.orders.domain.enums.ProductType;
 import br.com.loomi.orders.domain.event.OrderEvent;
 import br.com.loomi.orders.exception.BusinessException;
 import br.com.loomi.orders.persistence.OrderRepository;
+import br.com.loomi.orders.service.OrderStatusWaiters;
 import br.com.loomi.orders.service.event.OrderEventPublisher;
+import br.com.loomi.orders.service.event.ProcessedEventStore;
+import br.com.loomi.orders.service.features.CustomerFeatureStore;
+import br.com.loomi.orders.service.fraud.FraudDecision;
+import br.com.loomi.orders.service.fraud.FraudScoringStage;
 import br.com.loomi.orders.service.metrics.OrderMetricsService;
-import io.micrometer.core.instrument.Timer;
+import br.com.loomi.orders.service.rules.OrderRuleEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service responsible for orchestrating order processing.
  * Coordinates validation, processing, and status updates for orders.
+ *
+ * Processing is split into the {@link PipelineStage stages} run by
+ * {@link OrderProcessingPipeline}; {@link #processOrderCreated} runs the same stages
+ * on the calling thread. Only LOAD and PERSIST touch the database: LOAD reads the order
+ * and PERSIST goes through {@link OrderStatusCommitter}, so no connection is held while
+ * items are processed and commits are shared between orders.
  */
 @Service
 public class OrderProcessingService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrderProcessingService.class);
 
-    private static final String MDC_ORDER_ID = "orderId";
-    private static final String MDC_CUSTOMER_ID = "customerId";
-
     private static final String PAYLOAD_ORDER_ID_KEY = "orderId";
 
     private static final String ERROR_ORDER_NOT_FOUND_CODE = "ORDER_NOT_FOUND";
@@ -44,55 +50,110 @@ public class OrderProcessingService {
     private static final String ERROR_UNSUPPORTED_TYPE_MESSAGE_PREFIX = "Unsupported product type ";
 
     private static final String FRAUD_ALERT_MESSAGE = "Fraud alert triggered";
+    private static final String FRAUD_REVIEW_MESSAGE = "Fraud score requires manual review";
     private static final String PAYMENT_SIMULATION_FAILED_MESSAGE = "Payment simulation failed";
     private static final String UNEXPECTED_PROCESSING_ERROR_MESSAGE = "Unexpected processing error";
 
+    private static final String DUPLICATE_SOURCE_STORE = "store";
+
     private final OrderRepository orderRepository;
-    private final Map<ProductType, OrderItemProcessor> processorByType = new EnumMap<>(ProductType.class);
+    private final OrderItemProcessorRegistry processorRegistry;
     private final OrderEventPublisher eventPublisher;
     private final OrderMetricsService metricsService;
+    private final ProcessedEventStore processedEventStore;
+    private final OrderRuleEngine ruleEngine;
+    private final FraudScoringStage fraudScoringStage;
+    private final CustomerFeatureStore customerFeatureStore;
+    private final OrderStatusCommitter statusCommitter;
+    private final OrderStatusWaiters statusWaiters;
 
     /**
      * Constructs the processing service with required dependencies.
-     * Automatically registers all order item processors by product type.
      *
      * @param orderRepository the order repository
-     * @param processors      list of all order item processors
+     * @param processorRegistry the order item processors by product type
      * @param eventPublisher  the event publisher
      * @param metricsService  the metrics service
+     * @param processedEventStore the event deduplication store
+     * @param ruleEngine      the global order rules
+     * @param fraudScoringStage the asynchronous fraud scorer
+     * @param customerFeatureStore the per-customer order aggregates
+     * @param statusCommitter the group committer of final statuses
+     * @param statusWaiters   the clients waiting for status changes
      */
     public OrderProcessingService(OrderRepository orderRepository,
-                                  List<OrderItemProcessor> processors,
+                                  OrderItemProcessorRegistry processorRegistry,
                                   OrderEventPublisher eventPublisher,
-                                  OrderMetricsService metricsService) {
+                                  OrderMetricsService metricsService,
+                                  ProcessedEventStore processedEventStore,
+                                  OrderRuleEngine ruleEngine,
+                                  FraudScoringStage fraudScoringStage,
+                                  CustomerFeatureStore customerFeatureStore,
+                                  OrderStatusCommitter statusCommitter,
+                                  OrderStatusWaiters statusWaiters) {
         this.orderRepository = orderRepository;
+        this.processorRegistry = processorRegistry;
         this.eventPublisher = eventPublisher;
         this.metricsService = metricsService;
+        this.processedEventStore = processedEventStore;
+        this.ruleEngine = ruleEngine;
+        this.fraudScoringStage = fraudScoringStage;
+        this.customerFeatureStore = customerFeatureStore;
+        this.statusCommitter = statusCommitter;
+        this.statusWaiters = statusWaiters;
+    }
+
+    /**
+     * Processes an ORDER_CREATED event on the calling thread.
+     * Applies business rules, processes each item between the order-level hooks of the
+     * processors involved, and updates order status.
+     * Fraud scoring runs in parallel with the items and is awaited, within its budget, once
+     * every item is processed.
+     * The event id is claimed together with the status change so redeliveries are skipped,
+     * and every status change is a conditional update that only succeeds while the order
+     * is still PENDING.
+     *
+     * @param event the order created event
+     */
+    public void processOrderCreated(OrderEvent event) {
+        OrderRun run = load(event);
+        if (run == null) {
+            return;
+        }
 
-        for (OrderItemProcessor p : processors) {
-            String name = p.getClass().getSimpleName();
-            if (name.startsWith("Physical")) {
-                processorByType.put(ProductType.PHYSICAL, p);
-            } else if (name.startsWith("Subscription")) {
-                processorByType.put(ProductType.SUBSCRIPTION, p);
-            } else if (name.startsWith("Digital")) {
-                processorByType.put(ProductType.DIGITAL, p);
-            } else if (name.startsWith("PreOrder")) {
-                processorByType.put(ProductType.PRE_ORDER, p);
-            } else if (name.startsWith("Corporate")) {
-                processorByType.put(ProductType.CORPORATE, p);
+        run.bindMdc();
+        try {
+            validate(run);
+            reserve(run);
+            persist(run).join();
+            publish(run);
+        } catch (CompletionException ex) {
+            run.releaseCreditReservations();
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw ex;
+        } finally {
+            run.cancelFraudScore();
+            OrderRun.clearMdc();
         }
     }
 
     /**
-     * Processes an ORDER_CREATED event.
-     * Applies business rules, processes each item, and updates order status.
+     * LOAD stage: reads the order unless the event was already processed.
+     * Items are fetched eagerly, so the detached order is complete for the later stages.
      *
      * @param event the order created event
+     * @return the run, or null if there is nothing to process
+     * @throws BusinessException if the order does not exist
      */
-    @Transactional
-    public void processOrderCreated(OrderEvent event) {
+    OrderRun load(OrderEvent event) {
+        if (processedEventStore.isProcessed(event.getEventId())) {
+            LOGGER.info("Event {} already processed, skipping", event.getEventId());
+            metricsService.recordDuplicateEvent(DUPLICATE_SOURCE_STORE);
+            return null;
+        }
+
         Map<String, Object> payload = event.getPayload();
         Long orderId = Long.valueOf(payload.get(PAYLOAD_ORDER_ID_KEY).toString());
 
@@ -103,109 +164,188 @@ public class OrderProcessingService {
                         ERROR_ORDER_NOT_FOUND_MESSAGE.formatted(orderId)
                 ));
 
-        MDC.put(MDC_ORDER_ID, orderId.toString());
-        MDC.put(MDC_CUSTOMER_ID, order.getCustomerId());
+        if (order.getStatus() != OrderStatus.PENDING) {
+            LOGGER.info("Order {} already processed with status {}", order.getId(), order.getStatus());
+            return null;
+        }
+        return new OrderRun(event, order, metricsService.startOrderProcessingTimer());
+    }
+
+    /**
+     * VALIDATE stage: starts fraud scoring, applies the global rules and runs the
+     * before-order hooks of the processors involved.
+     *
+     * @param run the order run
+     */
+    void validate(OrderRun run) {
+        Order order = run.order();
+        OrderProcessingContext context = new OrderProcessingContext();
+        context.setTotalAmount(order.getTotalAmount());
+        context.setCustomerHistory(customerFeatureStore.snapshot(order.getCustomerId()));
+        run.setContext(context);
 
-        Timer.Sample timer = metricsService.startOrderProcessingTimer();
+        run.setFraudScore(fraudScoringStage.submit(order, context.getCustomerHistory()));
+        applyGlobalRules(order, context);
 
         try {
-            if (order.getStatus() != OrderStatus.PENDING) {
-                LOGGER.info("Order {} already processed with status {}", order.getId(), order.getStatus());
-                return;
+            OrderView view = OrderView.of(order);
+            run.setView(view);
+            for (ProductType type : view.presentTypes()) {
+                processorRegistry.processorFor(type).beforeOrder(order, view, context);
             }
+        } catch (BusinessException ex) {
+            failWithBusinessError(run, ex);
+        } catch (Exception ex) {
+            failUnexpectedly(run, ex);
+        }
+    }
 
-            OrderProcessingContext context = new OrderProcessingContext();
-            context.setTotalAmount(order.getTotalAmount());
-
-            applyGlobalRules(order, context);
-
-            try {
-                for (OrderItem item : order.getItems()) {
-                    ProductType type = item.getProductType();
-                    OrderItemProcessor processor = processorByType.get(type);
-                    if (processor == null) {
-                        throw new BusinessException(
-                                HttpStatus.BAD_REQUEST,
-                                ERROR_UNSUPPORTED_TYPE_CODE,
-                                ERROR_UNSUPPORTED_TYPE_MESSAGE_PREFIX + type
-                        );
-                    }
-                    processor.process(order, item, context);
-
-                    metricsService.recordProductTypeProcessed(type);
-                }
-
-                if (context.isPendingApproval()) {
-                    order.markPendingApproval(context.getFailureMessage());
-                    orderRepository.save(order);
-                    eventPublisher.publishOrderPendingApproval(order);
-
-                    metricsService.recordOrderProcessed(OrderStatus.PENDING_APPROVAL);
-                    metricsService.recordOrderProcessingTime(timer, OrderStatus.PENDING_APPROVAL);
-                    return;
-                }
+    /**
+     * RESERVE stage: processes each item, runs the after-order hooks and applies the
+     * fraud decision, then resolves the status the order should reach.
+     *
+     * @param run the order run
+     */
+    void reserve(OrderRun run) {
+        if (run.isFailed()) {
+            run.cancelFraudScore();
+            return;
+        }
 
-                if (context.getFailureReason() != null) {
-                    order.markFailed(context.getFailureReason(), context.getFailureMessage());
-                    orderRepository.save(order);
-                    eventPublisher.publishOrderFailed(
-                            order,
-                            context.getFailureReason(),
-                            context.getFailureMessage()
+        Order order = run.order();
+        OrderView view = run.view();
+        OrderProcessingContext context = run.context();
+        try {
+            for (OrderItem item : order.getItems()) {
+                ProductType type = item.getProductType();
+                OrderItemProcessor processor = processorRegistry.processorFor(type);
+                if (processor == null) {
+                    throw new BusinessException(
+                            HttpStatus.BAD_REQUEST,
+                            ERROR_UNSUPPORTED_TYPE_CODE,
+                            ERROR_UNSUPPORTED_TYPE_MESSAGE_PREFIX + type
                     );
-
-                    metricsService.recordOrderProcessed(OrderStatus.FAILED);
-                    metricsService.recordOrderFailed(context.getFailureReason().name());
-                    metricsService.recordOrderProcessingTime(timer, OrderStatus.FAILED);
-                    return;
                 }
+                processor.process(order, item, context);
 
-                order.markProcessed();
-                orderRepository.save(order);
-                eventPublisher.publishOrderProcessed(order);
-
-                metricsService.recordOrderProcessed(OrderStatus.PROCESSED);
-                metricsService.recordOrderProcessingTime(timer, OrderStatus.PROCESSED);
+                metricsService.recordProductTypeProcessed(type);
+            }
 
-            } catch (BusinessException ex) {
-                LOGGER.warn("Business error while processing order {} - code={}, message={}",
-                        order.getId(), ex.getCode(), ex.getMessage());
+            for (ProductType type : view.presentTypes()) {
+                processorRegistry.processorFor(type).afterOrder(order, view, context);
+            }
 
-                OrderFailureReason reason;
-                try {
-                    reason = OrderFailureReason.valueOf(ex.getCode());
-                } catch (IllegalArgumentException e) {
-                    reason = OrderFailureReason.INVALID_REQUEST;
-                }
+            applyFraudDecision(order, context, fraudScoringStage.await(run.fraudScore()));
 
-                order.markFailed(reason, ex.getMessage());
-                orderRepository.save(order);
-                eventPublisher.publishOrderFailed(order, reason, ex.getMessage());
+            if (context.isPendingApproval()) {
+                run.complete(OrderStatus.PENDING_APPROVAL,
+                        OrderFailureReason.PENDING_MANUAL_APPROVAL, context.getFailureMessage());
+            } else if (context.getFailureReason() != null) {
+                run.complete(OrderStatus.FAILED, context.getFailureReason(), context.getFailureMessage());
+            } else {
+                run.complete(OrderStatus.PROCESSED, null, null);
+            }
+        } catch (BusinessException ex) {
+            failWithBusinessError(run, ex);
+        } catch (Exception ex) {
+            failUnexpectedly(run, ex);
+        } finally {
+            run.cancelFraudScore();
+        }
+    }
 
-                metricsService.recordOrderProcessed(OrderStatus.FAILED);
-                metricsService.recordOrderFailed(reason.name());
-                metricsService.recordOrderProcessingTime(timer, OrderStatus.FAILED);
+    /**
+     * PERSIST stage: hands the outcome to the group committer, which claims the event and
+     * writes the order together with other orders finishing at the same time. If the event
+     * was claimed by another delivery, or the order changed since it was loaded, nothing is
+     * written and nothing is published.
+     *
+     * @param run the order run
+     * @return a future completed once the order's batch committed
+     */
+    CompletableFuture<Void> persist(OrderRun run) {
+        return statusCommitter.commit(run);
+    }
 
-            } catch (Exception ex) {
-                LOGGER.error("Unexpected error while processing order {}", order.getId(), ex);
+    /**
+     * PUBLISH stage: logs processing errors and, if this run moved the order, publishes
+     * the outcome, wakes the clients waiting for it and records its metrics. Corporate
+     * credit reserved by the run is released when the order failed or the run did not
+     * move it.
+     *
+     * @param run the order run
+     */
+    void publish(OrderRun run) {
+        Order order = run.order();
+        if (run.error() instanceof BusinessException ex) {
+            LOGGER.warn("Business error while processing order {} - code={}, message={}",
+                    order.getId(), ex.getCode(), ex.getMessage());
+        } else if (run.error() != null) {
+            LOGGER.error("Unexpected error while processing order {}", order.getId(), run.error());
+        }
 
-                order.markFailed(OrderFailureReason.PAYMENT_FAILED, UNEXPECTED_PROCESSING_ERROR_MESSAGE);
-                orderRepository.save(order);
-                eventPublisher.publishOrderFailed(order, OrderFailureReason.PAYMENT_FAILED, ex.getMessage());
+        if (!run.transitioned() || run.outcome() == OrderStatus.FAILED) {
+            run.releaseCreditReservations();
+        }
+        if (!run.transitioned()) {
+            return;
+        }
 
-                metricsService.recordOrderProcessed(OrderStatus.FAILED);
-                metricsService.recordOrderFailed(OrderFailureReason.PAYMENT_FAILED.name());
-                metricsService.recordOrderProcessingTime(timer, OrderStatus.FAILED);
+        OrderStatus outcome = run.outcome();
+        switch (outcome) {
+            case PENDING_APPROVAL -> {
+                order.markPendingApproval(run.failureMessage());
+                eventPublisher.publishOrderPendingApproval(order);
             }
-        } finally {
-            MDC.remove(MDC_ORDER_ID);
-            MDC.remove(MDC_CUSTOMER_ID);
+            case FAILED -> {
+                order.markFailed(run.failureReason(), run.failureMessage());
+                eventPublisher.publishOrderFailed(order, run.failureReason(), run.publishedMessage());
+            }
+            case PROCESSED -> {
+                order.markProcessed();
+                eventPublisher.publishOrderProcessed(order);
+            }
+            case PENDING -> throw new IllegalStateException("Order run finished without an outcome");
         }
+        statusWaiters.notifyTransition(order);
+
+        metricsService.recordOrderProcessed(outcome);
+        if (outcome == OrderStatus.FAILED) {
+            metricsService.recordOrderFailed(run.failureReason().name());
+        }
+        metricsService.recordOrderProcessingTime(run.timer(), outcome);
+    }
+
+    /**
+     * Fails the run with the reason carried by a business error code.
+     * Codes that are not failure reasons map to INVALID_REQUEST.
+     *
+     * @param run the order run
+     * @param ex  the business error
+     */
+    private static void failWithBusinessError(OrderRun run, BusinessException ex) {
+        OrderFailureReason reason;
+        try {
+            reason = OrderFailureReason.valueOf(ex.getCode());
+        } catch (IllegalArgumentException e) {
+            reason = OrderFailureReason.INVALID_REQUEST;
+        }
+        run.fail(reason, ex.getMessage(), ex.getMessage(), ex);
+    }
+
+    /**
+     * Fails the run after an unexpected error.
+     *
+     * @param run the order run
+     * @param ex  the error
+     */
+    private static void failUnexpectedly(OrderRun run, Exception ex) {
+        run.fail(OrderFailureReason.PAYMENT_FAILED, UNEXPECTED_PROCESSING_ERROR_MESSAGE, ex.getMessage(), ex);
     }
 
     /**
      * Applies global business rules to the order.
-     * Sets flags in the processing context based on order total and random checks.
+     * Sets flags in the processing context for every configured rule that fires, in rule order.
      *
      * @param order   the order being processed
      * @param context the processing context to update
@@ -213,23 +353,59 @@ public class OrderProcessingService {
     private void applyGlobalRules(Order order, OrderProcessingContext context) {
         BigDecimal total = order.getTotalAmount();
 
-        if (total.compareTo(BigDecimal.valueOf(10_000)) > 0) {
-            context.setHighValue(true);
-            metricsService.recordHighValueOrder(total);
-        }
-
-        if (total.compareTo(BigDecimal.valueOf(20_000)) > 0 && Math.random() < 0.05) {
-            context.setFraudAlert(true);
-            context.setFailureReason(OrderFailureReason.FRAUD_ALERT);
-            context.setFailureMessage(FRAUD_ALERT_MESSAGE);
+        ruleEngine.evaluate(OrderRuleEngine.toCents(total), action -> {
+            switch (action) {
+                case FLAG_HIGH_VALUE -> {
+                    context.setHighValue(true);
+                    metricsService.recordHighValueOrder(total);
+                }
+                case FRAUD_ALERT -> raiseFraudAlert(order, context);
+                case FAIL_PAYMENT -> {
+                    context.setFailureReason(OrderFailureReason.PAYMENT_FAILED);
+                    context.setFailureMessage(PAYMENT_SIMULATION_FAILED_MESSAGE);
+                }
+            }
+        });
+    }
 
-            eventPublisher.publishFraudAlert(order.getId().toString(), total);
-            metricsService.recordFraudAlert(total);
+    /**
+     * Applies the fraud scoring decision to the order.
+     * A review only sends the order to manual approval if nothing else failed it.
+     *
+     * @param order    the order being processed
+     * @param context  the processing context to update
+     * @param decision the fraud decision
+     */
+    private void applyFraudDecision(Order order, OrderProcessingContext context, FraudDecision decision) {
+        switch (decision) {
+            case ALERT -> raiseFraudAlert(order, context);
+            case REVIEW -> {
+                if (context.getFailureReason() == null) {
+                    context.setPendingApproval(true);
+                    context.setFailureReason(OrderFailureReason.PENDING_MANUAL_APPROVAL);
+                    context.setFailureMessage(FRAUD_REVIEW_MESSAGE);
+                }
+            }
+            case APPROVE -> {
+            }
         }
+    }
 
-        if (Math.random() < 0.02) {
-            context.setFailureReason(OrderFailureReason.PAYMENT_FAILED);
-            context.setFailureMessage(PAYMENT_SIMULATION_FAILED_MESSAGE);
-        }
+    /**
+     * Fails the order with a fraud alert and notifies listeners.
+     * A fraud alert takes precedence over a pending manual approval.
+     *
+     * @param order   the order being processed
+     * @param context the processing context to update
+     */
+    private void raiseFraudAlert(Order order, OrderProcessingContext context) {
+        BigDecimal total = order.getTotalAmount();
+        context.setFraudAlert(true);
+        context.setPendingApproval(false);
+        context.setFailureReason(OrderFailureReason.FRAUD_ALERT);
+        context.setFailureMessage(FRAUD_ALERT_MESSAGE);
+
+        eventPublisher.publishFraudAlert(order.getId().toString(), total);
+        metricsService.recordFraudAlert(total);
     }
 }
@@ -0,0 +1,172 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.service.fraud.FraudScoringStage;
+import br.com.loomi.orders.service.supporting.CorporateCreditService.CreditReservation;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.MDC;
+
+/**
+ * State of one order as it moves through the processing stages.
+ *
+ * Each stage runs after the previous one completed, so the fields are handed over
+ * through the completion of the stage futures and never accessed concurrently.
+ */
+final class OrderRun {
+
+    private static final String MDC_ORDER_ID = "orderId";
+    private static final String MDC_CUSTOMER_ID = "customerId";
+
+    private final OrderEvent event;
+    private final Timer.Sample timer;
+    private final Order order;
+    private OrderProcessingContext context;
+    private OrderView view;
+    private FraudScoringStage.PendingScore fraudScore;
+    private OrderStatus outcome;
+    private OrderFailureReason failureReason;
+    private String failureMessage;
+    private String publishedMessage;
+    private Exception error;
+    private boolean transitioned;
+
+    OrderRun(OrderEvent event, Order order, Timer.Sample timer) {
+        this.event = event;
+        this.order = order;
+        this.timer = timer;
+    }
+
+    OrderEvent event() {
+        return event;
+    }
+
+    Timer.Sample timer() {
+        return timer;
+    }
+
+    Order order() {
+        return order;
+    }
+
+    OrderProcessingContext context() {
+        return context;
+    }
+
+    void setContext(OrderProcessingContext context) {
+        this.context = context;
+    }
+
+    OrderView view() {
+        return view;
+    }
+
+    void setView(OrderView view) {
+        this.view = view;
+    }
+
+    FraudScoringStage.PendingScore fraudScore() {
+        return fraudScore;
+    }
+
+    void setFraudScore(FraudScoringStage.PendingScore fraudScore) {
+        this.fraudScore = fraudScore;
+    }
+
+    /**
+     * Cancels the fraud score if it is still running.
+     */
+    void cancelFraudScore() {
+        if (fraudScore != null) {
+            fraudScore.cancel();
+        }
+    }
+
+    /**
+     * Releases the corporate credit reserved by this run, for an order that failed or
+     * whose outcome was not committed.
+     */
+    void releaseCreditReservations() {
+        if (context != null) {
+            context.getCreditReservations().forEach(CreditReservation::release);
+        }
+    }
+
+    /**
+     * Records the status the order should reach.
+     *
+     * @param outcome the target status
+     * @param reason  the failure reason, or null
+     * @param message the failure message persisted with the order, or null
+     */
+    void complete(OrderStatus outcome, OrderFailureReason reason, String message) {
+        this.outcome = outcome;
+        this.failureReason = reason;
+        this.failureMessage = message;
+        this.publishedMessage = message;
+    }
+
+    /**
+     * Records a failure raised while processing the order.
+     *
+     * @param reason           the failure reason
+     * @param message          the failure message persisted with the order
+     * @param publishedMessage the failure message sent with the event
+     * @param error            the exception that failed the order
+     */
+    void fail(OrderFailureReason reason, String message, String publishedMessage, Exception error) {
+        complete(OrderStatus.FAILED, reason, message);
+        this.publishedMessage = publishedMessage;
+        this.error = error;
+    }
+
+    boolean isFailed() {
+        return error != null;
+    }
+
+    OrderStatus outcome() {
+        return outcome;
+    }
+
+    OrderFailureReason failureReason() {
+        return failureReason;
+    }
+
+    String failureMessage() {
+        return failureMessage;
+    }
+
+    String publishedMessage() {
+        return publishedMessage;
+    }
+
+    Exception error() {
+        return error;
+    }
+
+    boolean transitioned() {
+        return transitioned;
+    }
+
+    void setTransitioned(boolean transitioned) {
+        this.transitioned = transitioned;
+    }
+
+    /**
+     * Tags the current thread's log lines with the order and customer.
+     */
+    void bindMdc() {
+        MDC.put(MDC_ORDER_ID, order.getId().toString());
+        MDC.put(MDC_CUSTOMER_ID, order.getCustomerId());
+    }
+
+    /**
+     * Removes the order tags from the current thread.
+     */
+    static void clearMdc() {
+        MDC.remove(MDC_ORDER_ID);
+        MDC.remove(MDC_CUSTOMER_ID);
+    }
+}
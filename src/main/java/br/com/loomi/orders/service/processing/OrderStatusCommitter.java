@@ -0,0 +1,205 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.persistence.OrderStatusWriter;
+import br.com.loomi.orders.persistence.OrderTransition;
+import br.com.loomi.orders.service.OrderDetailCache;
+import br.com.loomi.orders.service.event.ProcessedEventStore;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the final status of processed orders with group commit.
+ *
+ * Orders finishing on different threads are collected by a {@link GroupCommitter} and
+ * written together in one transaction of three statements whatever the batch size: one
+ * insert claims every event, one JDBC batch of guarded UPDATEs moves the orders that are
+ * still PENDING at the version they were loaded with, and one JDBC batch writes the item
+ * changes of the orders that moved. Metrics and the orders handed back to the callers are
+ * only updated after the batch committed, so a batch that is rolled back and retried
+ * order by order is never counted twice. Callers continue on a separate callback
+ * pool, never on the collector thread, so a slow or saturated next stage cannot hold up
+ * the batches behind it.
+ */
+@Component
+public class OrderStatusCommitter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderStatusCommitter.class);
+
+    private static final String DUPLICATE_SOURCE_STORE = "store";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final OrderStatusWriter statusWriter;
+    private final ProcessedEventStore processedEventStore;
+    private final OrderMetricsService metricsService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderDetailCache detailCache;
+    private final GroupCommitter<OrderRun, StatusWrite> committer;
+    private final ExecutorService callbacks;
+
+    /**
+     * Constructs the committer and starts its collector thread.
+     *
+     * @param statusWriter        the JDBC writer for status transitions
+     * @param processedEventStore the event deduplication store
+     * @param metricsService      the metrics service
+     * @param transactionTemplate the template for the batch transaction
+     * @param detailCache         the order detail cache, invalidated on transitions
+     * @param maxBatchSize        the most orders committed together
+     * @param maxWaitMs           how long a batch waits for more orders after its first one
+     * @param queueCapacity       orders waiting for a batch before the persist stage blocks
+     * @param callbackThreads     threads running the callers' continuations after a commit
+     */
+    public OrderStatusCommitter(OrderStatusWriter statusWriter,
+                                ProcessedEventStore processedEventStore,
+                                OrderMetricsService metricsService,
+                                TransactionTemplate transactionTemplate,
+                                OrderDetailCache detailCache,
+                                @Value("${app.processing.group-commit.max-batch-size:64}") int maxBatchSize,
+                                @Value("${app.processing.group-commit.max-wait-ms:2}") long maxWaitMs,
+                                @Value("${app.processing.group-commit.queue-capacity:1024}") int queueCapacity,
+                                @Value("${app.processing.group-commit.callback-threads:2}") int callbackThreads) {
+        this.statusWriter = statusWriter;
+        this.processedEventStore = processedEventStore;
+        this.metricsService = metricsService;
+        this.transactionTemplate = transactionTemplate;
+        this.detailCache = detailCache;
+        this.committer = new GroupCommitter<>("order-status-commit", maxBatchSize,
+                Duration.ofMillis(maxWaitMs), queueCapacity, this::writeBatch);
+        AtomicInteger callbackCounter = new AtomicInteger();
+        this.callbacks = Executors.newFixedThreadPool(callbackThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-status-commit-callback-" + callbackCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        metricsService.registerGroupCommitQueue(committer::pending);
+    }
+
+    /**
+     * Queues an order's outcome for the next batch.
+     * Once the batch committed, the run holds the written order and knows whether this
+     * delivery performed the transition.
+     * The future is completed on the callback pool, which never rejects, so stages chained
+     * on it, including ones running on the caller when their own pool is full, stay off the
+     * collector thread.
+     *
+     * @param run the order run with its outcome resolved
+     * @return a future completed after the batch containing the order committed
+     */
+    public CompletableFuture<Void> commit(OrderRun run) {
+        return committer.submit(run).thenAcceptAsync(write -> apply(run, write), callbacks);
+    }
+
+    /**
+     * Writes the queued orders, stops the collector thread and lets pending callbacks finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        committer.shutdown(SHUTDOWN_TIMEOUT);
+        callbacks.shutdown();
+        try {
+            callbacks.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes a batch in one transaction.
+     */
+    private List<StatusWrite> writeBatch(List<OrderRun> runs) {
+        long start = System.nanoTime();
+        List<StatusWrite> writes = transactionTemplate.execute(status -> write(runs));
+        metricsService.recordGroupCommit(runs.size(), System.nanoTime() - start);
+        return writes;
+    }
+
+    /**
+     * Claims the batch's events, then writes the transitions of the runs that own theirs.
+     * A second delivery of the same event within the batch is a duplicate of the first.
+     */
+    private List<StatusWrite> write(List<OrderRun> runs) {
+        List<OrderEvent> events = new ArrayList<>(runs.size());
+        for (OrderRun run : runs) {
+            events.add(run.event());
+        }
+        Set<UUID> claimed = processedEventStore.claimAll(events);
+
+        StatusWrite[] writes = new StatusWrite[runs.size()];
+        List<OrderTransition> transitions = new ArrayList<>(runs.size());
+        int[] positions = new int[runs.size()];
+        for (int i = 0; i < runs.size(); i++) {
+            OrderRun run = runs.get(i);
+            UUID eventId = run.event().getEventId();
+            if (eventId != null && !claimed.remove(eventId)) {
+                writes[i] = StatusWrite.DUPLICATE;
+                continue;
+            }
+            positions[transitions.size()] = i;
+            transitions.add(new OrderTransition(run.order(), run.outcome(), run.failureReason(),
+                    run.failureMessage()));
+        }
+
+        Instant now = Instant.now();
+        boolean[] written = statusWriter.transitionFromPending(transitions, now);
+        for (int t = 0; t < written.length; t++) {
+            writes[positions[t]] = written[t] ? new StatusWrite(Result.WRITTEN, now) : StatusWrite.CONFLICT;
+        }
+        return List.of(writes);
+    }
+
+    /**
+     * Applies a committed write to the run and records its metrics.
+     */
+    private void apply(OrderRun run, StatusWrite write) {
+        switch (write.result()) {
+            case WRITTEN -> {
+                Order order = run.order();
+                order.setUpdatedAt(write.updatedAt());
+                order.setVersion(order.getVersion() + 1);
+                detailCache.invalidate(order.getId());
+                run.setTransitioned(true);
+            }
+            case DUPLICATE -> {
+                LOGGER.info("Event {} already processed, skipping", run.event().getEventId());
+                metricsService.recordDuplicateEvent(DUPLICATE_SOURCE_STORE);
+            }
+            case CONFLICT -> {
+                LOGGER.info("Order {} is no longer PENDING, skipping transition to {}",
+                        run.order().getId(), run.outcome());
+                metricsService.recordStatusTransitionConflict(run.outcome());
+            }
+        }
+    }
+
+    private enum Result {
+        WRITTEN, DUPLICATE, CONFLICT
+    }
+
+    /**
+     * Outcome of writing one order, with the update timestamp when the transition happened.
+     */
+    private record StatusWrite(Result result, Instant updatedAt) {
+
+        static final StatusWrite DUPLICATE = new StatusWrite(Result.DUPLICATE, null);
+        static final StatusWrite CONFLICT = new StatusWrite(Result.CONFLICT, null);
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Whole-order facts computed once before any item is processed.
+ *
+ * Items are grouped by product type in a single pass, so processors that need to look
+ * at the rest of the order read their group instead of scanning every item again.
+ */
+public final class OrderView {
+
+    private static final ProductType[] TYPES = ProductType.values();
+
+    private final List<OrderItem>[] itemsByType;
+    private final ProductType[] presentTypes;
+    private final int itemCount;
+    private final BigDecimal initialTotal;
+
+    private OrderView(Order order) {
+        List<OrderItem> items = order.getItems();
+        this.itemsByType = newGroups(TYPES.length);
+        this.itemCount = items.size();
+        this.initialTotal = order.getTotalAmount();
+
+        int present = 0;
+        for (OrderItem item : items) {
+            ProductType type = item.getProductType();
+            if (type == null) {
+                continue;
+            }
+            List<OrderItem> group = itemsByType[type.ordinal()];
+            if (group == null) {
+                group = new ArrayList<>();
+                itemsByType[type.ordinal()] = group;
+                present++;
+            }
+            group.add(item);
+        }
+
+        this.presentTypes = new ProductType[present];
+        for (int i = 0, p = 0; i < TYPES.length; i++) {
+            if (itemsByType[i] != null) {
+                presentTypes[p++] = TYPES[i];
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<OrderItem>[] newGroups(int length) {
+        return new List[length];
+    }
+
+    /**
+     * Builds the view of an order.
+     *
+     * @param order the order
+     * @return the view
+     */
+    public static OrderView of(Order order) {
+        return new OrderView(order);
+    }
+
+    /**
+     * Gets the items of a product type.
+     *
+     * @param type the product type
+     * @return the items of that type in order, empty if none
+     */
+    public List<OrderItem> items(ProductType type) {
+        List<OrderItem> group = itemsByType[type.ordinal()];
+        return group != null ? group : List.of();
+    }
+
+    /**
+     * Gets the product types with at least one item, in declaration order.
+     *
+     * @return the present types; callers must not modify the array
+     */
+    ProductType[] presentTypes() {
+        return presentTypes;
+    }
+
+    /**
+     * Gets the number of items of the order.
+     *
+     * @return the item count
+     */
+    public int itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Gets the order total before any processor adjusted it.
+     *
+     * @return the initial total
+     */
+    public BigDecimal initialTotal() {
+        return initialTotal;
+    }
+}
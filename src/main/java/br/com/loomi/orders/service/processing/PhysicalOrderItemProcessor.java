@@ -2,11 +2,13 @@ package br.com.loomi.orders.service.processing;
 
 import br.com.loomi.orders.domain.entity.Order;
 import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
 import br.com.loomi.orders.exception.BusinessException;
 import br.com.loomi.orders.service.catalog.ProductCatalogService;
 import br.com.loomi.orders.service.catalog.ProductInfo;
 import br.com.loomi.orders.service.event.OrderEventPublisher;
 import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.supporting.AvailabilityView;
 import br.com.loomi.orders.service.supporting.InventoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,15 +36,23 @@ public class PhysicalOrderItemProcessor implements OrderItemProcessor {
     private final InventoryService inventoryService;
     private final OrderEventPublisher eventPublisher;
     private final OrderMetricsService metricsService;
+    private final AvailabilityView availabilityView;
 
     public PhysicalOrderItemProcessor(ProductCatalogService catalogService,
                                       InventoryService inventoryService,
                                       OrderEventPublisher eventPublisher,
-                                      OrderMetricsService metricsService) {
+                                      OrderMetricsService metricsService,
+                                      AvailabilityView availabilityView) {
         this.catalogService = catalogService;
         this.inventoryService = inventoryService;
         this.eventPublisher = eventPublisher;
         this.metricsService = metricsService;
+        this.availabilityView = availabilityView;
+    }
+
+    @Override
+    public ProductType supportedType() {
+        return ProductType.PHYSICAL;
     }
 
     @Override
@@ -73,14 +83,16 @@ public class PhysicalOrderItemProcessor implements OrderItemProcessor {
                 product.getStock() != null ? product.getStock() : 0
         );
 
-        int before = inventoryService.getStock(product.getProductId());
-
-        inventoryService.reserve(product.getProductId(), item.getQuantity());
-
-        int remaining = inventoryService.getStock(product.getProductId());
+        int remaining;
+        try {
+            remaining = inventoryService.reserve(product.getProductId(), item.getQuantity());
+        } finally {
+            // Only exact values: the view keeps the lowest one, so an estimate would stick.
+            availabilityView.record(product.getProductId(), inventoryService.exactStock(product.getProductId()));
+        }
 
-        LOGGER.info("PHYSICAL process - orderId={}, productId={}, stockBefore={}, quantity={}, remaining={}",
-                order.getId(), product.getProductId(), before, item.getQuantity(), remaining);
+        LOGGER.info("PHYSICAL process - orderId={}, productId={}, quantity={}, remaining={}",
+                order.getId(), product.getProductId(), item.getQuantity(), remaining);
 
         if (remaining < 5) {
             LOGGER.warn("PHYSICAL low stock detected - productId={}, remaining={}",
@@ -0,0 +1,32 @@
+package br.com.loomi.orders.service.processing;
+
+/**
+ * Stages of the order processing pipeline, in execution order.
+ */
+public enum PipelineStage {
+
+    /**
+     * Reads the order and skips events that were already handled.
+     */
+    LOAD,
+
+    /**
+     * Applies the global rules, starts fraud scoring and runs the before-order hooks.
+     */
+    VALIDATE,
+
+    /**
+     * Processes every item, runs the after-order hooks and collects the fraud decision.
+     */
+    RESERVE,
+
+    /**
+     * Claims the event and writes the final status in one transaction.
+     */
+    PERSIST,
+
+    /**
+     * Publishes the outcome event, records metrics and logs failures.
+     */
+    PUBLISH
+}
@@ -2,6 +2,8 @@ package br.com.loomi.orders.service.processing;
 
 import br.com.loomi.orders.domain.entity.Order;
 import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.supporting.AvailabilityView;
 import br.com.loomi.orders.service.supporting.PreOrderService;
 import org.springframework.stereotype.Component;
 
@@ -16,14 +18,22 @@ import java.util.Map;
 public class PreOrderItemProcessor implements OrderItemProcessor {
 
     private final PreOrderService preOrderService;
+    private final AvailabilityView availabilityView;
 
     /**
-     * Constructs the processor with the required service.
+     * Constructs the processor with the required services.
      *
-     * @param preOrderService the pre-order service
+     * @param preOrderService  the pre-order service
+     * @param availabilityView the availability view updated after each reservation
      */
-    public PreOrderItemProcessor(PreOrderService preOrderService) {
+    public PreOrderItemProcessor(PreOrderService preOrderService, AvailabilityView availabilityView) {
         this.preOrderService = preOrderService;
+        this.availabilityView = availabilityView;
+    }
+
+    @Override
+    public ProductType supportedType() {
+        return ProductType.PRE_ORDER;
     }
 
     /**
@@ -36,7 +46,12 @@ public class PreOrderItemProcessor implements OrderItemProcessor {
      */
     @Override
     public void process(Order order, OrderItem item, OrderProcessingContext context) {
-        preOrderService.validateAndReserve(item.getProductId(), item.getQuantity());
+        try {
+            preOrderService.validateAndReserve(item.getProductId(), item.getQuantity());
+        } finally {
+            // Only exact values: the view keeps the lowest one, so an estimate would stick.
+            availabilityView.record(item.getProductId(), preOrderService.exactRemainingSlots(item.getProductId()));
+        }
 
         Map<String, Object> metadata = item.getMetadata();
         if (metadata != null && metadata.containsKey("preOrderDiscount")) {
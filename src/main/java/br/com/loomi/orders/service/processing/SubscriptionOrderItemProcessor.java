@@ -4,11 +4,10 @@ import br.com.loomi.orders.domain.entity.Order;
 import br.com.loomi.orders.domain.entity.OrderItem;
 import br.com.loomi.orders.domain.enums.OrderFailureReason;
 import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.supporting.SubscriptionPlanFamily;
 import br.com.loomi.orders.service.supporting.SubscriptionService;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
  * Processor for subscription product order items.
  * Handles subscription validation and activation logic.
@@ -27,6 +26,28 @@ public class SubscriptionOrderItemProcessor implements OrderItemProcessor {
         this.subscriptionService = subscriptionService;
     }
 
+    @Override
+    public ProductType supportedType() {
+        return ProductType.SUBSCRIPTION;
+    }
+
+    /**
+     * Checks once per order whether its subscription plans can coexist.
+     * Folds the plan families of the order's subscription items into one mask.
+     *
+     * @param order the parent order
+     * @param view the precomputed view of the order
+     * @param context the processing context
+     */
+    @Override
+    public void beforeOrder(Order order, OrderView view, OrderProcessingContext context) {
+        int mask = SubscriptionPlanFamily.NONE;
+        for (OrderItem item : view.items(ProductType.SUBSCRIPTION)) {
+            mask |= SubscriptionPlanFamily.of(item.getProductId());
+        }
+        context.setSubscriptionsCompatible(!SubscriptionPlanFamily.isConflicting(mask));
+    }
+
     /**
      * Processes a subscription product order item.
      * Validates subscription compatibility and activates the subscription.
@@ -37,18 +58,7 @@ public class SubscriptionOrderItemProcessor implements OrderItemProcessor {
      */
     @Override
     public void process(Order order, OrderItem item, OrderProcessingContext context) {
-        List<String> subscriptionProducts = order.getItems().stream()
-                .filter(i -> i.getProductType() == ProductType.SUBSCRIPTION)
-                .map(OrderItem::getProductId)
-                .toList();
-
-        boolean hasEnterprise = subscriptionProducts.stream()
-                .anyMatch(p -> p.startsWith("SUB-ENTERPRISE"));
-
-        boolean hasBasicOrPremium = subscriptionProducts.stream()
-                .anyMatch(p -> p.startsWith("SUB-BASIC") || p.startsWith("SUB-PREMIUM"));
-
-        if (hasEnterprise && hasBasicOrPremium) {
+        if (Boolean.FALSE.equals(context.getSubscriptionsCompatible())) {
             context.setFailureReason(OrderFailureReason.INCOMPATIBLE_SUBSCRIPTIONS);
             context.setFailureMessage(
                     "Customer cannot have Enterprise and Basic/Premium subscriptions simultaneously"
@@ -0,0 +1,155 @@
+package br.com.loomi.orders.service.rules;
+
+import br.com.loomi.orders.config.OrderRulesProperties;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates the global order rules.
+ *
+ * Rule definitions are compiled once into an ordered array of predicates over the order
+ * total in cents, so evaluation allocates nothing and never touches {@link BigDecimal}.
+ * {@link #reload} compiles a new chain and swaps it in atomically; evaluations in flight
+ * finish on the chain they started with.
+ */
+@Component
+public class OrderRuleEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderRuleEngine.class);
+
+    private final OrderMetricsService metricsService;
+    private final AtomicReference<RuleChain> chain = new AtomicReference<>();
+
+    /**
+     * Constructs the engine and compiles the configured rules.
+     *
+     * @param properties     the rule configuration
+     * @param metricsService the metrics service
+     */
+    public OrderRuleEngine(OrderRulesProperties properties, OrderMetricsService metricsService) {
+        this.metricsService = metricsService;
+        this.chain.set(compile(properties));
+    }
+
+    /**
+     * Evaluates every rule in order and reports the ones that fire.
+     *
+     * @param amountCents the order total in cents
+     * @param onFired     receives the action of each rule that fires, in rule order
+     */
+    public void evaluate(long amountCents, Consumer<RuleAction> onFired) {
+        RuleChain current = chain.get();
+        for (CompiledRule rule : current.rules()) {
+            long start = System.nanoTime();
+            boolean fired = rule.matches(amountCents, current.random());
+            rule.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (fired) {
+                onFired.accept(rule.action());
+            }
+        }
+    }
+
+    /**
+     * Compiles new rule definitions and atomically replaces the active chain.
+     * If the definitions are invalid the active chain is kept.
+     *
+     * @param properties the new rule configuration
+     * @throws IllegalArgumentException if a definition is invalid
+     */
+    public void reload(OrderRulesProperties properties) {
+        RuleChain compiled = compile(properties);
+        chain.set(compiled);
+        LOGGER.info("Reloaded {} order rules", compiled.rules().length);
+    }
+
+    /**
+     * Lists the names of the active rules in evaluation order.
+     *
+     * @return the rule names
+     */
+    public List<String> ruleNames() {
+        CompiledRule[] rules = chain.get().rules();
+        String[] names = new String[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            names[i] = rules[i].name();
+        }
+        return List.of(names);
+    }
+
+    /**
+     * Converts an order total to cents, rounding fractions of a cent up so that
+     * a strict threshold comparison gives the same result as on the decimal value.
+     *
+     * @param amount a non-negative amount
+     * @return the amount in cents
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.UP).longValueExact();
+    }
+
+    private RuleChain compile(OrderRulesProperties properties) {
+        List<OrderRulesProperties.Rule> definitions = properties.definitions();
+        CompiledRule[] rules = new CompiledRule[definitions.size()];
+        Set<String> names = new HashSet<>();
+
+        for (int i = 0; i < rules.length; i++) {
+            OrderRulesProperties.Rule definition = definitions.get(i);
+            if (definition.name() == null || definition.name().isBlank() || !names.add(definition.name())) {
+                throw new IllegalArgumentException("Rule #" + i + " needs a unique name");
+            }
+            if (definition.action() == null) {
+                throw new IllegalArgumentException("Rule " + definition.name() + " needs an action");
+            }
+            if (definition.probability() < 0 || definition.probability() > 1) {
+                throw new IllegalArgumentException("Rule " + definition.name() + " probability must be within [0, 1]");
+            }
+            rules[i] = new CompiledRule(
+                    definition.name(),
+                    definition.action(),
+                    definition.minAmount() != null ? toCents(definition.minAmount()) : Long.MIN_VALUE,
+                    definition.probability(),
+                    metricsService.ruleEvaluationTimer(definition.name())
+            );
+        }
+        return new RuleChain(rules, SimulationRandom.of(properties.seed()));
+    }
+
+    /**
+     * An immutable, compiled set of rules.
+     *
+     * @param rules  the rules in evaluation order
+     * @param random the simulator used by probabilistic rules
+     */
+    private record RuleChain(CompiledRule[] rules, SimulationRandom random) {
+    }
+
+    /**
+     * A rule reduced to primitive comparisons.
+     *
+     * @param name                 the rule name
+     * @param action               the effect of the rule
+     * @param minAmountCentsExclusive the threshold in cents
+     * @param probability          the chance of firing
+     * @param timer                the evaluation timer of the rule
+     */
+    private record CompiledRule(String name, RuleAction action, long minAmountCentsExclusive,
+                                double probability, Timer timer) {
+
+        boolean matches(long amountCents, SimulationRandom random) {
+            return amountCents > minAmountCentsExclusive
+                    && (probability >= 1.0 || random.nextDouble() < probability);
+        }
+    }
+}
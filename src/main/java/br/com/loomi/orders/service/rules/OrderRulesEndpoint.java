@@ -0,0 +1,94 @@
+package br.com.loomi.orders.service.rules;
+
+import br.com.loomi.orders.config.OrderRulesProperties;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint to inspect and hot-reload the global order rules.
+ *
+ * A write takes the new definitions as its payload, binds them the same way as
+ * {@code app.rules.definitions}, compiles them and swaps the chain without a restart.
+ * Invalid definitions are rejected and the active chain is kept. Reloaded rules live in
+ * memory only: a restart goes back to the configured ones. There is no authentication in
+ * this service, so the endpoint is not exposed over HTTP unless
+ * {@code management.endpoints.web.exposure.include} lists it, which should only be done
+ * on a management port that is not publicly reachable.
+ */
+@Component
+@Endpoint(id = "orderrules")
+public class OrderRulesEndpoint {
+
+    private static final String RULES_PREFIX = "app.rules";
+
+    private final OrderRuleEngine ruleEngine;
+
+    /**
+     * Constructs the endpoint.
+     *
+     * @param ruleEngine the rule engine
+     */
+    public OrderRulesEndpoint(OrderRuleEngine ruleEngine) {
+        this.ruleEngine = ruleEngine;
+    }
+
+    /**
+     * Lists the active rules.
+     *
+     * @return the rule names in evaluation order
+     */
+    @ReadOperation
+    public List<String> rules() {
+        return ruleEngine.ruleNames();
+    }
+
+    /**
+     * Replaces the active rules.
+     *
+     * @param definitions the new rules in evaluation order, each with {@code name}, {@code action}
+     *                    and optionally {@code minAmount} and {@code probability}
+     * @param seed        seed of the random simulator, random per thread when absent
+     * @return the rule names now active
+     * @throws InvalidEndpointRequestException if the definitions are missing or invalid
+     */
+    @WriteOperation
+    public List<String> reload(List<Map<String, Object>> definitions, @Nullable Long seed) {
+        if (definitions == null || definitions.isEmpty()) {
+            throw new InvalidEndpointRequestException("At least one rule definition is required", "Missing definitions");
+        }
+
+        Map<String, Object> source = new HashMap<>();
+        for (int i = 0; i < definitions.size(); i++) {
+            for (Map.Entry<String, Object> field : definitions.get(i).entrySet()) {
+                source.put(RULES_PREFIX + ".definitions[" + i + "]." + field.getKey(), field.getValue());
+            }
+        }
+        if (seed != null) {
+            source.put(RULES_PREFIX + ".seed", seed);
+        }
+
+        try {
+            OrderRulesProperties properties = new Binder(new MapConfigurationPropertySource(source))
+                    .bindOrCreate(RULES_PREFIX, OrderRulesProperties.class);
+            ruleEngine.reload(properties);
+        } catch (BindException ex) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            throw new InvalidEndpointRequestException("Invalid rule definitions: " + reason, reason);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+        return ruleEngine.ruleNames();
+    }
+}
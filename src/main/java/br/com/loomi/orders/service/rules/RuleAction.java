@@ -0,0 +1,22 @@
+package br.com.loomi.orders.service.rules;
+
+/**
+ * Effect applied to an order when a global rule fires.
+ */
+public enum RuleAction {
+
+    /**
+     * Flags the order as high value.
+     */
+    FLAG_HIGH_VALUE,
+
+    /**
+     * Fails the order with a fraud alert.
+     */
+    FRAUD_ALERT,
+
+    /**
+     * Fails the order as if the payment had been declined.
+     */
+    FAIL_PAYMENT
+}
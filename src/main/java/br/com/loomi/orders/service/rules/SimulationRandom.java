@@ -0,0 +1,45 @@
+package br.com.loomi.orders.service.rules;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of random draws for simulated rules.
+ *
+ * Unseeded, draws come from {@link ThreadLocalRandom}. Seeded, each thread gets its own
+ * {@link SplittableRandom} split from the seeded root, so a single-threaded run is
+ * reproducible and threads never share generator state.
+ */
+public final class SimulationRandom {
+
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> perThread;
+
+    private SimulationRandom(SplittableRandom root) {
+        this.root = root;
+        this.perThread = root != null ? ThreadLocal.withInitial(this::split) : null;
+    }
+
+    /**
+     * Creates a simulator.
+     *
+     * @param seed the seed, or null for unseeded draws
+     * @return the simulator
+     */
+    public static SimulationRandom of(Long seed) {
+        return new SimulationRandom(seed != null ? new SplittableRandom(seed) : null);
+    }
+
+    /**
+     * Draws a uniformly distributed value in [0, 1).
+     *
+     * @return the draw
+     */
+    public double nextDouble() {
+        return perThread != null ? perThread.get().nextDouble() : ThreadLocalRandom.current().nextDouble();
+    }
+
+    private synchronized SplittableRandom split() {
+        return root.split();
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.loomi.orders.service.supporting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate, last-known availability of stock, licenses and pre-order slots.
+ *
+ * Processors record what is left after each reservation attempt; order creation reads
+ * the view without locking to reject requests that are clearly sold out before anything
+ * is persisted. Stock, licenses and slots are never replenished, so values only move
+ * down; a stale entry over-estimates availability and never causes a false rejection.
+ */
+@Component
+public class AvailabilityView {
+
+    private final boolean precheckEnabled;
+    private final Map<String, Integer> lastKnownAvailable = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the view.
+     *
+     * @param precheckEnabled whether order creation should consult the view
+     */
+    public AvailabilityView(@Value("${app.orders.availability-precheck.enabled:false}") boolean precheckEnabled) {
+        this.precheckEnabled = precheckEnabled;
+    }
+
+    /**
+     * Records the units still available for a product.
+     *
+     * @param productId the ID of the product
+     * @param available the units left, ignored when unknown
+     */
+    public void record(String productId, Integer available) {
+        if (available != null) {
+            lastKnownAvailable.merge(productId, Math.max(available, 0), Math::min);
+        }
+    }
+
+    /**
+     * Gets the last recorded availability of a product.
+     *
+     * @param productId the ID of the product
+     * @return the units left, or null if nothing was recorded yet
+     */
+    public Integer lastKnownAvailable(String productId) {
+        return lastKnownAvailable.get(productId);
+    }
+
+    /**
+     * Checks whether a request can be rejected up front.
+     *
+     * @param productId the ID of the product
+     * @param quantity  the requested quantity
+     * @return true if the pre-check is enabled and the product is known to have fewer units left
+     */
+    public boolean isClearlyUnavailable(String productId, int quantity) {
+        if (!precheckEnabled) {
+            return false;
+        }
+        Integer available = lastKnownAvailable.get(productId);
+        return available != null && available < quantity;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.loomi.orders.service.supporting;
+
+/**
+ * CNPJ validation with check-digit verification.
+ * Accepts the formatted ({@code 12.345.678/0001-95}) and unformatted ({@code 12345678000195})
+ * forms, scanning the characters once without allocating.
+ */
+public final class Cnpj {
+
+    private static final int DIGITS = 14;
+    private static final int FORMATTED_LENGTH = 18;
+
+    private static final int[] FIRST_CHECK_WEIGHTS = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] SECOND_CHECK_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private Cnpj() {
+    }
+
+    /**
+     * Checks whether a value is a valid CNPJ.
+     * Numbers made of a single repeated digit are rejected even though their check digits match.
+     *
+     * @param value the CNPJ, formatted or unformatted
+     * @return true if the format is accepted and both check digits match
+     */
+    public static boolean isValid(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        boolean formatted = length == FORMATTED_LENGTH;
+        if (!formatted && length != DIGITS) {
+            return false;
+        }
+
+        int firstSum = 0;
+        int secondSum = 0;
+        int firstCheck = -1;
+        int first = -1;
+        boolean repeated = true;
+        int digit = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (formatted) {
+                char separator = separatorAt(i);
+                if (separator != 0) {
+                    if (c != separator) {
+                        return false;
+                    }
+                    continue;
+                }
+            }
+            if (c < '0' || c > '9') {
+                return false;
+            }
+
+            int n = c - '0';
+            if (first < 0) {
+                first = n;
+            } else if (n != first) {
+                repeated = false;
+            }
+
+            if (digit < 12) {
+                firstSum += n * FIRST_CHECK_WEIGHTS[digit];
+                secondSum += n * SECOND_CHECK_WEIGHTS[digit];
+            } else if (digit == 12) {
+                firstCheck = n;
+                secondSum += n * SECOND_CHECK_WEIGHTS[digit];
+            } else if (firstCheck != checkDigit(firstSum) || n != checkDigit(secondSum)) {
+                return false;
+            }
+            digit++;
+        }
+        return !repeated;
+    }
+
+    private static char separatorAt(int index) {
+        return switch (index) {
+            case 2, 6 -> '.';
+            case 10 -> '/';
+            case 15 -> '-';
+            default -> 0;
+        };
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+}
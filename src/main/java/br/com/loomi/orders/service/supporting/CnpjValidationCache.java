@@ -0,0 +1,70 @@
+package br.com.loomi.orders.service.supporting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the last CNPJ validated for each corporate customer.
+ *
+ * Corporate customers send the same CNPJ on every item and order, so the result is
+ * reused while the CNPJ does not change. At most {@code maxCustomers} customers are kept;
+ * the least recently used one is evicted first.
+ */
+@Component
+public class CnpjValidationCache {
+
+    private final Map<String, ValidatedCnpj> lastByCustomer;
+
+    /**
+     * Constructs the cache.
+     *
+     * @param maxCustomers maximum number of customers kept
+     */
+    public CnpjValidationCache(@Value("${app.corporate.cnpj-cache-size:10000}") int maxCustomers) {
+        this.lastByCustomer = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ValidatedCnpj> eldest) {
+                return size() > maxCustomers;
+            }
+        };
+    }
+
+    /**
+     * Validates a customer's CNPJ, reusing the previous result for the same value.
+     *
+     * @param customerId the customer identifier
+     * @param cnpj       the CNPJ to validate
+     * @return true if the CNPJ is valid
+     */
+    public boolean isValid(String customerId, String cnpj) {
+        synchronized (lastByCustomer) {
+            ValidatedCnpj last = lastByCustomer.get(customerId);
+            if (last != null && last.cnpj().equals(cnpj)) {
+                return last.valid();
+            }
+        }
+
+        boolean valid = Cnpj.isValid(cnpj);
+        synchronized (lastByCustomer) {
+            lastByCustomer.put(customerId, new ValidatedCnpj(cnpj, valid));
+        }
+        return valid;
+    }
+
+    /**
+     * Gets the number of customers with a cached result.
+     *
+     * @return the cached customer count
+     */
+    public int size() {
+        synchronized (lastByCustomer) {
+            return lastByCustomer.size();
+        }
+    }
+
+    private record ValidatedCnpj(String cnpj, boolean valid) {
+    }
+}
@@ -1,42 +1,217 @@
 package br.com.loomi.orders.service.supporting;
 
+import br.com.loomi.orders.config.CorporateCreditProperties;
 import br.com.loomi.orders.domain.enums.OrderFailureReason;
 import br.com.loomi.orders.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service to manage corporate credit limits for customers.
+ *
+ * Every reservation is recorded in a ledger together with the date its payment term
+ * (NET_30/60/90) ends. Expired reservations sit at the head of a delay queue, so the
+ * periodic release only touches reservations that are due and never scans customers.
+ * Customers drop out of the ledger as soon as they have no outstanding credit.
+ *
+ * A reservation can also be released early, when the order it was made for does not go
+ * through; it then stays in the delay queue until its term ends but returns nothing twice.
  */
 @Service
 public class CorporateCreditService {
 
-    private static final BigDecimal CREDIT_LIMIT = BigDecimal.valueOf(100_000);
+    private static final Logger LOGGER = LoggerFactory.getLogger(CorporateCreditService.class);
 
+    private static final int DEFAULT_PAYMENT_DUE_DAYS = 30;
+
+    private final CorporateCreditProperties properties;
+    private final Clock clock;
     private final Map<String, BigDecimal> usedCreditByCustomer = new ConcurrentHashMap<>();
+    private final DelayQueue<CreditReservation> pendingReleases = new DelayQueue<>();
+
+    /**
+     * Constructs the service with the default limit of 100,000 for every customer.
+     */
+    public CorporateCreditService() {
+        this(new CorporateCreditProperties(BigDecimal.valueOf(100_000), Map.of()), Clock.systemUTC());
+    }
+
+    /**
+     * Constructs the service with configured credit limits.
+     *
+     * @param properties the credit limit configuration
+     */
+    @Autowired
+    public CorporateCreditService(CorporateCreditProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs the service with configured credit limits and a custom clock.
+     *
+     * @param properties the credit limit configuration
+     * @param clock      the clock used to compute payment due dates
+     */
+    CorporateCreditService(CorporateCreditProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
 
     /**
-     * Validates if the customer has enough credit and reserves the specified amount.
+     * Validates and reserves credit using the default NET_30 payment term.
      *
      * @param customerId the ID of the customer
      * @param amount     the amount to reserve
+     * @return the reservation, to release early if the order does not go through
      * @throws BusinessException if the credit limit is exceeded
      */
-    public synchronized void validateAndReserve(String customerId, BigDecimal amount) {
-        BigDecimal used = usedCreditByCustomer.getOrDefault(customerId, BigDecimal.ZERO);
+    public CreditReservation validateAndReserve(String customerId, BigDecimal amount) {
+        return validateAndReserve(customerId, amount, DEFAULT_PAYMENT_DUE_DAYS);
+    }
+
+    /**
+     * Validates if the customer has enough credit and reserves the specified amount
+     * until the payment term ends.
+     * The check and the reservation are a single atomic update of the customer's entry,
+     * so concurrent reservations of different customers never contend.
+     *
+     * @param customerId     the ID of the customer
+     * @param amount         the amount to reserve
+     * @param paymentDueDays days until the reserved credit is released
+     * @return the reservation, to release early if the order does not go through
+     * @throws BusinessException if the credit limit is exceeded
+     */
+    public CreditReservation validateAndReserve(String customerId, BigDecimal amount, int paymentDueDays) {
+        BigDecimal limit = properties.limitFor(customerId);
+
+        usedCreditByCustomer.compute(customerId, (id, used) -> {
+            BigDecimal current = used != null ? used : BigDecimal.ZERO;
+            BigDecimal updated = current.add(amount);
+
+            if (updated.compareTo(limit) > 0) {
+                throw new BusinessException(
+                        HttpStatus.BAD_REQUEST,
+                        OrderFailureReason.CREDIT_LIMIT_EXCEEDED.name(),
+                        "Credit limit exceeded for customer " + customerId
+                );
+            }
+            return updated;
+        });
+
+        Instant releaseAt = clock.instant().plus(Duration.ofDays(paymentDueDays));
+        CreditReservation reservation = new CreditReservation(customerId, amount, releaseAt);
+        pendingReleases.add(reservation);
+        return reservation;
+    }
+
+    /**
+     * Gets the credit currently reserved by a customer.
+     *
+     * @param customerId the ID of the customer
+     * @return the reserved credit, zero if the customer has none
+     */
+    public BigDecimal getUsedCredit(String customerId) {
+        return usedCreditByCustomer.getOrDefault(customerId, BigDecimal.ZERO);
+    }
+
+    /**
+     * Gets the number of customers with outstanding credit.
+     *
+     * @return the active customer count
+     */
+    public int getActiveCustomerCount() {
+        return usedCreditByCustomer.size();
+    }
 
-        if (used.add(amount).compareTo(CREDIT_LIMIT) > 0) {
-            throw new BusinessException(
-                    HttpStatus.BAD_REQUEST,
-                    OrderFailureReason.CREDIT_LIMIT_EXCEEDED.name(),
-                    "Credit limit exceeded for customer " + customerId
-            );
+    /**
+     * Releases every reservation whose payment term has ended.
+     * Cost is proportional to the number of expired reservations.
+     *
+     * @return the number of released reservations, not counting those released early
+     */
+    @Scheduled(fixedDelayString = "${app.corporate.credit.release-interval-ms:60000}")
+    public int releaseExpired() {
+        int released = 0;
+        CreditReservation reservation;
+        while ((reservation = pendingReleases.poll()) != null) {
+            if (release(reservation)) {
+                released++;
+            }
         }
+        if (released > 0) {
+            LOGGER.info("Released {} expired corporate credit reservations", released);
+        }
+        return released;
+    }
 
-        usedCreditByCustomer.put(customerId, used.add(amount));
+    /**
+     * Returns a reservation's amount to the customer, once, dropping the customer
+     * from the ledger once nothing is outstanding.
+     *
+     * @param reservation the reservation to release
+     * @return true if this call released it
+     */
+    private boolean release(CreditReservation reservation) {
+        if (!reservation.released.compareAndSet(false, true)) {
+            return false;
+        }
+        usedCreditByCustomer.computeIfPresent(reservation.customerId, (id, used) -> {
+            BigDecimal remaining = used.subtract(reservation.amount);
+            return remaining.signum() > 0 ? remaining : null;
+        });
+        return true;
+    }
+
+    /**
+     * Credit reserved for one order item until its payment term ends.
+     */
+    public final class CreditReservation implements Delayed {
+
+        private final String customerId;
+        private final BigDecimal amount;
+        private final Instant releaseAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private CreditReservation(String customerId, BigDecimal amount, Instant releaseAt) {
+            this.customerId = customerId;
+            this.amount = amount;
+            this.releaseAt = releaseAt;
+        }
+
+        /**
+         * Returns the credit right away, for an order that did not go through.
+         * Does nothing if the reservation was already released.
+         */
+        public void release() {
+            CorporateCreditService.this.release(this);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(clock.instant(), releaseAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof CreditReservation reservation) {
+                return releaseAt.compareTo(reservation.releaseAt);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
     }
 }
@@ -7,20 +7,29 @@ import br.com.loomi.orders.service.catalog.ProductInfo;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for managing digital licenses for products.
+ *
+ * Ownership is indexed per customer as a sorted int array of product ordinals, where
+ * ordinals are dense ints interned per digital product. Customers usually own a handful
+ * of products, so a lookup is a binary search over a few ints, and an entry costs one
+ * small primitive array instead of a hash set of strings.
  */
 @Service
 public class DigitalLicenseService {
 
+    private static final int[] NO_PRODUCTS = new int[0];
+
     private final ProductCatalogService catalogService;
     private final Map<String, Integer> remainingLicenses = new ConcurrentHashMap<>();
-    private final Map<String, Set<String>> ownedDigitalByCustomer = new ConcurrentHashMap<>();
+    private final Map<String, Integer> productOrdinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextProductOrdinal = new AtomicInteger();
+    private final Map<String, int[]> ownedProductsByCustomer = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new DigitalLicenseService with the given ProductCatalogService.
@@ -33,37 +42,119 @@ public class DigitalLicenseService {
 
     /**
      * Allocates digital licenses to a customer for a specific product.
+     * The ownership check runs as an atomic update of the customer's entry and the
+     * license count is decremented atomically per product, so the same customer can
+     * never be granted a product twice and a product can never be oversold.
      *
      * @param customerId the ID of the customer
      * @param productId  the ID of the product
      * @param quantity   the number of licenses to allocate
      * @throws BusinessException if the customer already owns the product or if there are not enough licenses available
      */
-    public synchronized void allocateLicense(String customerId, String productId, int quantity) {
-        Set<String> owned = ownedDigitalByCustomer.computeIfAbsent(customerId, k -> new HashSet<>());
-
-        if (owned.contains(productId)) {
-            throw new BusinessException(
-                    HttpStatus.BAD_REQUEST,
-                    OrderFailureReason.ALREADY_OWNED.name(),
-                    "Customer already owns digital product " + productId
-            );
-        }
-
-        int remaining = remainingLicenses.computeIfAbsent(productId, p -> {
-            ProductInfo info = catalogService.getRequiredProduct(p);
-            return info.getLicenses() != null ? info.getLicenses() : 0;
+    public void allocateLicense(String customerId, String productId, int quantity) {
+        int ordinal = productOrdinal(productId);
+
+        ownedProductsByCustomer.compute(customerId, (id, current) -> {
+            int[] owned = current != null ? current : NO_PRODUCTS;
+            int position = Arrays.binarySearch(owned, ordinal);
+
+            if (position >= 0) {
+                throw new BusinessException(
+                        HttpStatus.BAD_REQUEST,
+                        OrderFailureReason.ALREADY_OWNED.name(),
+                        "Customer already owns digital product " + productId
+                );
+            }
+
+            takeLicenses(productId, quantity);
+            return insert(owned, -(position + 1), ordinal);
         });
+    }
 
-        if (remaining < quantity) {
-            throw new BusinessException(
-                    HttpStatus.BAD_REQUEST,
-                    OrderFailureReason.LICENSE_UNAVAILABLE.name(),
-                    "Not enough licenses available for " + productId
-            );
-        }
+    /**
+     * Checks whether a customer owns a digital product.
+     *
+     * @param customerId the ID of the customer
+     * @param productId  the ID of the product
+     * @return true if a license of the product was allocated to the customer
+     */
+    public boolean ownsProduct(String customerId, String productId) {
+        Integer ordinal = productOrdinals.get(productId);
+        int[] owned = ownedProductsByCustomer.get(customerId);
+        return ordinal != null && owned != null && Arrays.binarySearch(owned, ordinal) >= 0;
+    }
 
-        remainingLicenses.put(productId, remaining - quantity);
-        owned.add(productId);
+    /**
+     * Gets the number of licenses still available for a product.
+     *
+     * @param productId the ID of the product
+     * @return the remaining licenses, or null if the product was never allocated
+     */
+    public Integer getRemainingLicenses(String productId) {
+        return remainingLicenses.get(productId);
+    }
+
+    /**
+     * Atomically decrements the available licenses of a product.
+     *
+     * @param productId the ID of the product
+     * @param quantity  the number of licenses to take
+     * @throws BusinessException if there are not enough licenses available
+     */
+    private void takeLicenses(String productId, int quantity) {
+        remainingLicenses.compute(productId, (id, current) -> {
+            int remaining = current != null ? current : initialLicenses(productId);
+
+            if (remaining < quantity) {
+                throw new BusinessException(
+                        HttpStatus.BAD_REQUEST,
+                        OrderFailureReason.LICENSE_UNAVAILABLE.name(),
+                        "Not enough licenses available for " + productId
+                );
+            }
+            return remaining - quantity;
+        });
+    }
+
+    /**
+     * Reads the initial license pool of a product from the catalog.
+     *
+     * @param productId the ID of the product
+     * @return the configured number of licenses
+     */
+    private int initialLicenses(String productId) {
+        ProductInfo info = catalogService.getRequiredProduct(productId);
+        return info.getLicenses() != null ? info.getLicenses() : 0;
+    }
+
+    /**
+     * Interns a digital product into a dense ordinal.
+     * Only catalog products are interned, so unknown ids cannot grow the ordinal table.
+     *
+     * @param productId the ID of the product
+     * @return the product ordinal
+     * @throws BusinessException if the product is not in the catalog
+     */
+    private int productOrdinal(String productId) {
+        return productOrdinals.computeIfAbsent(productId, id -> {
+            catalogService.getRequiredProduct(id);
+            return nextProductOrdinal.getAndIncrement();
+        });
+    }
+
+    /**
+     * Copies a sorted ordinal array with one ordinal inserted.
+     *
+     * @param owned    the current sorted ordinals
+     * @param position the insertion point
+     * @param ordinal  the ordinal to insert
+     * @return a new sorted array
+     */
+    private static int[] insert(int[] owned, int position, int ordinal) {
+        int[] updated = new int[owned.length + 1];
+        System.arraycopy(owned, 0, updated, 0, position);
+        updated[position] = ordinal;
+        System.arraycopy(owned, position, updated, position + 1, owned.length - position);
+        return updated;
     }
 }
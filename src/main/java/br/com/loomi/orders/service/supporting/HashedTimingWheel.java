@@ -0,0 +1,153 @@
+package br.com.loomi.orders.service.supporting;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of deadlines at coarse granularity.
+ *
+ * Time is split into fixed ticks and every deadline is hashed into the bucket of its tick.
+ * Advancing the wheel only visits the buckets of the elapsed ticks, so the cost of a tick is
+ * proportional to the entries stored in those buckets, not to every scheduled entry.
+ * Sizing the wheel so that {@code tick * wheelSize} covers the usual deadline horizon keeps
+ * almost every visited entry due.
+ *
+ * {@link #schedule} is safe to call from any thread; {@link #advance} is meant to be driven
+ * by a single scheduler thread and is serialized.
+ *
+ * @param <T> the payload type handed back on expiry
+ */
+public final class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<Entry<T>>[] buckets;
+    private final Queue<Entry<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private long lastTick;
+
+    /**
+     * Creates a wheel whose first tick starts at {@code start}.
+     *
+     * @param tick      the duration of one tick
+     * @param wheelSize the number of buckets, a power of two
+     * @param start     the instant tick zero begins
+     */
+    public HashedTimingWheel(Duration tick, int wheelSize, Instant start) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("tick must be at least 1ms");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tick.toMillis();
+        this.startMillis = start.toEpochMilli();
+        this.mask = wheelSize - 1;
+        this.buckets = newBuckets(wheelSize);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> List<Entry<T>>[] newBuckets(int wheelSize) {
+        return new List[wheelSize];
+    }
+
+    /**
+     * Schedules a payload to expire at the first tick at or after the deadline.
+     *
+     * @param payload  the payload to hand back on expiry
+     * @param deadline when the payload expires
+     */
+    public void schedule(T payload, Instant deadline) {
+        long deadlineTick = Math.max(0, ceilDiv(deadline.toEpochMilli() - startMillis, tickMillis));
+        incoming.add(new Entry<>(payload, deadlineTick));
+        size.incrementAndGet();
+    }
+
+    /**
+     * Processes every tick up to {@code now}, handing due payloads to {@code onExpired}.
+     *
+     * @param now       the current instant
+     * @param onExpired callback invoked once per due payload
+     * @return the number of expired payloads
+     */
+    public synchronized int advance(Instant now, Consumer<? super T> onExpired) {
+        long currentTick = Math.floorDiv(now.toEpochMilli() - startMillis, tickMillis);
+        int expired = 0;
+
+        Entry<T> entry;
+        while ((entry = incoming.poll()) != null) {
+            if (entry.deadlineTick() <= currentTick) {
+                onExpired.accept(entry.payload());
+                expired++;
+            } else {
+                bucketFor(entry.deadlineTick()).add(entry);
+            }
+        }
+
+        long elapsedTicks = Math.min(currentTick - lastTick, buckets.length);
+        for (long tick = lastTick + 1; elapsedTicks-- > 0; tick++) {
+            expired += expireBucket((int) (tick & mask), currentTick, onExpired);
+        }
+        lastTick = Math.max(lastTick, currentTick);
+
+        size.addAndGet(-expired);
+        return expired;
+    }
+
+    /**
+     * Gets the number of scheduled payloads that have not expired yet.
+     *
+     * @return the pending payload count
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private List<Entry<T>> bucketFor(long deadlineTick) {
+        int index = (int) (deadlineTick & mask);
+        List<Entry<T>> bucket = buckets[index];
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            buckets[index] = bucket;
+        }
+        return bucket;
+    }
+
+    private int expireBucket(int index, long currentTick, Consumer<? super T> onExpired) {
+        List<Entry<T>> bucket = buckets[index];
+        if (bucket == null) {
+            return 0;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Entry<T> entry = bucket.get(i);
+            if (entry.deadlineTick() <= currentTick) {
+                onExpired.accept(entry.payload());
+            } else {
+                bucket.set(kept++, entry);
+            }
+        }
+        int expired = bucket.size() - kept;
+        if (kept == 0) {
+            buckets[index] = null;
+        } else {
+            bucket.subList(kept, bucket.size()).clear();
+        }
+        return expired;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private record Entry<T>(T payload, long deadlineTick) {
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.loomi.orders.service.supporting;
 
+import br.com.loomi.orders.config.FlashSaleProperties;
 import br.com.loomi.orders.domain.enums.OrderFailureReason;
 import br.com.loomi.orders.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -10,11 +12,36 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A simple in-memory inventory service to manage product stock levels.
+ *
+ * Stock is updated atomically per product, so reservations of different products never
+ * contend. Hot SKUs configured for flash sales keep their stock in a {@link StripedStockPool}
+ * instead, spreading concurrent reservations of the same SKU over per-core sub-pools.
  */
 @Service
 public class InventoryService {
 
+    private static final int EXACT_REMAINING_BELOW = 32;
+
+    private final FlashSaleProperties flashSale;
     private final Map<String, Integer> stockByProduct = new ConcurrentHashMap<>();
+    private final Map<String, StripedStockPool> flashSalePools = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the service without flash-sale SKUs.
+     */
+    public InventoryService() {
+        this(FlashSaleProperties.disabled());
+    }
+
+    /**
+     * Constructs the service with the configured flash-sale SKUs.
+     *
+     * @param flashSale the flash-sale configuration
+     */
+    @Autowired
+    public InventoryService(FlashSaleProperties flashSale) {
+        this.flashSale = flashSale;
+    }
 
     /**
      * Gets the current stock level for a given product.
@@ -22,7 +49,27 @@ public class InventoryService {
      * @param productId the ID of the product
      * @return the current stock level
      */
-    public synchronized int getStock(String productId) {
+    public int getStock(String productId) {
+        StripedStockPool pool = flashSalePools.get(productId);
+        if (pool != null) {
+            return pool.available();
+        }
+        return stockByProduct.getOrDefault(productId, 0);
+    }
+
+    /**
+     * Gets the stock level of a product when it is known exactly.
+     * Flash-sale pools are only exact once sold out: while units move between sub-pools their
+     * sum can read low, so no value is reported before that.
+     *
+     * @param productId the ID of the product
+     * @return the exact stock level, or null if it cannot be read exactly
+     */
+    public Integer exactStock(String productId) {
+        StripedStockPool pool = flashSalePools.get(productId);
+        if (pool != null) {
+            return pool.isSoldOut() ? 0 : null;
+        }
         return stockByProduct.getOrDefault(productId, 0);
     }
 
@@ -32,7 +79,14 @@ public class InventoryService {
      * @param productId the ID of the product
      * @param stock     the initial stock level
      */
-    public synchronized void initStockIfAbsent(String productId, int stock) {
+    public void initStockIfAbsent(String productId, int stock) {
+        if (flashSale.isFlashSale(productId)) {
+            if (!flashSalePools.containsKey(productId)) {
+                flashSalePools.computeIfAbsent(productId,
+                        id -> new StripedStockPool(stock, flashSale.resolvedStripes()));
+            }
+            return;
+        }
         stockByProduct.putIfAbsent(productId, stock);
     }
 
@@ -41,19 +95,35 @@ public class InventoryService {
      *
      * @param productId the ID of the product
      * @param quantity  the quantity to reserve
+     * @return the remaining stock after the reservation; for flash-sale SKUs an estimate
+     *         while stock is plentiful, exact once the serving sub-pool runs low. Use
+     *         {@link #exactStock} where an estimate must not be taken for the real stock
      * @throws BusinessException if there is not enough stock
      */
-    public synchronized void reserve(String productId, int quantity) {
-        int current = stockByProduct.getOrDefault(productId, 0);
-
-        if (current < quantity) {
-            throw new BusinessException(
-                    HttpStatus.BAD_REQUEST,
-                    OrderFailureReason.OUT_OF_STOCK.name(),
-                    "Not enough stock for " + productId
-            );
+    public int reserve(String productId, int quantity) {
+        StripedStockPool pool = flashSalePools.get(productId);
+        if (pool != null) {
+            int left = pool.tryTake(quantity);
+            if (left < 0) {
+                throw outOfStock(productId);
+            }
+            return left < EXACT_REMAINING_BELOW ? pool.available() : left * pool.stripes();
         }
 
-        stockByProduct.put(productId, current - quantity);
+        return stockByProduct.compute(productId, (id, current) -> {
+            int available = current != null ? current : 0;
+            if (available < quantity) {
+                throw outOfStock(productId);
+            }
+            return available - quantity;
+        });
+    }
+
+    private static BusinessException outOfStock(String productId) {
+        return new BusinessException(
+                HttpStatus.BAD_REQUEST,
+                OrderFailureReason.OUT_OF_STOCK.name(),
+                "Not enough stock for " + productId
+        );
     }
 }
@@ -0,0 +1,27 @@
+package br.com.loomi.orders.service.supporting;
+
+import java.util.UUID;
+
+/**
+ * Strategy that generates license keys for digital products.
+ * Declaring a bean of this type replaces the default UUID format.
+ */
+@FunctionalInterface
+public interface LicenseKeyFormat {
+
+    /**
+     * Generates a new license key.
+     *
+     * @return a unique license key
+     */
+    String newKey();
+
+    /**
+     * Default format: a random UUID string.
+     *
+     * @return the UUID key format
+     */
+    static LicenseKeyFormat uuid() {
+        return () -> UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.loomi.orders.service.supporting;
+
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out license keys from a bounded pool of pre-generated keys.
+ *
+ * Key generation (UUIDs draw on {@code SecureRandom}) runs on a background thread that
+ * tops the pool up whenever it falls below the low watermark, so the processing path
+ * only dequeues. If the pool is ever drained, the key is generated inline and counted
+ * as a pool miss.
+ */
+@Component
+public class LicenseKeyProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LicenseKeyProvider.class);
+
+    private final LicenseKeyFormat keyFormat;
+    private final OrderMetricsService metricsService;
+    private final BlockingQueue<String> pool;
+    private final int lowWatermark;
+    private final AtomicBoolean refillScheduled = new AtomicBoolean();
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "license-key-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs the provider with the configured pool size.
+     *
+     * @param keyFormat      a custom key format, UUID when none is declared
+     * @param metricsService the metrics service
+     * @param capacity       maximum number of pre-generated keys
+     * @param lowWatermark   pool depth that triggers a refill
+     */
+    @Autowired
+    public LicenseKeyProvider(
+            ObjectProvider<LicenseKeyFormat> keyFormat,
+            OrderMetricsService metricsService,
+            @Value("${app.licenses.key-pool.capacity:10000}") int capacity,
+            @Value("${app.licenses.key-pool.low-watermark:2500}") int lowWatermark
+    ) {
+        this(keyFormat.getIfAvailable(LicenseKeyFormat::uuid), metricsService, capacity, lowWatermark);
+    }
+
+    /**
+     * Constructs the provider with an explicit key format.
+     *
+     * @param keyFormat      the key format
+     * @param metricsService the metrics service
+     * @param capacity       maximum number of pre-generated keys
+     * @param lowWatermark   pool depth that triggers a refill
+     */
+    public LicenseKeyProvider(LicenseKeyFormat keyFormat, OrderMetricsService metricsService,
+                              int capacity, int lowWatermark) {
+        this.keyFormat = keyFormat;
+        this.metricsService = metricsService;
+        this.pool = new ArrayBlockingQueue<>(capacity);
+        this.lowWatermark = Math.min(lowWatermark, capacity);
+        metricsService.registerLicenseKeyPool(pool);
+    }
+
+    /**
+     * Fills the pool in the background on startup.
+     */
+    @PostConstruct
+    public void start() {
+        requestRefill();
+    }
+
+    /**
+     * Takes the next license key from the pool.
+     *
+     * @return a license key
+     */
+    public String nextKey() {
+        String key = pool.poll();
+        if (pool.size() < lowWatermark) {
+            requestRefill();
+        }
+        if (key == null) {
+            metricsService.recordLicenseKeyPoolMiss();
+            return keyFormat.newKey();
+        }
+        return key;
+    }
+
+    /**
+     * Gets the number of keys currently available in the pool.
+     *
+     * @return the pool depth
+     */
+    public int getPoolDepth() {
+        return pool.size();
+    }
+
+    /**
+     * Stops the refill thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+
+    /**
+     * Schedules a refill unless one is already queued or running.
+     */
+    private void requestRefill() {
+        if (refillScheduled.compareAndSet(false, true)) {
+            try {
+                refiller.execute(this::refill);
+            } catch (RuntimeException ex) {
+                refillScheduled.set(false);
+                LOGGER.warn("License key refill could not be scheduled: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Tops the pool up to its capacity.
+     */
+    private void refill() {
+        long start = System.nanoTime();
+        int generated = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted() && pool.offer(keyFormat.newKey())) {
+                generated++;
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.error("License key refill failed after {} keys", generated, ex);
+        } finally {
+            metricsService.recordLicenseKeyRefill(System.nanoTime() - start, generated);
+            refillScheduled.set(false);
+        }
+    }
+}
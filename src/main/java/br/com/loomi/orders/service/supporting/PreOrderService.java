@@ -1,27 +1,49 @@
 package br.com.loomi.orders.service.supporting;
 
+import br.com.loomi.orders.config.FlashSaleProperties;
 import br.com.loomi.orders.domain.enums.OrderFailureReason;
 import br.com.loomi.orders.exception.BusinessException;
 import br.com.loomi.orders.service.catalog.ProductCatalogService;
 import br.com.loomi.orders.service.catalog.ProductInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for handling pre-order validations and reservations.
  *
  * This service checks if a product is eligible for pre-order based on its release date
  * and available pre-order slots. It reserves slots when a pre-order is validated.
+ *
+ * Each product is read from the catalog once and kept as an atomic slot counter plus an
+ * open flag, so reservations for different products never contend and reservations for
+ * the same product only race on a compare-and-set. Release dates are indexed by day; a
+ * scheduled pass at midnight closes every product released that day in bulk, keeping
+ * the date check off the reservation path. Flash-sale SKUs keep their slots in a
+ * {@link StripedStockPool} so that launch-day bursts on one SKU do not all hit one counter.
  */
 @Service
 public class PreOrderService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreOrderService.class);
+
     private final ProductCatalogService catalogService;
-    private final Map<String, Integer> reservedSlots = new ConcurrentHashMap<>();
+    private final FlashSaleProperties flashSale;
+    private final Clock clock;
+    private final Map<String, PreOrderSlots> slotsByProduct = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Set<String>> openProductsByReleaseDate = new ConcurrentSkipListMap<>();
 
     /**
      * Constructs a PreOrderService with the given ProductCatalogService.
@@ -29,7 +51,31 @@ public class PreOrderService {
      * @param catalogService the product catalog service
      */
     public PreOrderService(ProductCatalogService catalogService) {
+        this(catalogService, FlashSaleProperties.disabled());
+    }
+
+    /**
+     * Constructs a PreOrderService with the configured flash-sale SKUs.
+     *
+     * @param catalogService the product catalog service
+     * @param flashSale      the flash-sale configuration
+     */
+    @Autowired
+    public PreOrderService(ProductCatalogService catalogService, FlashSaleProperties flashSale) {
+        this(catalogService, flashSale, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a PreOrderService with a custom clock.
+     *
+     * @param catalogService the product catalog service
+     * @param flashSale      the flash-sale configuration
+     * @param clock          the clock that defines the current day
+     */
+    PreOrderService(ProductCatalogService catalogService, FlashSaleProperties flashSale, Clock clock) {
         this.catalogService = catalogService;
+        this.flashSale = flashSale;
+        this.clock = clock;
     }
 
     /**
@@ -39,19 +85,13 @@ public class PreOrderService {
      * @param quantity  the quantity of pre-order slots to reserve
      * @throws BusinessException if validation fails
      */
-    public synchronized void validateAndReserve(String productId, int quantity) {
-        ProductInfo info = catalogService.getRequiredProduct(productId);
-
-        LocalDate release = info.getReleaseDate();
-        if (release == null) {
-            throw new BusinessException(
-                    HttpStatus.BAD_REQUEST,
-                    OrderFailureReason.INVALID_RELEASE_DATE.name(),
-                    "Release date not configured for " + productId
-            );
+    public void validateAndReserve(String productId, int quantity) {
+        PreOrderSlots slots = slotsByProduct.get(productId);
+        if (slots == null) {
+            slots = slotsByProduct.computeIfAbsent(productId, this::loadSlots);
         }
 
-        if (!release.isAfter(LocalDate.now())) {
+        if (!slots.isOpen()) {
             throw new BusinessException(
                     HttpStatus.BAD_REQUEST,
                     OrderFailureReason.RELEASE_DATE_PASSED.name(),
@@ -59,24 +99,171 @@ public class PreOrderService {
             );
         }
 
-        Integer totalSlots = info.getPreOrderSlots();
-        if (totalSlots == null || totalSlots <= 0) {
+        if (!slots.tryReserve(quantity)) {
             throw new BusinessException(
                     HttpStatus.BAD_REQUEST,
                     OrderFailureReason.PRE_ORDER_SOLD_OUT.name(),
-                    "No pre-order slots available for " + productId
+                    slots.capacity() > 0
+                            ? "Pre-order slots exceeded for " + productId
+                            : "No pre-order slots available for " + productId
             );
         }
+    }
 
-        int reserved = reservedSlots.getOrDefault(productId, 0);
-        if (reserved + quantity > totalSlots) {
+    /**
+     * Gets the number of slots reserved for a product.
+     *
+     * @param productId the ID of the product
+     * @return the reserved slots, zero if the product was never reserved
+     */
+    public int getReservedSlots(String productId) {
+        PreOrderSlots slots = slotsByProduct.get(productId);
+        return slots != null ? slots.reserved() : 0;
+    }
+
+    /**
+     * Gets the number of slots still open for reservation when it is known exactly.
+     * Flash-sale pools are only exact once sold out: while slots move between sub-pools
+     * their sum can read low, so no value is reported before that.
+     *
+     * @param productId the ID of the product
+     * @return the exact remaining slots, zero once closed, or null if the product was never
+     *         reserved or its slots cannot be read exactly
+     */
+    public Integer exactRemainingSlots(String productId) {
+        PreOrderSlots slots = slotsByProduct.get(productId);
+        if (slots == null) {
+            return null;
+        }
+        if (!slots.isOpen()) {
+            return 0;
+        }
+        return slots.isExact() ? slots.capacity() - slots.reserved() : null;
+    }
+
+    /**
+     * Closes pre-orders for every product whose release date has arrived.
+     * Only the index entries up to today are visited.
+     *
+     * @return the number of products closed
+     */
+    @Scheduled(cron = "${app.pre-orders.close-cron:0 0 0 * * *}")
+    public int closeReleasedProducts() {
+        NavigableMap<LocalDate, Set<String>> released = openProductsByReleaseDate.headMap(LocalDate.now(clock), true);
+        int closed = 0;
+        for (Map.Entry<LocalDate, Set<String>> entry : released.entrySet()) {
+            for (String productId : entry.getValue()) {
+                PreOrderSlots slots = slotsByProduct.get(productId);
+                if (slots != null && slots.close()) {
+                    closed++;
+                }
+            }
+            released.remove(entry.getKey(), entry.getValue());
+        }
+        if (closed > 0) {
+            LOGGER.info("Closed pre-orders for {} released products", closed);
+        }
+        return closed;
+    }
+
+    /**
+     * Reads a product from the catalog and indexes its release date.
+     *
+     * @param productId the ID of the product
+     * @return the slot counter of the product
+     * @throws BusinessException if the release date is not configured
+     */
+    private PreOrderSlots loadSlots(String productId) {
+        ProductInfo info = catalogService.getRequiredProduct(productId);
+
+        LocalDate release = info.getReleaseDate();
+        if (release == null) {
             throw new BusinessException(
                     HttpStatus.BAD_REQUEST,
-                    OrderFailureReason.PRE_ORDER_SOLD_OUT.name(),
-                    "Pre-order slots exceeded for " + productId
+                    OrderFailureReason.INVALID_RELEASE_DATE.name(),
+                    "Release date not configured for " + productId
             );
         }
 
-        reservedSlots.put(productId, reserved + quantity);
+        Integer totalSlots = info.getPreOrderSlots();
+        boolean open = release.isAfter(LocalDate.now(clock));
+        int capacity = totalSlots != null ? Math.max(totalSlots, 0) : 0;
+        StripedStockPool pool = flashSale.isFlashSale(productId)
+                ? new StripedStockPool(capacity, flashSale.resolvedStripes())
+                : null;
+        PreOrderSlots slots = new PreOrderSlots(capacity, pool, open);
+        if (open) {
+            openProductsByReleaseDate.computeIfAbsent(release, date -> ConcurrentHashMap.newKeySet()).add(productId);
+        }
+        return slots;
+    }
+
+    /**
+     * Slot counter of a single pre-order product, striped for flash-sale SKUs.
+     */
+    private static final class PreOrderSlots {
+
+        private final int capacity;
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final StripedStockPool flashSalePool;
+        private volatile boolean open;
+
+        PreOrderSlots(int capacity, StripedStockPool flashSalePool, boolean open) {
+            this.capacity = capacity;
+            this.flashSalePool = flashSalePool;
+            this.open = open;
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        int reserved() {
+            return flashSalePool != null ? capacity - flashSalePool.available() : reserved.get();
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        /**
+         * Tells whether {@link #reserved()} is exact rather than an estimate.
+         *
+         * @return true unless the slots sit in a flash-sale pool that is not sold out
+         */
+        boolean isExact() {
+            return flashSalePool == null || flashSalePool.isSoldOut();
+        }
+
+        /**
+         * Closes the product for new reservations.
+         *
+         * @return true if the product was open
+         */
+        boolean close() {
+            boolean wasOpen = open;
+            open = false;
+            return wasOpen;
+        }
+
+        /**
+         * Reserves slots if enough remain.
+         *
+         * @param quantity the number of slots to reserve
+         * @return true if the slots were reserved
+         */
+        boolean tryReserve(int quantity) {
+            if (flashSalePool != null) {
+                return flashSalePool.tryTake(quantity) >= 0;
+            }
+            int current;
+            do {
+                current = reserved.get();
+                if (current + quantity > capacity) {
+                    return false;
+                }
+            } while (!reserved.compareAndSet(current, current + quantity));
+            return true;
+        }
     }
 }
@@ -0,0 +1,138 @@
+package br.com.loomi.orders.service.supporting;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Stock of a single hot SKU split into per-core sub-pools.
+ *
+ * Each sub-pool is a counter padded to its own cache line, and a thread first draws from
+ * the sub-pool picked by its thread id, so concurrent buyers mostly update different lines.
+ * When the home sub-pool cannot cover a request the thread steals from the others; if no
+ * single sub-pool can, a serialized rebalance drains every sub-pool, serves the request
+ * from the total and spreads the remainder back.
+ *
+ * Stock only ever decreases, and a request is rejected only by the rebalance after it has
+ * drained the whole pool, so sold-out detection is exact and, once reached, permanent.
+ */
+public final class StripedStockPool {
+
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray counters;
+    private final int stripes;
+    private volatile boolean soldOut;
+
+    /**
+     * Splits the initial stock evenly across the sub-pools.
+     *
+     * @param stock   the initial stock
+     * @param stripes the number of sub-pools
+     */
+    public StripedStockPool(int stock, int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        this.stripes = stripes;
+        this.counters = new AtomicIntegerArray(stripes * PADDING);
+        spread(Math.max(stock, 0));
+        this.soldOut = stock <= 0;
+    }
+
+    /**
+     * Takes a quantity of stock if enough remains.
+     * On success the units left in the sub-pool that served the request are returned,
+     * which lets callers skip the full {@link #available()} scan while stock is plentiful.
+     *
+     * @param quantity the quantity to take
+     * @return the units left in the serving sub-pool, or {@code -1} if not enough stock remains
+     */
+    public int tryTake(int quantity) {
+        if (soldOut) {
+            return -1;
+        }
+
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            int left = tryTakeFrom((home + i) % stripes, quantity);
+            if (left >= 0) {
+                return left;
+            }
+        }
+        return rebalanceAndTake(quantity);
+    }
+
+    /**
+     * Sums the sub-pools. The value is exact when no take is in flight.
+     *
+     * @return the remaining stock
+     */
+    public int available() {
+        int total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += counters.get(i * PADDING);
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether the pool has been found empty.
+     *
+     * @return true once every unit has been taken
+     */
+    public boolean isSoldOut() {
+        return soldOut;
+    }
+
+    /**
+     * Gets the number of sub-pools.
+     *
+     * @return the stripe count
+     */
+    public int stripes() {
+        return stripes;
+    }
+
+    private int tryTakeFrom(int stripe, int quantity) {
+        int index = stripe * PADDING;
+        int current;
+        do {
+            current = counters.get(index);
+            if (current < quantity) {
+                return -1;
+            }
+        } while (!counters.compareAndSet(index, current, current - quantity));
+        return current - quantity;
+    }
+
+    private synchronized int rebalanceAndTake(int quantity) {
+        if (soldOut) {
+            return -1;
+        }
+
+        int total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += counters.getAndSet(i * PADDING, 0);
+        }
+
+        boolean taken = total >= quantity;
+        int remaining = taken ? total - quantity : total;
+        spread(remaining);
+        if (remaining == 0) {
+            soldOut = true;
+        }
+        return taken ? remaining / stripes : -1;
+    }
+
+    private void spread(int stock) {
+        int share = stock / stripes;
+        int extra = stock % stripes;
+        for (int i = 0; i < stripes; i++) {
+            counters.addAndGet(i * PADDING, share + (i < extra ? 1 : 0));
+        }
+    }
+
+    private int homeStripe() {
+        long threadId = Thread.currentThread().threadId();
+        return (int) Long.remainderUnsigned(threadId * 0x9E3779B97F4A7C15L, stripes);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.loomi.orders.service.supporting;
+
+/**
+ * Bit flags for subscription plan families that cannot be combined.
+ * A customer's active plans are folded into a single int mask, so a conflict
+ * check is one bit test instead of a scan over plan ids.
+ */
+public final class SubscriptionPlanFamily {
+
+    /**
+     * Plans that do not belong to a restricted family.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * Enterprise plans.
+     */
+    public static final int ENTERPRISE = 1;
+
+    /**
+     * Basic and Premium plans.
+     */
+    public static final int BASIC_OR_PREMIUM = 1 << 1;
+
+    private static final int ENTERPRISE_AND_BASIC_OR_PREMIUM = ENTERPRISE | BASIC_OR_PREMIUM;
+
+    private SubscriptionPlanFamily() {
+    }
+
+    /**
+     * Resolves the family bit of a subscription product.
+     *
+     * @param productId the subscription product identifier
+     * @return the family bit, or {@link #NONE}
+     */
+    public static int of(String productId) {
+        if (productId.startsWith("SUB-ENTERPRISE")) {
+            return ENTERPRISE;
+        }
+        if (productId.startsWith("SUB-BASIC") || productId.startsWith("SUB-PREMIUM")) {
+            return BASIC_OR_PREMIUM;
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns the families that cannot coexist with the given family.
+     *
+     * @param family a family bit
+     * @return the mask of incompatible families
+     */
+    public static int incompatibleWith(int family) {
+        return switch (family) {
+            case ENTERPRISE -> BASIC_OR_PREMIUM;
+            case BASIC_OR_PREMIUM -> ENTERPRISE;
+            default -> NONE;
+        };
+    }
+
+    /**
+     * Checks whether a combined family mask contains incompatible families.
+     *
+     * @param mask the OR of several family bits
+     * @return true if the mask holds Enterprise together with Basic/Premium
+     */
+    public static boolean isConflicting(int mask) {
+        return (mask & ENTERPRISE_AND_BASIC_OR_PREMIUM) == ENTERPRISE_AND_BASIC_OR_PREMIUM;
+    }
+}
@@ -2,13 +2,22 @@ package br.com.loomi.orders.service.supporting;
 
 import br.com.loomi.orders.domain.enums.OrderFailureReason;
 import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for managing customer subscriptions.
@@ -18,28 +27,244 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Maximum of 5 active subscriptions per customer.
  * - Incompatible subscription plans (Enterprise vs Basic/Premium).
  *
+ * Plan ids are interned to small int keys that also carry the plan family bit. Each
+ * customer keeps a sorted int array of active plan keys, their period ends and a bitmask
+ * of their plan families, so the incompatibility check is a single bit test.
+ *
+ * Subscriptions last one billing period and can be renewed or cancelled. Period ends are
+ * tracked in a {@link HashedTimingWheel}, so each expiry pass only touches subscriptions
+ * that are due. Customers without active subscriptions are dropped from the index.
+ *
  * @since 1.0.0
  * @author ChatGPT
  */
 @Service
 public class SubscriptionService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionService.class);
+
     private static final int MAX_ACTIVE_SUBSCRIPTIONS = 5;
+    private static final int FAMILY_BITS = 2;
+    private static final int FAMILY_MASK = (1 << FAMILY_BITS) - 1;
+    private static final String ERROR_SUBSCRIPTION_NOT_ACTIVE_CODE = "SUBSCRIPTION_NOT_ACTIVE";
 
-    private final Map<String, Set<String>> activeSubscriptionsByCustomer = new ConcurrentHashMap<>();
+    private final OrderMetricsService metricsService;
+    private final Clock clock;
+    private final Duration period;
+    private final HashedTimingWheel<ScheduledExpiry> expiryWheel;
+    private final Map<String, Integer> planKeysByProductId = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPlanId = new AtomicInteger();
+    private final Map<String, ActiveSubscriptions> activeSubscriptionsByCustomer = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the service with the configured period and expiry wheel.
+     *
+     * @param metricsService the metrics service
+     * @param periodDays     length of a subscription period in days
+     * @param tickMillis     granularity of the expiry wheel
+     * @param wheelSize      number of buckets of the expiry wheel, a power of two
+     */
+    @Autowired
+    public SubscriptionService(
+            OrderMetricsService metricsService,
+            @Value("${app.subscriptions.period-days:30}") int periodDays,
+            @Value("${app.subscriptions.expiry.tick-ms:60000}") long tickMillis,
+            @Value("${app.subscriptions.expiry.wheel-size:65536}") int wheelSize
+    ) {
+        this(metricsService, Clock.systemUTC(), Duration.ofDays(periodDays), Duration.ofMillis(tickMillis), wheelSize);
+    }
 
     /**
-     * Validates and activates a subscription for a customer.
+     * Constructs the service with a custom clock.
+     *
+     * @param metricsService the metrics service
+     * @param clock          the clock used for period ends and expiry
+     * @param period         length of a subscription period
+     * @param tick           granularity of the expiry wheel
+     * @param wheelSize      number of buckets of the expiry wheel, a power of two
+     */
+    SubscriptionService(OrderMetricsService metricsService, Clock clock, Duration period, Duration tick, int wheelSize) {
+        this.metricsService = metricsService;
+        this.clock = clock;
+        this.period = period;
+        this.expiryWheel = new HashedTimingWheel<>(tick, wheelSize, clock.instant());
+    }
+
+    /**
+     * Validates and activates a subscription for a customer for one period.
+     * Validation and activation run as one atomic update of the customer's entry,
+     * so different customers are activated concurrently without a shared lock.
      *
      * @param customerId the ID of the customer
      * @param productId  the ID of the product to subscribe to
      * @throws BusinessException if any business rule is violated
      */
-    public synchronized void validateAndActivate(String customerId, String productId) {
-        Set<String> active = activeSubscriptionsByCustomer
-                .computeIfAbsent(customerId, k -> new HashSet<>());
+    public void validateAndActivate(String customerId, String productId) {
+        int planKey = planKey(productId);
+        long expiresAt = clock.instant().plus(period).toEpochMilli();
+
+        activeSubscriptionsByCustomer.compute(customerId, (id, current) -> {
+            ActiveSubscriptions active = current != null ? current : ActiveSubscriptions.EMPTY;
+            validate(customerId, productId, planKey, active);
+            return active.with(planKey, expiresAt);
+        });
+
+        expiryWheel.schedule(new ScheduledExpiry(customerId, planKey, expiresAt), Instant.ofEpochMilli(expiresAt));
+        metricsService.recordSubscriptionEvent("activated", 1);
+    }
+
+    /**
+     * Extends an active subscription by one period, counted from its current period end.
+     *
+     * @param customerId the ID of the customer
+     * @param productId  the ID of the subscribed product
+     * @return the new period end
+     * @throws BusinessException if the subscription is not active
+     */
+    public Instant renew(String customerId, String productId) {
+        int planKey = requireInterned(customerId, productId);
+        long[] renewedUntil = new long[1];
+
+        activeSubscriptionsByCustomer.compute(customerId, (id, active) -> {
+            int index = active != null ? active.indexOf(planKey) : -1;
+            if (index < 0) {
+                throw notActive(customerId, productId);
+            }
+            long from = Math.max(active.expiresAt()[index], clock.millis());
+            renewedUntil[0] = Instant.ofEpochMilli(from).plus(period).toEpochMilli();
+            return active.withExpiry(index, renewedUntil[0]);
+        });
+
+        Instant periodEnd = Instant.ofEpochMilli(renewedUntil[0]);
+        expiryWheel.schedule(new ScheduledExpiry(customerId, planKey, renewedUntil[0]), periodEnd);
+        metricsService.recordSubscriptionEvent("renewed", 1);
+        return periodEnd;
+    }
+
+    /**
+     * Cancels an active subscription immediately, freeing its slot.
+     *
+     * @param customerId the ID of the customer
+     * @param productId  the ID of the subscribed product
+     * @throws BusinessException if the subscription is not active
+     */
+    public void cancel(String customerId, String productId) {
+        int planKey = requireInterned(customerId, productId);
+
+        activeSubscriptionsByCustomer.compute(customerId, (id, active) -> {
+            int index = active != null ? active.indexOf(planKey) : -1;
+            if (index < 0) {
+                throw notActive(customerId, productId);
+            }
+            return active.without(index);
+        });
+
+        metricsService.recordSubscriptionEvent("cancelled", 1);
+    }
+
+    /**
+     * Deactivates every subscription whose period has ended.
+     * Only the wheel buckets of the elapsed ticks are visited, so the cost is proportional
+     * to the subscriptions due in that window. Entries left behind by renewals or
+     * cancellations are discarded when they come due.
+     *
+     * @return the number of deactivated subscriptions
+     */
+    @Scheduled(fixedDelayString = "${app.subscriptions.expiry.tick-ms:60000}")
+    public int expireDue() {
+        int[] expired = new int[1];
+        expiryWheel.advance(clock.instant(), expiry -> {
+            if (expire(expiry)) {
+                expired[0]++;
+            }
+        });
+
+        if (expired[0] > 0) {
+            metricsService.recordSubscriptionEvent("expired", expired[0]);
+            LOGGER.info("Expired {} subscriptions", expired[0]);
+        }
+        return expired[0];
+    }
+
+    /**
+     * Gets the number of active subscriptions of a customer.
+     *
+     * @param customerId the ID of the customer
+     * @return the active subscription count
+     */
+    public int getActiveSubscriptionCount(String customerId) {
+        ActiveSubscriptions active = activeSubscriptionsByCustomer.get(customerId);
+        return active != null ? active.planKeys().length : 0;
+    }
+
+    /**
+     * Gets the number of customers with at least one active subscription.
+     *
+     * @return the active customer count
+     */
+    public int getActiveCustomerCount() {
+        return activeSubscriptionsByCustomer.size();
+    }
+
+    /**
+     * Removes the subscription referenced by a due wheel entry if its period end
+     * has not been moved by a renewal in the meantime.
+     *
+     * @param expiry the due wheel entry
+     * @return true if the subscription was deactivated
+     */
+    private boolean expire(ScheduledExpiry expiry) {
+        boolean[] removed = new boolean[1];
+        activeSubscriptionsByCustomer.computeIfPresent(expiry.customerId(), (id, active) -> {
+            int index = active.indexOf(expiry.planKey());
+            if (index < 0 || active.expiresAt()[index] != expiry.expiresAt()) {
+                return active;
+            }
+            removed[0] = true;
+            return active.without(index);
+        });
+        return removed[0];
+    }
 
-        if (active.contains(productId)) {
+    /**
+     * Interns a subscription product into a small int key: the plan id in the upper
+     * bits and the plan family bit in the lower bits.
+     *
+     * @param productId the subscription product identifier
+     * @return the interned plan key
+     */
+    private int planKey(String productId) {
+        return planKeysByProductId.computeIfAbsent(productId,
+                p -> (nextPlanId.getAndIncrement() << FAMILY_BITS) | SubscriptionPlanFamily.of(p));
+    }
+
+    private int requireInterned(String customerId, String productId) {
+        Integer planKey = planKeysByProductId.get(productId);
+        if (planKey == null) {
+            throw notActive(customerId, productId);
+        }
+        return planKey;
+    }
+
+    private static BusinessException notActive(String customerId, String productId) {
+        return new BusinessException(
+                HttpStatus.NOT_FOUND,
+                ERROR_SUBSCRIPTION_NOT_ACTIVE_CODE,
+                "Customer %s has no active subscription for %s".formatted(customerId, productId)
+        );
+    }
+
+    /**
+     * Checks the activation rules against the customer's current subscriptions.
+     *
+     * @param customerId the ID of the customer
+     * @param productId  the ID of the product to subscribe to
+     * @param planKey    the interned key of the product
+     * @param active     the customer's active subscriptions
+     * @throws BusinessException if any business rule is violated
+     */
+    private static void validate(String customerId, String productId, int planKey, ActiveSubscriptions active) {
+        if (active.indexOf(planKey) >= 0) {
             throw new BusinessException(
                     HttpStatus.BAD_REQUEST,
                     OrderFailureReason.DUPLICATE_ACTIVE_SUBSCRIPTION.name(),
@@ -48,7 +273,7 @@ public class SubscriptionService {
             );
         }
 
-        if (active.size() >= MAX_ACTIVE_SUBSCRIPTIONS) {
+        if (active.planKeys().length >= MAX_ACTIVE_SUBSCRIPTIONS) {
             throw new BusinessException(
                     HttpStatus.BAD_REQUEST,
                     OrderFailureReason.SUBSCRIPTION_LIMIT_EXCEEDED.name(),
@@ -57,23 +282,82 @@ public class SubscriptionService {
             );
         }
 
-        boolean isEnterprise = productId.startsWith("SUB-ENTERPRISE");
-        boolean isBasicOrPremium = productId.startsWith("SUB-BASIC") || productId.startsWith("SUB-PREMIUM");
-
-        boolean hasEnterprise = active.stream()
-                .anyMatch(p -> p.startsWith("SUB-ENTERPRISE"));
-
-        boolean hasBasicOrPremium = active.stream()
-                .anyMatch(p -> p.startsWith("SUB-BASIC") || p.startsWith("SUB-PREMIUM"));
-
-        if ((isEnterprise && hasBasicOrPremium) || (isBasicOrPremium && hasEnterprise)) {
+        if ((active.familyMask() & SubscriptionPlanFamily.incompatibleWith(planKey & FAMILY_MASK)) != 0) {
             throw new BusinessException(
                     HttpStatus.BAD_REQUEST,
                     OrderFailureReason.INCOMPATIBLE_SUBSCRIPTIONS.name(),
                     "Incompatible subscription plans for customer %s".formatted(customerId)
             );
         }
+    }
 
-        active.add(productId);
+    /**
+     * A period end registered in the expiry wheel.
+     *
+     * @param customerId the subscribed customer
+     * @param planKey    the interned plan key
+     * @param expiresAt  the period end in epoch millis at scheduling time
+     */
+    private record ScheduledExpiry(String customerId, int planKey, long expiresAt) {
+    }
+
+    /**
+     * Immutable snapshot of a customer's active plans.
+     *
+     * @param planKeys   sorted keys of the active plans
+     * @param expiresAt  period end of each plan in epoch millis, parallel to {@code planKeys}
+     * @param familyMask OR of the family bits of the active plans
+     */
+    private record ActiveSubscriptions(int[] planKeys, long[] expiresAt, int familyMask) {
+
+        private static final ActiveSubscriptions EMPTY =
+                new ActiveSubscriptions(new int[0], new long[0], SubscriptionPlanFamily.NONE);
+
+        int indexOf(int planKey) {
+            return Arrays.binarySearch(planKeys, planKey);
+        }
+
+        ActiveSubscriptions with(int planKey, long periodEnd) {
+            int insertAt = -(indexOf(planKey) + 1);
+            int size = planKeys.length;
+            int[] keys = new int[size + 1];
+            long[] ends = new long[size + 1];
+            System.arraycopy(planKeys, 0, keys, 0, insertAt);
+            System.arraycopy(expiresAt, 0, ends, 0, insertAt);
+            keys[insertAt] = planKey;
+            ends[insertAt] = periodEnd;
+            System.arraycopy(planKeys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(expiresAt, insertAt, ends, insertAt + 1, size - insertAt);
+            return new ActiveSubscriptions(keys, ends, familyMask | (planKey & FAMILY_MASK));
+        }
+
+        ActiveSubscriptions withExpiry(int index, long periodEnd) {
+            long[] ends = expiresAt.clone();
+            ends[index] = periodEnd;
+            return new ActiveSubscriptions(planKeys, ends, familyMask);
+        }
+
+        /**
+         * Removes the plan at {@code index}.
+         *
+         * @return the remaining plans, or null when none remain so the customer leaves the index
+         */
+        ActiveSubscriptions without(int index) {
+            int size = planKeys.length;
+            if (size == 1) {
+                return null;
+            }
+            int[] keys = new int[size - 1];
+            long[] ends = new long[size - 1];
+            System.arraycopy(planKeys, 0, keys, 0, index);
+            System.arraycopy(expiresAt, 0, ends, 0, index);
+            System.arraycopy(planKeys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(expiresAt, index + 1, ends, index, size - index - 1);
+            int mask = SubscriptionPlanFamily.NONE;
+            for (int key : keys) {
+                mask |= key & FAMILY_MASK;
+            }
+            return new ActiveSubscriptions(keys, ends, mask);
+        }
     }
 }
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset dev:1.1.0-01-create-processed-events
+--comment: Create processed_events table used to deduplicate consumed events
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_id UUID PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    processed_at TIMESTAMP NOT NULL
+    );
+
+-- Supports TTL cleanup of old entries
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at ON processed_events(processed_at);
+
+--rollback DROP TABLE IF EXISTS processed_events;
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset dev:1.1.0-02-add-order-version
+--comment: Add optimistic locking version column to orders
+ALTER TABLE orders
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE orders DROP COLUMN IF EXISTS version;
@@ -87,7 +87,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -111,7 +111,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -136,7 +136,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -160,7 +160,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -187,7 +187,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -217,7 +217,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -241,7 +241,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response1 = restTemplate.postForEntity(
                     "/api/orders", req1, CreateOrderResponse.class);
 
-            Long orderId1 = response1.getBody().getOrderId();
+            Long orderId1 = response1.getBody().orderId();
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId1).orElseThrow();
                 assertThat(order.getStatus()).isEqualTo(OrderStatus.PROCESSED);
@@ -258,7 +258,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response2 = restTemplate.postForEntity(
                     "/api/orders", req2, CreateOrderResponse.class);
 
-            Long orderId2 = response2.getBody().getOrderId();
+            Long orderId2 = response2.getBody().orderId();
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId2).orElseThrow();
                 assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
@@ -284,7 +284,7 @@ class ComprehensiveRequirementsTest {
                 ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                         "/api/orders", req, CreateOrderResponse.class);
 
-                Long orderId = response.getBody().getOrderId();
+                Long orderId = response.getBody().orderId();
                 await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> {
                     var order = orderRepository.findById(orderId).orElseThrow();
                     assertThat(order.getStatus()).isIn(OrderStatus.PROCESSED, OrderStatus.FAILED);
@@ -308,7 +308,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response6 = restTemplate.postForEntity(
                     "/api/orders", req6, CreateOrderResponse.class);
 
-            Long orderId6 = response6.getBody().getOrderId();
+            Long orderId6 = response6.getBody().orderId();
             await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId6).orElseThrow();
                 assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
@@ -335,7 +335,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -365,7 +365,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -389,7 +389,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -414,7 +414,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response1 = restTemplate.postForEntity(
                     "/api/orders", req1, CreateOrderResponse.class);
 
-            Long orderId1 = response1.getBody().getOrderId();
+            Long orderId1 = response1.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId1).orElseThrow();
@@ -441,7 +441,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response2 = restTemplate.postForEntity(
                     "/api/orders", req2, CreateOrderResponse.class);
 
-            Long orderId2 = response2.getBody().getOrderId();
+            Long orderId2 = response2.getBody().orderId();
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId2).orElseThrow();
                 assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
@@ -465,7 +465,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -497,7 +497,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -521,7 +521,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -546,7 +546,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -567,7 +567,7 @@ class ComprehensiveRequirementsTest {
             item.setProductId("CORP-LICENSE-ENT");
             item.setQuantity(1);
             item.setMetadata(Map.of(
-                    "cnpj", "12.345.678/0001-90",
+                    "cnpj", "12.345.678/0001-95",
                     "paymentTerms", "NET_30"
             ));
 
@@ -579,7 +579,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -603,7 +603,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -631,7 +631,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -647,7 +647,7 @@ class ComprehensiveRequirementsTest {
             item.setProductId("CORP-CHAIR-ERG-001");
             item.setQuantity(100);
             item.setMetadata(Map.of(
-                    "cnpj", "98.765.432/0001-11",
+                    "cnpj", "98.765.432/0001-98",
                     "paymentTerms", "NET_60"
             ));
 
@@ -659,7 +659,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -674,7 +674,7 @@ class ComprehensiveRequirementsTest {
             item.setProductId("CORP-CHAIR-ERG-001");
             item.setQuantity(150);
             item.setMetadata(Map.of(
-                    "cnpj", "11.222.333/0001-44",
+                    "cnpj", "11.222.333/0001-81",
                     "paymentTerms", "NET_90"
             ));
 
@@ -686,7 +686,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -703,7 +703,7 @@ class ComprehensiveRequirementsTest {
             item1.setProductId("CORP-LICENSE-ENT");
             item1.setQuantity(5);
             item1.setMetadata(Map.of(
-                    "cnpj", "55.666.777/0001-88",
+                    "cnpj", "55.666.777/0001-81",
                     "paymentTerms", "NET_60"
             ));
 
@@ -714,7 +714,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response1 = restTemplate.postForEntity(
                     "/api/orders", req1, CreateOrderResponse.class);
 
-            Long orderId1 = response1.getBody().getOrderId();
+            Long orderId1 = response1.getBody().orderId();
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId1).orElseThrow();
                 assertThat(order.getStatus()).isIn(OrderStatus.PROCESSED, OrderStatus.PENDING_APPROVAL);
@@ -724,7 +724,7 @@ class ComprehensiveRequirementsTest {
             item2.setProductId("CORP-LICENSE-ENT");
             item2.setQuantity(3);
             item2.setMetadata(Map.of(
-                    "cnpj", "55.666.777/0001-88",
+                    "cnpj", "55.666.777/0001-81",
                     "paymentTerms", "NET_60"
             ));
 
@@ -735,7 +735,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response2 = restTemplate.postForEntity(
                     "/api/orders", req2, CreateOrderResponse.class);
 
-            Long orderId2 = response2.getBody().getOrderId();
+            Long orderId2 = response2.getBody().orderId();
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId2).orElseThrow();
                 assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
@@ -764,7 +764,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            assertThat(response.getBody().getTotalAmount())
+            assertThat(response.getBody().totalAmount())
                     .isGreaterThan(java.math.BigDecimal.valueOf(10_000));
         }
 
@@ -784,7 +784,7 @@ class ComprehensiveRequirementsTest {
                 ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                         "/api/orders", req, CreateOrderResponse.class);
 
-                Long orderId = response.getBody().getOrderId();
+                Long orderId = response.getBody().orderId();
 
                 await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> {
                     var order = orderRepository.findById(orderId).orElseThrow();
@@ -820,7 +820,7 @@ class ComprehensiveRequirementsTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            assertThat(response.getBody().getStatus()).isEqualTo(OrderStatus.PENDING);
+            assertThat(response.getBody().status()).isEqualTo(OrderStatus.PENDING);
         }
 
         @Test
@@ -837,7 +837,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                     "/api/orders", req, CreateOrderResponse.class);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -860,7 +860,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                     "/api/orders", req, CreateOrderResponse.class);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -875,7 +875,7 @@ class ComprehensiveRequirementsTest {
             item.setProductId("CORP-CHAIR-ERG-001");
             item.setQuantity(120);
             item.setMetadata(Map.of(
-                    "cnpj", "99.888.777/0001-66",
+                    "cnpj", "99.888.777/0001-00",
                     "paymentTerms", "NET_60"
             ));
 
@@ -886,7 +886,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                     "/api/orders", req, CreateOrderResponse.class);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -913,7 +913,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                     "/api/orders", req, CreateOrderResponse.class);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -943,7 +943,7 @@ class ComprehensiveRequirementsTest {
             ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                     "/api/orders", req, CreateOrderResponse.class);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -0,0 +1,162 @@
+package br.com.loomi.orders;
+
+import br.com.loomi.orders.domain.dto.CreateOrderItemRequest;
+import br.com.loomi.orders.domain.dto.CreateOrderRequest;
+import br.com.loomi.orders.domain.dto.CreateOrderResponse;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.persistence.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the JDBC bulk writer against PostgreSQL and reads the imported orders back through JPA.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class OrderBulkImportIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("orders_db")
+            .withUsername("orders")
+            .withPassword("orders");
+
+    @Container
+    @SuppressWarnings("java:S1874")
+    static KafkaContainer kafka = new KafkaContainer(
+            DockerImageName.parse("confluentinc/cp-kafka:7.6.0"));
+
+    @DynamicPropertySource
+    static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should persist imported orders that JPA reads back with ids, timestamps, version and metadata")
+    void shouldImportOrdersReadableThroughJpa() throws Exception {
+        Instant before = Instant.now();
+        String upload = String.join("\n",
+                "{\"customerId\":\"customer-bulk-1\",\"items\":[{\"productId\":\"BOOK-CC-001\",\"quantity\":2,"
+                        + "\"metadata\":{\"warehouseLocation\":\"SP\",\"giftWrap\":true}}]}",
+                "{\"customerId\":\"customer-bulk-2\",\"items\":[]}",
+                "{\"customerId\":\"customer-bulk-3\",\"items\":[{\"productId\":\"BOOK-CC-001\",\"quantity\":1},"
+                        + "{\"productId\":\"EBOOK-JAVA-001\",\"quantity\":1}]}") + "\n";
+
+        List<JsonNode> lines = importOrders(upload);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("CREATED");
+        assertThat(lines.get(1).get("status").asText()).isEqualTo("REJECTED");
+        assertThat(lines.get(2).get("status").asText()).isEqualTo("CREATED");
+        assertThat(lines.get(3).get("created").asLong()).isEqualTo(2);
+        long firstId = lines.get(0).get("orderId").asLong();
+        long secondId = lines.get(2).get("orderId").asLong();
+        assertThat(secondId).isGreaterThan(firstId);
+
+        Order first = orderRepository.findById(firstId).orElseThrow();
+        assertThat(first.getCustomerId()).isEqualTo("customer-bulk-1");
+        assertThat(first.getTotalAmount()).isEqualByComparingTo(lines.get(0).get("totalAmount").decimalValue());
+        assertThat(first.getCreatedAt()).isBetween(before.minusSeconds(1), Instant.now());
+        assertThat(first.getUpdatedAt()).isAfterOrEqualTo(first.getCreatedAt());
+        assertThat(first.getVersion()).isNotNull().isGreaterThanOrEqualTo(0L);
+        assertThat(first.getItems()).hasSize(1);
+        OrderItem item = first.getItems().get(0);
+        assertThat(item.getProductType()).isEqualTo(ProductType.PHYSICAL);
+        assertThat(item.getQuantity()).isEqualTo(2);
+        assertThat(item.getMetadata()).containsEntry("warehouseLocation", "SP").containsEntry("giftWrap", true);
+
+        Order second = orderRepository.findById(secondId).orElseThrow();
+        assertThat(second.getItems()).extracting(OrderItem::getProductId)
+                .containsExactlyInAnyOrder("BOOK-CC-001", "EBOOK-JAVA-001");
+    }
+
+    @Test
+    @DisplayName("Imported orders should go through processing and keep the id sequence shared with JPA inserts")
+    void importedOrdersShouldBeProcessedAndShareTheSequence() throws Exception {
+        List<JsonNode> lines = importOrders(
+                "{\"customerId\":\"customer-bulk-4\",\"items\":[{\"productId\":\"BOOK-CC-001\",\"quantity\":1}]}\n");
+        long importedId = lines.get(0).get("orderId").asLong();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            Order order = orderRepository.findById(importedId).orElseThrow();
+            assertThat(order.getStatus()).isIn(OrderStatus.PROCESSED, OrderStatus.FAILED);
+            assertThat(order.getVersion()).isGreaterThan(0L);
+        });
+
+        CreateOrderItemRequest item = new CreateOrderItemRequest();
+        item.setProductId("BOOK-CC-001");
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId("customer-bulk-4");
+        request.setItems(List.of(item));
+        ResponseEntity<CreateOrderResponse> created = restTemplate.postForEntity(
+                "/api/orders", request, CreateOrderResponse.class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody()).isNotNull();
+        assertThat(created.getBody().orderId()).isGreaterThan(importedId);
+    }
+
+    private List<JsonNode> importOrders(String upload) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/api/orders/bulk", new HttpEntity<>(upload, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
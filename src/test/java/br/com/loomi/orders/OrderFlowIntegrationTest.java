@@ -85,9 +85,9 @@ class OrderFlowIntegrationTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
             assertThat(response.getBody()).isNotNull();
-            assertThat(response.getBody().getStatus()).isEqualTo(OrderStatus.PENDING);
+            assertThat(response.getBody().status()).isEqualTo(OrderStatus.PENDING);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -111,7 +111,7 @@ class OrderFlowIntegrationTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
             assertThat(response.getBody()).isNotNull();
-            assertThat(response.getBody().getTotalAmount())
+            assertThat(response.getBody().totalAmount())
                     .isEqualByComparingTo("269.70");
         }
     }
@@ -138,7 +138,7 @@ class OrderFlowIntegrationTest {
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
             assertThat(response.getBody()).isNotNull();
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -166,7 +166,7 @@ class OrderFlowIntegrationTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -197,7 +197,7 @@ class OrderFlowIntegrationTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -217,7 +217,7 @@ class OrderFlowIntegrationTest {
             item.setProductId("CORP-CHAIR-ERG-001");
             item.setQuantity(50);
             item.setMetadata(Map.of(
-                    "cnpj", "12.345.678/0001-90",
+                    "cnpj", "12.345.678/0001-95",
                     "paymentTerms", "NET_60",
                     "purchaseOrder", "PO-2025-001"
             ));
@@ -231,7 +231,7 @@ class OrderFlowIntegrationTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -250,7 +250,7 @@ class OrderFlowIntegrationTest {
             item.setProductId("CORP-CHAIR-ERG-001");
             item.setQuantity(150);
             item.setMetadata(Map.of(
-                    "cnpj", "12.345.678/0001-90",
+                    "cnpj", "12.345.678/0001-95",
                     "paymentTerms", "NET_30"
             ));
 
@@ -262,7 +262,7 @@ class OrderFlowIntegrationTest {
                     "/api/orders", req, CreateOrderResponse.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            assertThat(response.getBody().getTotalAmount())
+            assertThat(response.getBody().totalAmount())
                     .isEqualByComparingTo("134850.00");
         }
 
@@ -283,7 +283,7 @@ class OrderFlowIntegrationTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -380,7 +380,7 @@ class OrderFlowIntegrationTest {
             ResponseEntity<CreateOrderResponse> createResponse = restTemplate.postForEntity(
                     "/api/orders", req, CreateOrderResponse.class);
 
-            Long orderId = createResponse.getBody().getOrderId();
+            Long orderId = createResponse.getBody().orderId();
 
             ResponseEntity<OrderDetailResponse> getResponse = restTemplate.getForEntity(
                     "/api/orders/" + orderId, OrderDetailResponse.class);
@@ -445,7 +445,7 @@ class OrderFlowIntegrationTest {
             ResponseEntity<CreateOrderResponse> response = restTemplate.postForEntity(
                     "/api/orders", req, CreateOrderResponse.class);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -493,7 +493,7 @@ class OrderFlowIntegrationTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
 
-            Long orderId = response.getBody().getOrderId();
+            Long orderId = response.getBody().orderId();
 
             await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
                 var order = orderRepository.findById(orderId).orElseThrow();
@@ -0,0 +1,169 @@
+package br.com.loomi.orders;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.persistence.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Affected-row semantics of the guarded status transitions and the optimistic lock on orders.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class OrderStatusTransitionIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("orders_db")
+            .withUsername("orders")
+            .withPassword("orders");
+
+    @DynamicPropertySource
+    static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should move a PENDING order and bump its version")
+    void shouldTransitionPendingOrder() {
+        Order order = orderRepository.saveAndFlush(pendingOrder());
+        Long version = order.getVersion();
+
+        int updated = orderRepository.markProcessed(order.getId(), OrderStatus.PENDING, Instant.now());
+
+        Order reloaded = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.PROCESSED);
+        assertThat(reloaded.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("Should write the failure reason and message with each guarded update")
+    void shouldWriteFailureDetails() {
+        Order failed = orderRepository.saveAndFlush(pendingOrder());
+        Order approval = orderRepository.saveAndFlush(pendingOrder());
+
+        assertThat(orderRepository.markFailed(failed.getId(), OrderStatus.PENDING,
+                OrderFailureReason.OUT_OF_STOCK, "Not enough stock", Instant.now())).isEqualTo(1);
+        assertThat(orderRepository.markPendingApproval(approval.getId(), OrderStatus.PENDING,
+                "Corporate order above approval threshold", Instant.now())).isEqualTo(1);
+
+        Order reloadedFailed = orderRepository.findById(failed.getId()).orElseThrow();
+        assertThat(reloadedFailed.getStatus()).isEqualTo(OrderStatus.FAILED);
+        assertThat(reloadedFailed.getFailureReason()).isEqualTo(OrderFailureReason.OUT_OF_STOCK);
+        assertThat(reloadedFailed.getFailureMessage()).isEqualTo("Not enough stock");
+        Order reloadedApproval = orderRepository.findById(approval.getId()).orElseThrow();
+        assertThat(reloadedApproval.getStatus()).isEqualTo(OrderStatus.PENDING_APPROVAL);
+        assertThat(reloadedApproval.getFailureReason()).isEqualTo(OrderFailureReason.PENDING_MANUAL_APPROVAL);
+    }
+
+    @Test
+    @DisplayName("Should affect no row and keep the version when the order is no longer PENDING")
+    void shouldNotTouchNonPendingOrder() {
+        Order order = orderRepository.saveAndFlush(pendingOrder());
+        orderRepository.markPendingApproval(order.getId(), OrderStatus.PENDING, "Needs approval", Instant.now());
+        Long version = orderRepository.findById(order.getId()).orElseThrow().getVersion();
+
+        assertThat(orderRepository.markProcessed(order.getId(), OrderStatus.PENDING, Instant.now())).isZero();
+        assertThat(orderRepository.markFailed(order.getId(), OrderStatus.PENDING,
+                OrderFailureReason.PAYMENT_FAILED, "Payment failed", Instant.now())).isZero();
+
+        Order reloaded = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.PENDING_APPROVAL);
+        assertThat(reloaded.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Should reject saving a copy loaded before a guarded update")
+    void shouldRejectStaleCopy() {
+        Order stale = orderRepository.saveAndFlush(pendingOrder());
+        orderRepository.markProcessed(stale.getId(), OrderStatus.PENDING, Instant.now());
+
+        stale.markFailed(OrderFailureReason.PAYMENT_FAILED, "Late write");
+
+        assertThatThrownBy(() -> orderRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Of a processor and a manual approval racing on the same order, exactly one should win")
+    void shouldLetOnlyOneConcurrentTransitionWin() throws Exception {
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        Order order = transactions.execute(status -> orderRepository.saveAndFlush(pendingOrder()));
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            CompletableFuture<Integer> processor = CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(start);
+                return transactions.execute(status ->
+                        orderRepository.markProcessed(order.getId(), OrderStatus.PENDING, Instant.now()));
+            });
+            CompletableFuture<Integer> approval = CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(start);
+                return transactions.execute(status -> orderRepository.markPendingApproval(
+                        order.getId(), OrderStatus.PENDING, "Needs approval", Instant.now()));
+            });
+            start.countDown();
+
+            int processed = processor.get(10, TimeUnit.SECONDS);
+            int pendingApproval = approval.get(10, TimeUnit.SECONDS);
+
+            assertThat(processed + pendingApproval).isEqualTo(1);
+            Order reloaded = orderRepository.findById(order.getId()).orElseThrow();
+            assertThat(reloaded.getStatus())
+                    .isEqualTo(processed == 1 ? OrderStatus.PROCESSED : OrderStatus.PENDING_APPROVAL);
+            assertThat(reloaded.getVersion()).isEqualTo(order.getVersion() + 1);
+        } finally {
+            orderRepository.deleteById(order.getId());
+        }
+    }
+
+    private static Order pendingOrder() {
+        Order order = new Order();
+        order.setCustomerId("customer-transitions");
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.markPending();
+        return order;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
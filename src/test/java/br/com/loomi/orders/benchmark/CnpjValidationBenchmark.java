@@ -0,0 +1,37 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.service.supporting.Cnpj;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * CNPJ validation: the previous format-only regex match versus the single-pass validator
+ * that also verifies both check digits. Run with {@code -prof gc} to compare allocations.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=CnpjValidationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CnpjValidationBenchmark {
+
+    private static final Pattern CNPJ_PATTERN = Pattern.compile("\\d{2}\\.\\d{3}\\.\\d{3}/\\d{4}-\\d{2}");
+
+    @Param({"12.345.678/0001-95", "12345678000195"})
+    private String cnpj;
+
+    @Benchmark
+    public boolean regexFormatOnly() {
+        return CNPJ_PATTERN.matcher(cnpj).matches();
+    }
+
+    @Benchmark
+    public boolean checkDigitValidator() {
+        return Cnpj.isValid(cnpj);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.supporting.CorporateCreditService;
+import br.com.loomi.orders.service.supporting.SubscriptionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the customer-scoped services at 1, 8 and 64 threads over 10k customers.
+ * With per-customer atomic updates the throughput should grow with the thread count
+ * up to the number of available cores.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=CustomerScopedServicesBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerScopedServicesBenchmark {
+
+    private static final int CUSTOMERS = 10_000;
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+
+    private CorporateCreditService creditService;
+    private SubscriptionService subscriptionService;
+    private String[] customerIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        creditService = new CorporateCreditService();
+        subscriptionService = new SubscriptionService(
+                new OrderMetricsService(new SimpleMeterRegistry()), 30, 60_000, 65_536);
+        customerIds = new String[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customerIds[i] = "customer-" + i;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void creditReserve01Thread() {
+        reserveCredit();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void creditReserve08Threads() {
+        reserveCredit();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void creditReserve64Threads() {
+        reserveCredit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean subscriptionActivate01Thread() {
+        return activateSubscription();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean subscriptionActivate08Threads() {
+        return activateSubscription();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean subscriptionActivate64Threads() {
+        return activateSubscription();
+    }
+
+    private void reserveCredit() {
+        try {
+            creditService.validateAndReserve(randomCustomer(), AMOUNT);
+        } catch (BusinessException ignored) {
+            // limit reached for this customer, still a measured operation
+        }
+    }
+
+    private boolean activateSubscription() {
+        try {
+            subscriptionService.validateAndActivate(randomCustomer(),
+                    "SUB-ADDON-" + ThreadLocalRandom.current().nextInt(8));
+            return true;
+        } catch (BusinessException ex) {
+            return false;
+        }
+    }
+
+    private String randomCustomer() {
+        return customerIds[ThreadLocalRandom.current().nextInt(CUSTOMERS)];
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.service.processing.CustomerWorkQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the per-customer work queue when the load is spread over many
+ * customers versus concentrated on a few hot ones.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=CustomerWorkQueueBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerWorkQueueBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final long TASK_CPU_TOKENS = 2_000;
+
+    @Param({"10000", "4"})
+    private int customers;
+
+    @Param({"8"})
+    private int threads;
+
+    private CustomerWorkQueue queue;
+    private String[] customerIds;
+
+    @Setup
+    public void setUp() {
+        queue = new CustomerWorkQueue(threads);
+        customerIds = new String[customers];
+        for (int i = 0; i < customers; i++) {
+            customerIds[i] = "customer-" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        queue.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void processBatch() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            futures[i] = queue.submit(customerIds[i % customers], () -> Blackhole.consumeCPU(TASK_CPU_TOKENS));
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.config.FlashSaleProperties;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.supporting.InventoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention on a single hot SKU at 1, 8 and 32 threads: the per-product atomic update
+ * versus flash-sale mode with striped sub-pools.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=FlashSaleInventoryBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlashSaleInventoryBenchmark {
+
+    private static final String SKU = "PRE-PS6-001";
+
+    @Param({"false", "true"})
+    private boolean flashSale;
+
+    @Param({"16"})
+    private int stripes;
+
+    private InventoryService inventoryService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        FlashSaleProperties properties = flashSale
+                ? new FlashSaleProperties(Set.of(SKU), stripes)
+                : FlashSaleProperties.disabled();
+        inventoryService = new InventoryService(properties);
+        inventoryService.initStockIfAbsent(SKU, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int reserve01Thread() {
+        return reserve();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int reserve08Threads() {
+        return reserve();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public int reserve32Threads() {
+        return reserve();
+    }
+
+    private int reserve() {
+        try {
+            return inventoryService.reserve(SKU, 1);
+        } catch (BusinessException ex) {
+            return -1;
+        }
+    }
+}
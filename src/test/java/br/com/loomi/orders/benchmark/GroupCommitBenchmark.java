@@ -0,0 +1,233 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.service.processing.GroupCommitter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders per second for the final status write, against a real PostgreSQL in
+ * Testcontainers, with the statements the order status committer issues:
+ * <ul>
+ *   <li>{@code commitPerOrder}: every order in its own transaction, one statement at a time;</li>
+ *   <li>{@code groupCommitPerOrderStatements}: orders share a group commit, but each still
+ *       claims its event, is reloaded with its items by the merge and is updated on its own;</li>
+ *   <li>{@code groupCommitBatched}: orders share a group commit and the batch is written with
+ *       one claim statement, one JDBC batch of guarded order UPDATEs and one of item UPDATEs.</li>
+ * </ul>
+ *
+ * Requires Docker. Run with: mvn -Pbenchmark test -Dbenchmark=GroupCommitBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class GroupCommitBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final String CLAIM_SQL =
+            "INSERT INTO bench_events (event_id) VALUES (?) ON CONFLICT (event_id) DO NOTHING";
+    private static final String CLAIM_ALL_SQL =
+            "INSERT INTO bench_events (event_id) SELECT unnest(?) ON CONFLICT (event_id) DO NOTHING RETURNING event_id";
+    private static final String SELECT_ORDER_SQL =
+            "SELECT id, status, total_amount, version FROM bench_orders WHERE id = ?";
+    private static final String SELECT_ITEMS_SQL =
+            "SELECT id, total_price, metadata FROM bench_items WHERE order_id = ?";
+    private static final String TRANSITION_SQL = """
+            UPDATE bench_orders SET status = 'PROCESSED', total_amount = ?, updated_at = now(), version = version + 1
+             WHERE id = ? AND status = 'PENDING' AND version = 0
+            """;
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE bench_items SET total_price = ?, metadata = CAST(? AS jsonb) WHERE id = ?";
+    private static final String METADATA = "{\"deliveryEtaDays\":5}";
+    private static final BigDecimal ITEM_PRICE = new BigDecimal("89.90");
+    private static final BigDecimal ORDER_TOTAL = new BigDecimal("179.80");
+
+    @Param({"64"})
+    private int maxBatchSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private GroupCommitter<Long, Boolean> perOrderStatements;
+    private GroupCommitter<Long, Boolean> batched;
+    private final AtomicLong nextId = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16");
+        postgres.start();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        config.setMaximumPoolSize(18);
+        config.setAutoCommit(false);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE bench_orders (
+                        id BIGINT PRIMARY KEY,
+                        status VARCHAR(32) NOT NULL,
+                        total_amount DECIMAL(10, 2) NOT NULL,
+                        version BIGINT NOT NULL,
+                        updated_at TIMESTAMPTZ NOT NULL
+                    )""");
+            statement.execute("""
+                    CREATE TABLE bench_items (
+                        id BIGINT PRIMARY KEY,
+                        order_id BIGINT NOT NULL,
+                        total_price DECIMAL(10, 2) NOT NULL,
+                        metadata JSONB
+                    )""");
+            statement.execute("CREATE INDEX ON bench_items (order_id)");
+            statement.execute("CREATE TABLE bench_events (event_id UUID PRIMARY KEY)");
+            statement.execute("INSERT INTO bench_orders SELECT g, 'PENDING', 179.80, 0, now() FROM generate_series(1, "
+                    + ROWS + ") g");
+            statement.execute("INSERT INTO bench_items SELECT g * 2 + k, g, 89.90, NULL FROM generate_series(1, "
+                    + ROWS + ") g, generate_series(0, 1) k");
+            connection.commit();
+        }
+
+        perOrderStatements = new GroupCommitter<>("bench-commit-per-order", maxBatchSize, Duration.ofMillis(2), 1024,
+                this::writePerOrder);
+        batched = new GroupCommitter<>("bench-commit-batched", maxBatchSize, Duration.ofMillis(2), 1024,
+                this::writeBatched);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        perOrderStatements.shutdown(Duration.ofSeconds(10));
+        batched.shutdown(Duration.ofSeconds(10));
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public boolean commitPerOrder() {
+        return writePerOrder(List.of(nextOrderId())).get(0);
+    }
+
+    @Benchmark
+    public boolean groupCommitPerOrderStatements() {
+        return perOrderStatements.submit(nextOrderId()).join();
+    }
+
+    @Benchmark
+    public boolean groupCommitBatched() {
+        return batched.submit(nextOrderId()).join();
+    }
+
+    private long nextOrderId() {
+        return nextId.getAndIncrement() % ROWS + 1;
+    }
+
+    /**
+     * The former committer write: claim, merge (reload order and items, write back the
+     * items) and guarded update, statement by statement for each order.
+     */
+    private List<Boolean> writePerOrder(List<Long> ids) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement claim = connection.prepareStatement(CLAIM_SQL);
+             PreparedStatement selectOrder = connection.prepareStatement(SELECT_ORDER_SQL);
+             PreparedStatement selectItems = connection.prepareStatement(SELECT_ITEMS_SQL);
+             PreparedStatement updateItem = connection.prepareStatement(UPDATE_ITEM_SQL);
+             PreparedStatement transition = connection.prepareStatement(TRANSITION_SQL)) {
+            List<Boolean> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                claim.setObject(1, UUID.randomUUID());
+                claim.executeUpdate();
+
+                selectOrder.setLong(1, id);
+                try (ResultSet rs = selectOrder.executeQuery()) {
+                    rs.next();
+                }
+                selectItems.setLong(1, id);
+                List<Long> itemIds = new ArrayList<>(2);
+                try (ResultSet rs = selectItems.executeQuery()) {
+                    while (rs.next()) {
+                        itemIds.add(rs.getLong(1));
+                    }
+                }
+                for (Long itemId : itemIds) {
+                    updateItem.setBigDecimal(1, ITEM_PRICE);
+                    updateItem.setString(2, METADATA);
+                    updateItem.setLong(3, itemId);
+                    updateItem.executeUpdate();
+                }
+
+                transition.setBigDecimal(1, ORDER_TOTAL);
+                transition.setLong(2, id);
+                result.add(transition.executeUpdate() == 1);
+            }
+            connection.commit();
+            return result;
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * The current committer write: one claim statement and two JDBC batches per group.
+     */
+    private List<Boolean> writeBatched(List<Long> ids) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement claim = connection.prepareStatement(CLAIM_ALL_SQL);
+             PreparedStatement transition = connection.prepareStatement(TRANSITION_SQL);
+             PreparedStatement updateItem = connection.prepareStatement(UPDATE_ITEM_SQL)) {
+            UUID[] eventIds = new UUID[ids.size()];
+            for (int i = 0; i < eventIds.length; i++) {
+                eventIds[i] = UUID.randomUUID();
+            }
+            claim.setArray(1, connection.createArrayOf("uuid", eventIds));
+            try (ResultSet rs = claim.executeQuery()) {
+                while (rs.next()) {
+                    rs.getObject(1);
+                }
+            }
+
+            for (Long id : ids) {
+                transition.setBigDecimal(1, ORDER_TOTAL);
+                transition.setLong(2, id);
+                transition.addBatch();
+            }
+            int[] counts = transition.executeBatch();
+
+            List<Boolean> result = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                result.add(counts[i] != 0);
+                if (counts[i] != 0) {
+                    for (long k = 0; k < 2; k++) {
+                        updateItem.setBigDecimal(1, ITEM_PRICE);
+                        updateItem.setString(2, METADATA);
+                        updateItem.setLong(3, ids.get(i) * 2 + k);
+                        updateItem.addBatch();
+                    }
+                }
+            }
+            updateItem.executeBatch();
+            connection.commit();
+            return result;
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
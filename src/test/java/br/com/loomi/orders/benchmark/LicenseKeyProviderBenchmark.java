@@ -0,0 +1,62 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.supporting.LicenseKeyFormat;
+import br.com.loomi.orders.service.supporting.LicenseKeyProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-item latency of obtaining a license key: inline {@code UUID.randomUUID()} on the
+ * processing thread versus dequeuing from the pre-generated pool.
+ *
+ * The pooled variant is sampled in short bursts separated by idle time, like item
+ * processing, so the background refill can keep up; a saturating loop would drain
+ * the pool and fall back to inline generation.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=LicenseKeyProviderBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LicenseKeyProviderBenchmark {
+
+    private static final int BURST = 1_000;
+
+    private LicenseKeyProvider provider;
+    private int served;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        provider = new LicenseKeyProvider(LicenseKeyFormat.uuid(),
+                new OrderMetricsService(new SimpleMeterRegistry()), 10_000, 2_500);
+        provider.start();
+        while (provider.getPoolDepth() < 10_000) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        provider.shutdown();
+    }
+
+    @Benchmark
+    public String inlineUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String pooledKey() throws InterruptedException {
+        if (++served % BURST == 0) {
+            Thread.sleep(1);
+        }
+        return provider.nextKey();
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+import br.com.loomi.orders.service.supporting.DigitalLicenseService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap footprint and lookup cost of license ownership for 1M customers owning
+ * three of 1,000 digital products each: the previous {@code Map<String, Set<String>>}
+ * layout versus the sorted product-ordinal arrays of {@link DigitalLicenseService}.
+ *
+ * The retained heap of each layout is printed once per fork after setup.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=LicenseOwnershipFootprintBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class LicenseOwnershipFootprintBenchmark {
+
+    private static final int CUSTOMERS = 1_000_000;
+    private static final int PRODUCTS = 1_000;
+    private static final int OWNED_PER_CUSTOMER = 3;
+
+    @Param({"hashSetOfIds", "sortedOrdinals"})
+    private String layout;
+
+    private String[] customerIds;
+    private String[] productIds;
+    private Map<String, Set<String>> hashSetIndex;
+    private DigitalLicenseService licenseService;
+
+    @Setup
+    public void setUp() {
+        customerIds = new String[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customerIds[i] = "customer-" + i;
+        }
+        productIds = new String[PRODUCTS];
+        Map<String, ProductInfo> catalog = new ConcurrentHashMap<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds[i] = "EBOOK-" + i;
+            ProductInfo info = new ProductInfo();
+            info.setProductId(productIds[i]);
+            info.setProductType(ProductType.DIGITAL);
+            info.setLicenses(Integer.MAX_VALUE);
+            catalog.put(productIds[i], info);
+        }
+        // Warms the catalog and the ordinal table so only the per-customer index is measured.
+        DigitalLicenseService service = new DigitalLicenseService(catalog::get);
+        for (String productId : productIds) {
+            service.allocateLicense("warm-up", productId, 1);
+        }
+
+        long before = usedHeap();
+        if ("hashSetOfIds".equals(layout)) {
+            hashSetIndex = new ConcurrentHashMap<>();
+            for (int i = 0; i < CUSTOMERS; i++) {
+                Set<String> owned = new HashSet<>();
+                for (int p = 0; p < OWNED_PER_CUSTOMER; p++) {
+                    owned.add(productIds[productFor(i, p)]);
+                }
+                hashSetIndex.put(customerIds[i], owned);
+            }
+        } else {
+            licenseService = service;
+            for (int i = 0; i < CUSTOMERS; i++) {
+                for (int p = 0; p < OWNED_PER_CUSTOMER; p++) {
+                    licenseService.allocateLicense(customerIds[i], productIds[productFor(i, p)], 1);
+                }
+            }
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%n[%s] retained heap for %,d customers: %,d MB (%d bytes/customer)%n",
+                layout, CUSTOMERS, retained >> 20, retained / CUSTOMERS);
+    }
+
+    @Benchmark
+    public boolean ownsProduct() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String customerId = customerIds[random.nextInt(CUSTOMERS)];
+        String productId = productIds[random.nextInt(PRODUCTS)];
+        if (hashSetIndex != null) {
+            Set<String> owned = hashSetIndex.get(customerId);
+            return owned != null && owned.contains(productId);
+        }
+        return licenseService.ownsProduct(customerId, productId);
+    }
+
+    private static int productFor(int customer, int slot) {
+        return (customer * 31 + slot * 337) % PRODUCTS;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.domain.dto.CreateOrderItemRequest;
+import br.com.loomi.orders.domain.dto.CreateOrderRequest;
+import br.com.loomi.orders.domain.dto.CreateOrderResponse;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+import br.com.loomi.orders.service.mapping.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order creation mapping: the previous setter-based mapping that multiplies and adds a
+ * {@link BigDecimal} per item and grows the item list from its default capacity, versus
+ * {@link OrderMapper}, which pre-sizes the list, sums the total in long cents and reuses
+ * the catalog's two-decimal price for single units.
+ * Run with {@code -prof gc} to compare allocations.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=OrderMappingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "50"})
+    private int items;
+
+    private CreateOrderRequest request;
+    private ProductInfo[] products;
+
+    @Setup
+    public void setUp() {
+        List<CreateOrderItemRequest> requested = new ArrayList<>(items);
+        products = new ProductInfo[items];
+        for (int i = 0; i < items; i++) {
+            ProductInfo product = new ProductInfo();
+            product.setProductId("BOOK-" + i);
+            product.setProductType(ProductType.PHYSICAL);
+            product.setPrice(new BigDecimal("89.90"));
+            products[i] = product;
+
+            CreateOrderItemRequest itemReq = new CreateOrderItemRequest();
+            itemReq.setProductId(product.getProductId());
+            itemReq.setQuantity(1 + i % 3);
+            requested.add(itemReq);
+        }
+        request = new CreateOrderRequest();
+        request.setCustomerId("customer-1");
+        request.setItems(requested);
+    }
+
+    @Benchmark
+    public CreateOrderResponse setterMapping() {
+        Order order = new Order();
+        order.setCustomerId(request.getCustomerId());
+        order.markPending();
+
+        BigDecimal total = BigDecimal.ZERO;
+        int index = 0;
+        for (CreateOrderItemRequest itemReq : request.getItems()) {
+            ProductInfo product = products[index++];
+            OrderItem item = new OrderItem();
+            item.setProductId(product.getProductId());
+            item.setProductType(product.getProductType());
+            item.setQuantity(itemReq.getQuantity());
+            item.setUnitPrice(product.getPrice());
+
+            BigDecimal itemTotal = product.getPrice()
+                    .multiply(BigDecimal.valueOf(itemReq.getQuantity()));
+            item.setTotalPrice(itemTotal);
+            item.setMetadata(itemReq.getMetadata());
+
+            order.addItem(item);
+            total = total.add(itemTotal);
+        }
+        order.setTotalAmount(total);
+        return OrderMapper.toCreateResponse(order);
+    }
+
+    @Benchmark
+    public CreateOrderResponse orderMapper() {
+        return OrderMapper.toCreateResponse(OrderMapper.toNewOrder(request, products));
+    }
+}
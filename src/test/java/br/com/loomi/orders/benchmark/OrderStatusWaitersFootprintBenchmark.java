@@ -0,0 +1,97 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.domain.dto.OrderDetailResponse;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.service.OrderService;
+import br.com.loomi.orders.service.OrderStatusWaiters;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Heap retained by 50,000 idle long-poll waiters on distinct PENDING orders, each parked
+ * the way {@code GET /api/orders/{orderId}/await} parks it: a {@link DeferredResult} with
+ * its timeout and completion callbacks, registered in {@link OrderStatusWaiters}. Also
+ * measures the cost of notifying one order's waiter.
+ *
+ * Container-side state of an open connection (socket, buffers, request objects) is not
+ * included; with Tomcat NIO it comes on top, but no thread is held per waiter.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=OrderStatusWaitersFootprintBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class OrderStatusWaitersFootprintBenchmark {
+
+    private static final int WAITERS = 50_000;
+
+    private OrderStatusWaiters waiters;
+    private Order transitioned;
+    private long nextOrderId;
+
+    @Setup
+    public void setUp() {
+        OrderDetailResponse pending = new OrderDetailResponse();
+        pending.setStatus(OrderStatus.PENDING);
+        OrderService orderService = mock(OrderService.class, withSettings().stubOnly());
+        when(orderService.getOrder(anyLong())).thenReturn(pending);
+        waiters = new OrderStatusWaiters(orderService, new OrderMetricsService(new SimpleMeterRegistry()),
+                Integer.MAX_VALUE, 30_000);
+
+        transitioned = new Order();
+        transitioned.setStatus(OrderStatus.PROCESSED);
+        transitioned.setTotalAmount(BigDecimal.TEN);
+
+        long before = usedHeap();
+        for (long orderId = 1; orderId <= WAITERS; orderId++) {
+            park(orderId);
+        }
+        long retained = usedHeap() - before;
+        nextOrderId = WAITERS + 1;
+        System.out.printf("%n%,d idle waiters retain %,d KB (%d bytes/waiter)%n",
+                WAITERS, retained >> 10, retained / WAITERS);
+    }
+
+    /**
+     * Parks a waiter for a new order and wakes it, keeping 50,000 others parked.
+     */
+    @Benchmark
+    public void parkAndNotify() {
+        long orderId = nextOrderId++;
+        park(orderId);
+        transitioned.setId(orderId);
+        waiters.notifyTransition(transitioned);
+    }
+
+    private void park(long orderId) {
+        DeferredResult<ResponseEntity<OrderDetailResponse>> result = new DeferredResult<>(waiters.timeoutMs());
+        Consumer<OrderDetailResponse> waiter = detail -> result.setResult(ResponseEntity.ok(detail));
+        result.onTimeout(() -> result.setResult(ResponseEntity.noContent().build()));
+        result.onCompletion(() -> waiters.cancel(orderId, waiter));
+        waiters.await(orderId, waiter);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
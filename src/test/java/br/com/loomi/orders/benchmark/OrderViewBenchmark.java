@@ -0,0 +1,101 @@
+package br.com.loomi.orders.benchmark;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.processing.CorporateOrderItemProcessor;
+import br.com.loomi.orders.service.processing.OrderProcessingContext;
+import br.com.loomi.orders.service.processing.OrderView;
+import br.com.loomi.orders.service.processing.SubscriptionOrderItemProcessor;
+import br.com.loomi.orders.service.supporting.SubscriptionPlanFamily;
+import br.com.loomi.orders.service.supporting.SubscriptionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-order work of the subscription and corporate processors for orders of 1, 50 and
+ * 500 items: recomputing the order-wide facts on every item versus the order-level hooks
+ * reading a precomputed {@link OrderView}.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark=OrderViewBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderViewBenchmark {
+
+    private static final BigDecimal APPROVAL_THRESHOLD = BigDecimal.valueOf(50_000);
+    private static final ProductType[] MIX = {
+            ProductType.PHYSICAL, ProductType.SUBSCRIPTION, ProductType.DIGITAL, ProductType.CORPORATE
+    };
+
+    @Param({"1", "50", "500"})
+    private int items;
+
+    private Order order;
+    private SubscriptionOrderItemProcessor subscriptionProcessor;
+    private CorporateOrderItemProcessor corporateProcessor;
+
+    @Setup
+    public void setUp() {
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ProductType type = MIX[i % MIX.length];
+            OrderItem item = new OrderItem();
+            item.setProductType(type);
+            item.setProductId(type == ProductType.SUBSCRIPTION ? "SUB-BASIC-001" : "ITEM-" + i);
+            item.setQuantity(1);
+            item.setTotalPrice(BigDecimal.TEN);
+            orderItems.add(item);
+        }
+        order = new Order();
+        order.setCustomerId("customer-1");
+        order.setItems(orderItems);
+        order.setTotalAmount(BigDecimal.valueOf(10L * items));
+
+        subscriptionProcessor = new SubscriptionOrderItemProcessor(
+                new SubscriptionService(new OrderMetricsService(new SimpleMeterRegistry()), 30, 60_000, 65_536));
+        corporateProcessor = new CorporateOrderItemProcessor(null, null);
+    }
+
+    @Benchmark
+    public int perItemRecompute() {
+        int decisions = 0;
+        for (OrderItem item : order.getItems()) {
+            if (item.getProductType() == ProductType.SUBSCRIPTION) {
+                int mask = SubscriptionPlanFamily.NONE;
+                for (OrderItem other : order.getItems()) {
+                    if (other.getProductType() == ProductType.SUBSCRIPTION) {
+                        mask |= SubscriptionPlanFamily.of(other.getProductId());
+                    }
+                }
+                decisions += SubscriptionPlanFamily.isConflicting(mask) ? 1 : 0;
+            } else if (item.getProductType() == ProductType.CORPORATE) {
+                decisions += order.getTotalAmount().compareTo(APPROVAL_THRESHOLD) > 0 ? 1 : 0;
+            }
+        }
+        return decisions;
+    }
+
+    @Benchmark
+    public OrderProcessingContext orderLevelHooks() {
+        OrderView view = OrderView.of(order);
+        OrderProcessingContext context = new OrderProcessingContext();
+        if (!view.items(ProductType.SUBSCRIPTION).isEmpty()) {
+            subscriptionProcessor.beforeOrder(order, view, context);
+        }
+        if (!view.items(ProductType.CORPORATE).isEmpty()) {
+            corporateProcessor.afterOrder(order, view, context);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.dto.OrderDetailResponse;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class OrderDetailCacheTest {
+
+    private final OrderDetailCache cache = new OrderDetailCache(2, mock(OrderMetricsService.class));
+
+    @Test
+    @DisplayName("Should cache only orders in a terminal status")
+    void shouldCacheOnlyTerminalOrders() {
+        cache.putIfTerminal(detail(1L, OrderStatus.PROCESSED));
+        cache.putIfTerminal(detail(2L, OrderStatus.FAILED));
+        cache.putIfTerminal(detail(3L, OrderStatus.PENDING));
+        cache.putIfTerminal(detail(4L, OrderStatus.PENDING_APPROVAL));
+
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(2L)).isNotNull();
+        assertThat(cache.get(3L)).isNull();
+        assertThat(cache.get(4L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently read order when full")
+    void shouldEvictLeastRecentlyRead() {
+        cache.putIfTerminal(detail(1L, OrderStatus.PROCESSED));
+        cache.putIfTerminal(detail(2L, OrderStatus.PROCESSED));
+        cache.get(1L);
+        cache.putIfTerminal(detail(3L, OrderStatus.PROCESSED));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop an invalidated order and report the hit ratio")
+    void shouldInvalidateAndTrackHitRatio() {
+        cache.putIfTerminal(detail(1L, OrderStatus.PROCESSED));
+        assertThat(cache.get(1L)).isNotNull();
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should register its gauges only once constructed")
+    void shouldRegisterGaugesAfterConstruction() {
+        OrderMetricsService metricsService = mock(OrderMetricsService.class);
+        OrderDetailCache registered = new OrderDetailCache(2, metricsService);
+        verifyNoInteractions(metricsService);
+
+        registered.registerMetrics();
+
+        verify(metricsService).registerOrderDetailCache(any(), any());
+    }
+
+    private static OrderDetailResponse detail(Long id, OrderStatus status) {
+        OrderDetailResponse detail = new OrderDetailResponse();
+        detail.setOrderId(id);
+        detail.setStatus(status);
+        return detail;
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.enums.OrderExportFormat;
+import br.com.loomi.orders.persistence.OrderExportReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2025, 1, 15, 10, 30, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderExportService exportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        OrderExportReader reader = new OrderExportReader(new JdbcTemplate(dataSource), 1000);
+        exportService = new OrderExportService(reader, objectMapper, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should write one NDJSON line per order with its items nested")
+    void shouldExportNdjsonGroupedByOrder() throws Exception {
+        List<Object[]> rows = List.of(
+                row(2, "FAILED", "OUT_OF_STOCK", "BOOK-CC-001", 1),
+                row(1, "PROCESSED", null, "BOOK-CC-001", 2),
+                row(1, "PROCESSED", null, "EBOOK-001", 1),
+                new Object[]{3L, "PENDING", new BigDecimal("0.00"), null, CREATED_AT, CREATED_AT,
+                        null, null, null, null, null});
+        when(statement.executeQuery()).thenReturn(resultSet(rows.size(), rows::get));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export("customer-1", OrderExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode failed = objectMapper.readTree(lines[0]);
+        assertThat(failed.get("orderId").asLong()).isEqualTo(2L);
+        assertThat(failed.get("failureReason").asText()).isEqualTo("OUT_OF_STOCK");
+        assertThat(failed.get("createdAt").asText()).isEqualTo("2025-01-15T10:30:00Z");
+        JsonNode processed = objectMapper.readTree(lines[1]);
+        assertThat(processed.has("failureReason")).isFalse();
+        assertThat(processed.get("items")).hasSize(2);
+        assertThat(processed.get("items").get(1).get("productId").asText()).isEqualTo("EBOOK-001");
+        assertThat(objectMapper.readTree(lines[2]).get("items")).isEmpty();
+        verify(statement).setFetchSize(1000);
+        verify(statement).setString(1, "customer-1");
+    }
+
+    @Test
+    @DisplayName("Should write one CSV row per item, quoting values that need it")
+    void shouldExportCsvRows() throws Exception {
+        List<Object[]> rows = List.of(
+                row(1, "PROCESSED", null, "BOOK-CC-001", 2),
+                row(1, "PROCESSED", null, "BOOK,\"SPECIAL\"", 1));
+        when(statement.executeQuery()).thenReturn(resultSet(rows.size(), rows::get));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export("customer-1", OrderExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "order_id,status,total_amount,failure_reason,created_at,updated_at,"
+                        + "product_id,product_type,quantity,unit_price,total_price",
+                "1,PROCESSED,89.90,,2025-01-15T10:30:00Z,2025-01-15T10:30:00Z,BOOK-CC-001,PHYSICAL,2,89.90,179.80",
+                "1,PROCESSED,89.90,,2025-01-15T10:30:00Z,2025-01-15T10:30:00Z,\"BOOK,\"\"SPECIAL\"\"\",PHYSICAL,1,89.90,89.90");
+    }
+
+    @Test
+    @DisplayName("Should surface a client disconnect as an IOException and stop reading")
+    void shouldStopOnWriteFailure() throws Exception {
+        when(statement.executeQuery()).thenReturn(resultSet(1_000_000, i -> row(i, "PROCESSED", null, "BOOK-CC-001", 1)));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> exportService.export("customer-1", OrderExportFormat.CSV, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    @Test
+    @DisplayName("Should stream one million orders without buffering them")
+    void shouldStreamOneMillionOrders() throws Exception {
+        int orders = 1_000_000;
+        when(statement.executeQuery()).thenReturn(resultSet(orders, i -> row(i, "PROCESSED", null, "BOOK-CC-001", 1)));
+        CountingOutputStream out = new CountingOutputStream();
+
+        long start = System.nanoTime();
+        exportService.export("customer-1", OrderExportFormat.NDJSON, out);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+        assertThat(out.lines).isEqualTo(orders);
+    }
+
+    private static Object[] row(long orderId, String status, String failureReason, String productId, int quantity) {
+        BigDecimal unitPrice = new BigDecimal("89.90");
+        return new Object[]{orderId, status, unitPrice, failureReason, CREATED_AT, CREATED_AT,
+                productId, "PHYSICAL", quantity, unitPrice, unitPrice.multiply(BigDecimal.valueOf(quantity))};
+    }
+
+    /**
+     * A forward-only result set producing {@code size} rows on demand, so nothing is
+     * materialized up front. Only the accessors used by the export reader are supported.
+     */
+    private static ResultSet resultSet(int size, IntFunction<Object[]> rows) {
+        Object[][] current = new Object[1][];
+        int[] position = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> {
+                        if (++position[0] >= size) {
+                            yield false;
+                        }
+                        current[0] = rows.apply(position[0]);
+                        yield true;
+                    }
+                    case "getLong", "getString", "getBigDecimal", "getObject", "getInt" -> {
+                        Object value = current[0][(int) args[0] - 1];
+                        wasNull[0] = value == null;
+                        if (value == null && method.getName().equals("getInt")) {
+                            yield 0;
+                        }
+                        yield value;
+                    }
+                    case "wasNull" -> wasNull[0];
+                    case "close" -> null;
+                    case "getWarnings" -> null;
+                    case "isClosed" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.dto.BulkOrderImportSummary;
+import br.com.loomi.orders.domain.dto.CreateOrderRequest;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.persistence.OrderBulkWriter;
+import br.com.loomi.orders.service.event.OrderEventPublisher;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.KafkaException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderImportServiceTest {
+
+    private static final String VALID = "{\"customerId\":\"c-%d\",\"items\":[{\"productId\":\"BOOK-CC-001\",\"quantity\":1}]}";
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderBulkWriter bulkWriter;
+
+    @Mock
+    private OrderEventPublisher eventPublisher;
+
+    @Mock
+    private OrderMetricsService metricsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong ids = new AtomicLong();
+    private OrderImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new OrderImportService(orderService, bulkWriter, eventPublisher, metricsService,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper,
+                new TransactionTemplate(transactionManager), 2);
+    }
+
+    @Test
+    @DisplayName("Should write one ordered result per line, inserting valid orders chunk by chunk")
+    void shouldImportMixedLinesInChunks() throws Exception {
+        when(orderService.buildOrder(any(CreateOrderRequest.class))).thenAnswer(invocation -> {
+            CreateOrderRequest request = invocation.getArgument(0);
+            if (request.getCustomerId().equals("c-4")) {
+                throw new BusinessException(HttpStatus.NOT_FOUND, "OUT_OF_STOCK", "Product X not found");
+            }
+            Order order = new Order();
+            order.setCustomerId(request.getCustomerId());
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(new BigDecimal("89.90"));
+            return order;
+        });
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(ids.incrementAndGet()));
+            return null;
+        }).when(bulkWriter).insert(anyList());
+        when(eventPublisher.publishOrdersCreated(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        String upload = String.join("\n",
+                VALID.formatted(1),
+                "{\"customerId\":\"\",\"items\":[]}",
+                VALID.formatted(3),
+                VALID.formatted(4),
+                VALID.formatted(5));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkOrderImportSummary summary = importService.importOrders(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertThat(summary).isEqualTo(new BulkOrderImportSummary(3, 2, true));
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines).hasSize(6);
+        assertThat(lines.subList(0, 5)).extracting(node -> node.get("line").asInt()).containsExactly(1, 2, 3, 4, 5);
+        assertThat(lines.subList(0, 5)).extracting(node -> node.get("status").asText())
+                .containsExactly("CREATED", "REJECTED", "CREATED", "REJECTED", "CREATED");
+        assertThat(lines.get(0).get("orderId").asLong()).isEqualTo(1L);
+        assertThat(lines.get(1).get("code").asText()).isEqualTo("VALIDATION_ERROR");
+        assertThat(lines.get(3).get("code").asText()).isEqualTo("OUT_OF_STOCK");
+        assertThat(lines.get(5).get("created").asLong()).isEqualTo(3);
+
+        verify(bulkWriter, times(3)).insert(anyList());
+        verify(eventPublisher, times(3)).publishOrdersCreated(anyList());
+        verify(metricsService, times(3)).recordOrderCreated(new BigDecimal("89.90"));
+    }
+
+    @Test
+    @DisplayName("Should fail the orders of a chunk that cannot be persisted and keep going")
+    void shouldFailChunkOnPersistenceError() throws Exception {
+        when(orderService.buildOrder(any(CreateOrderRequest.class))).thenAnswer(invocation -> {
+            Order order = new Order();
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(BigDecimal.TEN);
+            return order;
+        });
+        doThrow(new IllegalStateException("connection lost")).doNothing().when(bulkWriter).insert(anyList());
+        when(eventPublisher.publishOrdersCreated(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        String upload = String.join("\n", VALID.formatted(1), VALID.formatted(2), VALID.formatted(3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkOrderImportSummary summary = importService.importOrders(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertThat(summary).isEqualTo(new BulkOrderImportSummary(1, 2, true));
+        assertThat(readLines(out).subList(0, 3)).extracting(node -> node.get("status").asText())
+                .containsExactly("FAILED", "FAILED", "CREATED");
+        verify(eventPublisher, times(1)).publishOrdersCreated(anyList());
+    }
+
+    @Test
+    @DisplayName("Should keep committed orders CREATED when publishing their events throws")
+    void shouldKeepCreatedWhenPublishThrows() throws Exception {
+        when(orderService.buildOrder(any(CreateOrderRequest.class))).thenAnswer(invocation -> {
+            Order order = new Order();
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(BigDecimal.TEN);
+            return order;
+        });
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(ids.incrementAndGet()));
+            return null;
+        }).when(bulkWriter).insert(anyList());
+        when(eventPublisher.publishOrdersCreated(anyList()))
+                .thenThrow(new KafkaException("Topic order-events not present in metadata after 60000 ms."))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        String upload = String.join("\n", VALID.formatted(1), VALID.formatted(2), VALID.formatted(3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkOrderImportSummary summary = importService.importOrders(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertThat(summary).isEqualTo(new BulkOrderImportSummary(3, 0, true));
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines.subList(0, 3)).extracting(node -> node.get("status").asText())
+                .containsExactly("CREATED", "CREATED", "CREATED");
+        assertThat(lines.subList(0, 3)).extracting(node -> node.get("orderId").asLong()).containsExactly(1L, 2L, 3L);
+        verify(eventPublisher, times(2)).publishOrdersCreated(anyList());
+        verify(metricsService, times(3)).recordOrderCreated(BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("Should stop at a malformed line, keeping the lines before it")
+    void shouldStopAtMalformedJson() throws Exception {
+        when(orderService.buildOrder(any(CreateOrderRequest.class))).thenAnswer(invocation -> {
+            Order order = new Order();
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(BigDecimal.ONE);
+            return order;
+        });
+        when(eventPublisher.publishOrdersCreated(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        String upload = String.join("\n", VALID.formatted(1), "{\"customerId\": oops", VALID.formatted(3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkOrderImportSummary summary = importService.importOrders(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), out);
+
+        assertThat(summary).isEqualTo(new BulkOrderImportSummary(1, 1, false));
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1).get("line").asInt()).isEqualTo(2);
+        assertThat(lines.get(1).get("code").asText()).isEqualTo("MALFORMED_JSON");
+        verify(orderService, times(1)).buildOrder(any(CreateOrderRequest.class));
+    }
+
+    private List<JsonNode> readLines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -3,8 +3,10 @@ package br.com.loomi.orders.service;
 import br.com.loomi.orders.domain.dto.CreateOrderItemRequest;
 import br.com.loomi.orders.domain.dto.CreateOrderRequest;
 import br.com.loomi.orders.domain.dto.CreateOrderResponse;
+import br.com.loomi.orders.domain.dto.OrderDetailResponse;
 import br.com.loomi.orders.domain.entity.Order;
 import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
 import br.com.loomi.orders.domain.enums.OrderStatus;
 import br.com.loomi.orders.domain.enums.ProductType;
 import br.com.loomi.orders.exception.BusinessException;
@@ -13,6 +15,7 @@ import br.com.loomi.orders.service.catalog.ProductCatalogService;
 import br.com.loomi.orders.service.catalog.ProductInfo;
 import br.com.loomi.orders.service.event.OrderEventPublisher;
 import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.supporting.AvailabilityView;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -31,6 +34,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +52,12 @@ class OrderServiceTest {
     @Mock
     private OrderMetricsService metricsService;
 
+    @Mock
+    private AvailabilityView availabilityView;
+
+    @Mock
+    private OrderDetailCache detailCache;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -89,9 +99,9 @@ class OrderServiceTest {
 
             CreateOrderResponse response = orderService.createOrder(request);
 
-            assertThat(response.getOrderId()).isEqualTo(1L);
-            assertThat(response.getStatus()).isEqualTo(OrderStatus.PENDING);
-            assertThat(response.getTotalAmount()).isEqualByComparingTo("100.00");
+            assertThat(response.orderId()).isEqualTo(1L);
+            assertThat(response.status()).isEqualTo(OrderStatus.PENDING);
+            assertThat(response.totalAmount()).isEqualByComparingTo("100.00");
 
             verify(orderRepository).save(orderCaptor.capture());
             Order savedOrder = orderCaptor.getValue();
@@ -178,7 +188,7 @@ class OrderServiceTest {
 
             CreateOrderResponse response = orderService.createOrder(request);
 
-            assertThat(response.getTotalAmount()).isEqualByComparingTo("210.00");
+            assertThat(response.totalAmount()).isEqualByComparingTo("210.00");
         }
 
         @Test
@@ -239,6 +249,35 @@ class OrderServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Availability Pre-check Tests")
+    class AvailabilityPrecheckTests {
+
+        @Test
+        @DisplayName("Should reject a sold-out item without touching the database")
+        void shouldRejectSoldOutItemEarly() {
+            ProductInfo product = createProduct("EBOOK-001", "Ebook", ProductType.DIGITAL, 39.90);
+            when(catalogService.getRequiredProduct("EBOOK-001")).thenReturn(product);
+            when(availabilityView.isClearlyUnavailable("EBOOK-001", 1)).thenReturn(true);
+
+            CreateOrderItemRequest itemRequest = new CreateOrderItemRequest();
+            itemRequest.setProductId("EBOOK-001");
+            itemRequest.setQuantity(1);
+
+            CreateOrderRequest request = new CreateOrderRequest();
+            request.setCustomerId("customer-123");
+            request.setItems(List.of(itemRequest));
+
+            assertThatThrownBy(() -> orderService.createOrder(request))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(ex -> assertThat(((BusinessException) ex).getCode()).isEqualTo("LICENSE_UNAVAILABLE"));
+
+            verify(metricsService).recordOrderRejectedEarly("LICENSE_UNAVAILABLE");
+            verify(orderRepository, never()).save(any());
+            verify(eventPublisher, never()).publishOrderCreated(any());
+        }
+    }
+
     @Nested
     @DisplayName("Order Retrieval Tests")
     class GetOrderTests {
@@ -268,6 +307,18 @@ class OrderServiceTest {
             assertThat(response.getCustomerId()).isEqualTo("customer-123");
             assertThat(response.getStatus()).isEqualTo(OrderStatus.PROCESSED);
             assertThat(response.getItems()).hasSize(1);
+            verify(detailCache).putIfTerminal(response);
+        }
+
+        @Test
+        @DisplayName("Should serve a cached order without querying the database")
+        void shouldServeCachedOrder() {
+            OrderDetailResponse cached = new OrderDetailResponse();
+            cached.setOrderId(1L);
+            when(detailCache.get(1L)).thenReturn(cached);
+
+            assertThat(orderService.getOrder(1L)).isSameAs(cached);
+            verifyNoInteractions(orderRepository);
         }
 
         @Test
@@ -284,4 +335,75 @@ class OrderServiceTest {
                     });
         }
     }
+
+    @Nested
+    @DisplayName("Manual Approval Tests")
+    class ApprovalTests {
+
+        @Test
+        @DisplayName("Should approve an order pending approval and publish it as processed")
+        void shouldApprovePendingOrder() {
+            Order order = new Order();
+            order.setId(1L);
+            order.setCustomerId("customer-123");
+            order.setTotalAmount(BigDecimal.valueOf(60_000));
+            order.setStatus(OrderStatus.PROCESSED);
+            when(orderRepository.markProcessed(eq(1L), eq(OrderStatus.PENDING_APPROVAL), any())).thenReturn(1);
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+            var response = orderService.approveOrder(1L);
+
+            assertThat(response.getStatus()).isEqualTo(OrderStatus.PROCESSED);
+            verify(eventPublisher).publishOrderProcessed(order);
+            verify(metricsService).recordOrderProcessed(OrderStatus.PROCESSED);
+        }
+
+        @Test
+        @DisplayName("Should reject an order pending approval and publish it as failed")
+        void shouldRejectPendingOrder() {
+            Order order = new Order();
+            order.setId(1L);
+            order.setCustomerId("customer-123");
+            order.setTotalAmount(BigDecimal.valueOf(60_000));
+            order.setStatus(OrderStatus.FAILED);
+            order.setFailureReason(OrderFailureReason.APPROVAL_REJECTED);
+            when(orderRepository.markFailed(eq(1L), eq(OrderStatus.PENDING_APPROVAL),
+                    eq(OrderFailureReason.APPROVAL_REJECTED), any(), any())).thenReturn(1);
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+            var response = orderService.rejectOrder(1L);
+
+            assertThat(response.getStatus()).isEqualTo(OrderStatus.FAILED);
+            verify(eventPublisher).publishOrderFailed(eq(order), eq(OrderFailureReason.APPROVAL_REJECTED), any());
+            verify(metricsService).recordOrderFailed("APPROVAL_REJECTED");
+        }
+
+        @Test
+        @DisplayName("Should answer 409 when the order is no longer pending approval")
+        void shouldConflictWhenNotPendingApproval() {
+            when(orderRepository.markProcessed(eq(1L), eq(OrderStatus.PENDING_APPROVAL), any())).thenReturn(0);
+            when(orderRepository.existsById(1L)).thenReturn(true);
+
+            assertThatThrownBy(() -> orderService.approveOrder(1L))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(ex -> {
+                        BusinessException be = (BusinessException) ex;
+                        assertThat(be.getCode()).isEqualTo("ORDER_NOT_PENDING_APPROVAL");
+                        assertThat(be.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+                    });
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should answer 404 when rejecting an unknown order")
+        void shouldNotFindUnknownOrderOnReject() {
+            when(orderRepository.markFailed(eq(999L), eq(OrderStatus.PENDING_APPROVAL), any(), any(), any()))
+                    .thenReturn(0);
+            when(orderRepository.existsById(999L)).thenReturn(false);
+
+            assertThatThrownBy(() -> orderService.rejectOrder(999L))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(ex -> assertThat(((BusinessException) ex).getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+        }
+    }
 }
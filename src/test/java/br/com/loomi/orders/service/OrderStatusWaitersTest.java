@@ -0,0 +1,116 @@
+package br.com.loomi.orders.service;
+
+import br.com.loomi.orders.domain.dto.OrderDetailResponse;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusWaitersTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderMetricsService metricsService;
+
+    private final List<OrderDetailResponse> received = new ArrayList<>();
+    private final Consumer<OrderDetailResponse> waiter = received::add;
+    private OrderStatusWaiters waiters;
+
+    @BeforeEach
+    void setUp() {
+        waiters = new OrderStatusWaiters(orderService, metricsService, 2, 30_000);
+    }
+
+    @Test
+    @DisplayName("Should answer right away when the order already left PENDING")
+    void shouldAnswerFinishedOrderImmediately() {
+        when(orderService.getOrder(1L)).thenReturn(detail(1L, OrderStatus.PROCESSED));
+
+        waiters.await(1L, waiter);
+
+        assertThat(received).extracting(OrderDetailResponse::getStatus).containsExactly(OrderStatus.PROCESSED);
+    }
+
+    @Test
+    @DisplayName("Should park a waiter until the order's transition is notified")
+    void shouldNotifyParkedWaiters() {
+        when(orderService.getOrder(1L)).thenReturn(detail(1L, OrderStatus.PENDING));
+        List<OrderDetailResponse> other = new ArrayList<>();
+
+        waiters.await(1L, waiter);
+        waiters.await(1L, other::add);
+        assertThat(received).isEmpty();
+        assertThat(waiters.size()).isEqualTo(2);
+
+        waiters.notifyTransition(order(1L, OrderStatus.FAILED));
+
+        assertThat(received).extracting(OrderDetailResponse::getStatus).containsExactly(OrderStatus.FAILED);
+        assertThat(other).containsExactlyElementsOf(received);
+        assertThat(waiters.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not call a cancelled waiter")
+    void shouldForgetCancelledWaiters() {
+        when(orderService.getOrder(1L)).thenReturn(detail(1L, OrderStatus.PENDING));
+        waiters.await(1L, waiter);
+
+        waiters.cancel(1L, waiter);
+        waiters.notifyTransition(order(1L, OrderStatus.PROCESSED));
+
+        assertThat(received).isEmpty();
+        assertThat(waiters.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject waiters beyond the limit and drop waiters of unknown orders")
+    void shouldBoundWaiters() {
+        when(orderService.getOrder(1L)).thenReturn(detail(1L, OrderStatus.PENDING));
+        when(orderService.getOrder(9L)).thenThrow(
+                new BusinessException(HttpStatus.NOT_FOUND, "ORDER_NOT_FOUND", "Order 9 not found"));
+
+        assertThatThrownBy(() -> waiters.await(9L, waiter)).isInstanceOf(BusinessException.class);
+        assertThat(waiters.size()).isZero();
+
+        waiters.await(1L, waiter);
+        waiters.await(1L, received::add);
+        assertThatThrownBy(() -> waiters.await(1L, waiter))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getCode()).isEqualTo("TOO_MANY_WAITERS"));
+        assertThat(waiters.size()).isEqualTo(2);
+    }
+
+    private static OrderDetailResponse detail(Long id, OrderStatus status) {
+        OrderDetailResponse detail = new OrderDetailResponse();
+        detail.setOrderId(id);
+        detail.setStatus(status);
+        return detail;
+    }
+
+    private static Order order(Long id, OrderStatus status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setStatus(status);
+        order.setTotalAmount(BigDecimal.TEN);
+        return order;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.loomi.orders.service.event;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.event.OrderEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+
+    @Test
+    @DisplayName("A send that throws should fail the batch future without skipping the records after it")
+    void shouldKeepSendingAfterSynchronousFailure() {
+        OrderEventPublisher publisher = new OrderEventPublisher(kafkaTemplate, "order-events",
+                OrderEventPartitionKey.ORDER_ID);
+        CompletableFuture<SendResult<String, OrderEvent>> acknowledged = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send(eq("order-events"), eq("1"), any())).thenThrow(new KafkaException("metadata timeout"));
+        when(kafkaTemplate.send(eq("order-events"), eq("2"), any())).thenReturn(acknowledged);
+
+        CompletableFuture<Void> sent = publisher.publishOrdersCreated(List.of(order(1L), order(2L)));
+
+        verify(kafkaTemplate).send(eq("order-events"), eq("2"), any());
+        assertThatThrownBy(sent::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(KafkaException.class);
+    }
+
+    private static Order order(long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerId("customer-" + id);
+        order.setTotalAmount(BigDecimal.TEN);
+        order.markPending();
+        return order;
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.loomi.orders.service.event;
+
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.persistence.ProcessedEventBatchWriter;
+import br.com.loomi.orders.persistence.ProcessedEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventStoreTest {
+
+    @Mock
+    private ProcessedEventRepository repository;
+
+    @Mock
+    private ProcessedEventBatchWriter batchWriter;
+
+    private ProcessedEventStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ProcessedEventStore(repository, batchWriter, 2, 24);
+    }
+
+    @Test
+    @DisplayName("Should report remembered events as duplicates")
+    void shouldReportRememberedEventsAsDuplicates() {
+        UUID eventId = UUID.randomUUID();
+
+        assertThat(store.isKnownDuplicate(eventId)).isFalse();
+
+        store.remember(eventId);
+
+        assertThat(store.isKnownDuplicate(eventId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used event ids beyond capacity")
+    void shouldEvictLeastRecentlyUsed() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        store.remember(first);
+        store.remember(second);
+        store.isKnownDuplicate(first);
+        store.remember(third);
+
+        assertThat(store.isKnownDuplicate(first)).isTrue();
+        assertThat(store.isKnownDuplicate(second)).isFalse();
+        assertThat(store.isKnownDuplicate(third)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should claim event only when it is not yet recorded")
+    void shouldClaimOnlyUnrecordedEvents() {
+        OrderEvent event = OrderEvent.of("ORDER_CREATED", Map.of("orderId", "1"));
+        when(repository.insertIfAbsent(eq(event.getEventId()), eq("ORDER_CREATED"), any(Instant.class)))
+                .thenReturn(1, 0);
+
+        assertThat(store.claim(event)).isTrue();
+        assertThat(store.claim(event)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should always claim events without id")
+    void shouldClaimEventsWithoutId() {
+        OrderEvent event = new OrderEvent();
+        event.setEventType("ORDER_CREATED");
+
+        assertThat(store.claim(event)).isTrue();
+        assertThat(store.isKnownDuplicate(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should claim a batch with one insert and leave events without id out of the result")
+    void shouldClaimBatch() {
+        OrderEvent fresh = OrderEvent.of("ORDER_CREATED", Map.of("orderId", "1"));
+        OrderEvent duplicate = OrderEvent.of("ORDER_CREATED", Map.of("orderId", "2"));
+        OrderEvent withoutId = new OrderEvent();
+        when(batchWriter.insertAllIfAbsent(eq(List.of(fresh, duplicate)), any(Instant.class)))
+                .thenReturn(List.of(fresh.getEventId()));
+
+        assertThat(store.claimAll(List.of(fresh, withoutId, duplicate))).containsExactly(fresh.getEventId());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database for a batch without event ids")
+    void shouldSkipBatchWithoutIds() {
+        assertThat(store.claimAll(List.of(new OrderEvent()))).isEmpty();
+        verifyNoInteractions(batchWriter);
+    }
+}
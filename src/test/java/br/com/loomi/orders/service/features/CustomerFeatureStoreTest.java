@@ -0,0 +1,96 @@
+package br.com.loomi.orders.service.features;
+
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.persistence.OrderOutcome;
+import br.com.loomi.orders.persistence.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerFeatureStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-15T12:30:00Z");
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+
+    @Test
+    @DisplayName("Should aggregate spend, orders and failures over 24h and 30d windows")
+    void shouldAggregateSlidingWindows() {
+        CustomerFeatureStore store = store(100, 10);
+
+        store.recordProcessed("customer-1", new BigDecimal("100.00"), NOW.minus(Duration.ofHours(1)));
+        store.recordFailed("customer-1", new BigDecimal("999.99"), NOW.minus(Duration.ofHours(2)));
+        store.recordProcessed("customer-1", new BigDecimal("50.50"), NOW.minus(Duration.ofDays(3)));
+        store.recordProcessed("customer-1", new BigDecimal("70.00"), NOW.minus(Duration.ofDays(40)));
+
+        CustomerFeatureSnapshot snapshot = store.snapshot("customer-1");
+
+        assertThat(snapshot.orders24h()).isEqualTo(2);
+        assertThat(snapshot.spend24hCents()).isEqualTo(10_000L);
+        assertThat(snapshot.orders30d()).isEqualTo(3);
+        assertThat(snapshot.spend30dCents()).isEqualTo(15_050L);
+        assertThat(snapshot.failures30d()).isEqualTo(1);
+        assertThat(snapshot.failureRate30d()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    @DisplayName("Should drop buckets that slid out of the window when the slot is reused")
+    void shouldResetReusedBuckets() {
+        CustomerFeatureStore store = store(100, 10);
+
+        store.recordProcessed("customer-1", new BigDecimal("10.00"), NOW.minus(Duration.ofHours(24)));
+        store.recordProcessed("customer-1", new BigDecimal("20.00"), NOW);
+        store.recordProcessed("customer-1", new BigDecimal("30.00"), NOW.minus(Duration.ofHours(48)));
+
+        CustomerFeatureSnapshot snapshot = store.snapshot("customer-1");
+        assertThat(snapshot.orders24h()).isEqualTo(1);
+        assertThat(snapshot.spend24hCents()).isEqualTo(2_000L);
+        assertThat(snapshot.orders30d()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used customer beyond the bound")
+    void shouldEvictLeastRecentlyUsedCustomer() {
+        CustomerFeatureStore store = store(2, 10);
+
+        store.recordProcessed("customer-1", BigDecimal.TEN, NOW);
+        store.recordProcessed("customer-2", BigDecimal.TEN, NOW);
+        store.snapshot("customer-1");
+        store.recordProcessed("customer-3", BigDecimal.TEN, NOW);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.snapshot("customer-2")).isEqualTo(CustomerFeatureSnapshot.EMPTY);
+        assertThat(store.snapshot("customer-1").orders24h()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should warm start from the orders table page by page")
+    void shouldWarmStartFromOrders() {
+        when(orderRepository.findOutcomesAfter(eq(0L), any(), any(), any())).thenReturn(List.of(
+                new OrderOutcome(1L, "customer-1", new BigDecimal("10.00"), OrderStatus.PROCESSED, NOW.minusSeconds(60)),
+                new OrderOutcome(2L, "customer-2", new BigDecimal("20.00"), OrderStatus.FAILED, NOW.minusSeconds(60))));
+        when(orderRepository.findOutcomesAfter(eq(2L), any(), any(), any())).thenReturn(List.of(
+                new OrderOutcome(3L, "customer-1", new BigDecimal("5.00"), OrderStatus.PROCESSED, NOW.minusSeconds(30))));
+        CustomerFeatureStore store = store(100, 2);
+
+        assertThat(store.warmStart()).isEqualTo(3);
+        assertThat(store.snapshot("customer-1").spend24hCents()).isEqualTo(1_500L);
+        assertThat(store.snapshot("customer-2").failures30d()).isEqualTo(1);
+    }
+
+    private CustomerFeatureStore store(int maxCustomers, int pageSize) {
+        return new CustomerFeatureStore(orderRepository, maxCustomers, true, pageSize, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.loomi.orders.service.fraud;
+
+import br.com.loomi.orders.config.FraudScoringProperties;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.service.features.CustomerFeatureSnapshot;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FraudScoringStageTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderMetricsService metricsService = new OrderMetricsService(meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private FraudScoringStage stage;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stage.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should map the score to a decision when it arrives within the budget")
+    void shouldDecideFromScore() {
+        stage = new FraudScoringStage(request -> request.amountCents() > 2_000_000L ? 0.9 : 0.65,
+                properties(Duration.ofSeconds(5), FraudDecision.APPROVE), metricsService);
+
+        assertThat(stage.await(stage.submit(order("25000"), CustomerFeatureSnapshot.EMPTY))).isEqualTo(FraudDecision.ALERT);
+        assertThat(stage.await(stage.submit(order("100"), CustomerFeatureSnapshot.EMPTY))).isEqualTo(FraudDecision.REVIEW);
+        assertThat(meterRegistry.get("fraud.score.duration").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("fraud.decision.total").tag("source", "scored").counters()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should apply the default decision when the scorer misses the budget")
+    void shouldApplyDefaultDecisionOnTimeout() {
+        stage = new FraudScoringStage(request -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return 1.0;
+        }, properties(Duration.ofMillis(20), FraudDecision.REVIEW), metricsService);
+
+        long start = System.nanoTime();
+        FraudDecision decision = stage.await(stage.submit(order("100"), CustomerFeatureSnapshot.EMPTY));
+
+        assertThat(decision).isEqualTo(FraudDecision.REVIEW);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("fraud.score.timeout.total").tag("cause", "timeout").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("fraud.decision.total").tag("source", "default").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should apply the default decision when the scorer fails")
+    void shouldApplyDefaultDecisionOnError() {
+        stage = new FraudScoringStage(request -> {
+            throw new IllegalStateException("model unavailable");
+        }, properties(Duration.ofSeconds(5), FraudDecision.ALERT), metricsService);
+
+        assertThat(stage.await(stage.submit(order("100"), CustomerFeatureSnapshot.EMPTY))).isEqualTo(FraudDecision.ALERT);
+        assertThat(meterRegistry.get("fraud.score.timeout.total").tag("cause", "error").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Heuristic scorer should combine amount, order velocity and failure rate")
+    void heuristicScorerShouldCombineAmountAndHistory() {
+        HeuristicFraudScorer scorer = new HeuristicFraudScorer();
+        stage = new FraudScoringStage(scorer, properties(Duration.ofSeconds(5), FraudDecision.APPROVE), metricsService);
+        CustomerFeatureSnapshot calm = new CustomerFeatureSnapshot(1, 10_000L, 3, 30_000L, 0);
+        CustomerFeatureSnapshot bursty = new CustomerFeatureSnapshot(11, 500_000L, 11, 500_000L, 0);
+        CustomerFeatureSnapshot failing = new CustomerFeatureSnapshot(0, 0L, 4, 10_000L, 2);
+
+        assertThat(scorer.score(request(10_000L, calm))).isZero();
+        assertThat(scorer.score(request(2_500_000L, calm))).isEqualTo(0.4);
+        assertThat(scorer.score(request(2_500_000L, bursty))).isEqualTo(0.7);
+        assertThat(scorer.score(request(10_000L, failing))).isEqualTo(0.2);
+    }
+
+    private static FraudScoringProperties properties(Duration budget, FraudDecision timeoutDecision) {
+        return new FraudScoringProperties(budget, timeoutDecision, 0.6, 0.8, 2, 10);
+    }
+
+    private static Order order(String total) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomerId("customer-1");
+        order.setItems(List.of());
+        order.setTotalAmount(new BigDecimal(total));
+        order.setCreatedAt(Instant.now());
+        return order;
+    }
+
+    private static FraudScoringRequest request(long amountCents, CustomerFeatureSnapshot history) {
+        return new FraudScoringRequest(1L, "customer-1", amountCents, 1, Instant.now(), history);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.loomi.orders.service.fraud;
+
+import br.com.loomi.orders.config.FraudScoringProperties;
+import br.com.loomi.orders.service.features.CustomerFeatureSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeuristicFraudScorerTest {
+
+    private static final CustomerFeatureSnapshot BURST = new CustomerFeatureSnapshot(5, 0L, 5, 0L, 0);
+    private static final CustomerFeatureSnapshot ABUSIVE = new CustomerFeatureSnapshot(10, 0L, 10, 0L, 6);
+
+    /** The defaults declared on the properties record, bound without any configuration. */
+    private final FraudScoringProperties defaults = new Binder(new MapConfigurationPropertySource(Map.of()))
+            .bindOrCreate("app.fraud", FraudScoringProperties.class);
+    private final HeuristicFraudScorer scorer = new HeuristicFraudScorer();
+
+    @ParameterizedTest
+    @ValueSource(longs = {2_000_000L, 5_000_000L, 6_000_000L})
+    @DisplayName("Should approve 20k, 50k and 60k orders from customers without suspicious history")
+    void shouldApproveLargeOrdersByDefault(long amountCents) {
+        assertThat(decide(amountCents, CustomerFeatureSnapshot.EMPTY)).isEqualTo(FraudDecision.APPROVE);
+        assertThat(decide(amountCents, BURST)).isEqualTo(FraudDecision.APPROVE);
+    }
+
+    @Test
+    @DisplayName("Should alert only orders above 20k from customers with a burst of failing orders")
+    void shouldAlertLargeOrdersWithAbusiveHistory() {
+        assertThat(decide(2_000_000L, ABUSIVE)).isEqualTo(FraudDecision.APPROVE);
+        assertThat(decide(5_000_000L, ABUSIVE)).isEqualTo(FraudDecision.ALERT);
+        assertThat(decide(6_000_000L, ABUSIVE)).isEqualTo(FraudDecision.ALERT);
+    }
+
+    @Test
+    @DisplayName("Should never send an order to manual approval with the default thresholds")
+    void shouldNotReviewByDefault() {
+        for (int tenths = 0; tenths <= 10; tenths++) {
+            assertThat(defaults.decide(tenths / 10.0)).isNotEqualTo(FraudDecision.REVIEW);
+        }
+    }
+
+    private FraudDecision decide(long amountCents, CustomerFeatureSnapshot history) {
+        double score = scorer.score(new FraudScoringRequest(1L, "customer-1", amountCents, 1, Instant.now(), history));
+        return defaults.decide(score);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.loomi.orders.service.mapping;
+
+import br.com.loomi.orders.domain.dto.CreateOrderItemRequest;
+import br.com.loomi.orders.domain.dto.CreateOrderRequest;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderMapperTest {
+
+    @Test
+    @DisplayName("Should price every item and sum the total in a single pass")
+    void shouldBuildPricedOrder() {
+        CreateOrderRequest request = request(item("BOOK-CC-001", 2), item("EBOOK-001", 3));
+        ProductInfo[] products = {product("BOOK-CC-001", "89.90"), product("EBOOK-001", "0.10")};
+
+        Order order = OrderMapper.toNewOrder(request, products);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(order.getCustomerId()).isEqualTo("customer-1");
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("180.10");
+        assertThat(order.getItems()).hasSize(2);
+        assertThat(order.getItems().get(0).getTotalPrice()).isEqualByComparingTo("179.80");
+        assertThat(order.getItems().get(1).getTotalPrice()).isEqualByComparingTo("0.30");
+        assertThat(order.getItems().get(1).getUnitPrice()).isEqualByComparingTo("0.10");
+        assertThat(order.getItems().get(1).getMetadata()).containsEntry("format", "EPUB");
+        assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getOrder()).isSameAs(order));
+    }
+
+    @Test
+    @DisplayName("Should price a single unit at two decimals whatever the scale of the catalog price")
+    void shouldPriceSingleUnitAtTwoDecimals() {
+        CreateOrderRequest request = request(item("BOOK-CC-001", 1));
+        ProductInfo[] products = {product("BOOK-CC-001", "89.9")};
+
+        Order order = OrderMapper.toNewOrder(request, products);
+
+        assertThat(order.getItems().get(0).getTotalPrice()).isEqualTo(new BigDecimal("89.90"));
+        assertThat(order.getTotalAmount()).isEqualTo(new BigDecimal("89.90"));
+        assertThat(order.getItems().get(0).getUnitPrice()).isEqualTo(new BigDecimal("89.9"));
+    }
+
+    @Test
+    @DisplayName("Should reject an item total that overflows the cents range")
+    void shouldRejectOverflow() {
+        CreateOrderRequest request = request(item("BOOK-CC-001", Integer.MAX_VALUE));
+        ProductInfo[] products = {product("BOOK-CC-001", "99999999999999.99")};
+
+        assertThatThrownBy(() -> OrderMapper.toNewOrder(request, products))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    private static CreateOrderRequest request(CreateOrderItemRequest... items) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId("customer-1");
+        request.setItems(List.of(items));
+        return request;
+    }
+
+    private static CreateOrderItemRequest item(String productId, int quantity) {
+        CreateOrderItemRequest item = new CreateOrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setMetadata(Map.of("format", "EPUB"));
+        return item;
+    }
+
+    private static ProductInfo product(String productId, String price) {
+        ProductInfo product = new ProductInfo();
+        product.setProductId(productId);
+        product.setProductType(ProductType.PHYSICAL);
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+}
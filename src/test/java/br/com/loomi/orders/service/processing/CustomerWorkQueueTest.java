@@ -0,0 +1,110 @@
+package br.com.loomi.orders.service.processing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class CustomerWorkQueueTest {
+
+    private CustomerWorkQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new CustomerWorkQueue(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run tasks of the same customer one at a time in submission order")
+    void shouldSerializeTasksPerCustomer() {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            int sequence = i;
+            futures.add(queue.submit("customer-001", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                executed.add(sequence);
+                running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(executed).hasSize(200).isSorted();
+        await().atMost(Duration.ofSeconds(5)).until(() -> queue.activeCustomers() == 0);
+    }
+
+    @Test
+    @DisplayName("Should run different customers in parallel")
+    void shouldRunDifferentCustomersInParallel() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Void> first = queue.submit("customer-001", () -> awaitQuietly(bothStarted));
+        CompletableFuture<Void> second = queue.submit("customer-002", () -> awaitQuietly(bothStarted));
+
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertThat(bothStarted.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep processing a customer after one of its tasks fails")
+    void shouldContinueAfterFailure() {
+        CompletableFuture<Void> failing = queue.submit("customer-001", () -> {
+            throw new IllegalStateException("boom");
+        });
+        AtomicInteger after = new AtomicInteger();
+        CompletableFuture<Void> next = queue.submit("customer-001", after::incrementAndGet);
+
+        next.join();
+        assertThat(after.get()).isEqualTo(1);
+        assertThatThrownBy(failing::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should hold the customer until the stage returned by an asynchronous task completes")
+    void shouldHoldCustomerUntilAsyncStageCompletes() throws Exception {
+        CompletableFuture<Void> released = new CompletableFuture<>();
+        AtomicInteger after = new AtomicInteger();
+
+        CompletableFuture<Void> first = queue.submitAsync("customer-001", () -> released);
+        CompletableFuture<Void> next = queue.submit("customer-001", after::incrementAndGet);
+
+        Thread.sleep(100);
+        assertThat(after.get()).isZero();
+        assertThat(first).isNotDone();
+
+        released.complete(null);
+        next.get(5, TimeUnit.SECONDS);
+        assertThat(after.get()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
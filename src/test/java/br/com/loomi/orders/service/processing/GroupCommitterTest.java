@@ -0,0 +1,109 @@
+package br.com.loomi.orders.service.processing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTest {
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private GroupCommitter<String, String> committer;
+
+    @AfterEach
+    void tearDown() {
+        committer.shutdown(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should write items queued behind a running batch together, up to the batch size")
+    void shouldGroupQueuedItems() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        committer = new GroupCommitter<>("test-commit", 4, Duration.ofMillis(1), 100, items -> {
+            batches.add(List.copyOf(items));
+            firstBatchStarted.countDown();
+            awaitQuietly(release);
+            return items.stream().map(String::toUpperCase).toList();
+        });
+
+        CompletableFuture<String> first = committer.submit("a");
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<String>> queued = new ArrayList<>();
+        for (String item : List.of("b", "c", "d", "e", "f", "g")) {
+            queued.add(committer.submit(item));
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(queued.get(5).get(5, TimeUnit.SECONDS)).isEqualTo("G");
+        assertThat(batches).containsExactly(List.of("a"), List.of("b", "c", "d", "e"), List.of("f", "g"));
+    }
+
+    @Test
+    @DisplayName("Should write a partial batch once the wait window ends")
+    void shouldFlushPartialBatchAfterMaxWait() throws Exception {
+        committer = new GroupCommitter<>("test-commit", 100, Duration.ofMillis(10), 100, items -> {
+            batches.add(List.copyOf(items));
+            return items;
+        });
+
+        assertThat(committer.submit("a").get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(batches).containsExactly(List.of("a"));
+    }
+
+    @Test
+    @DisplayName("Should retry every item alone after a batch fails, failing only the bad item")
+    void shouldIsolateFailuresByRetryingItemsAlone() {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        committer = new GroupCommitter<>("test-commit", 10, Duration.ofMillis(1), 100, items -> {
+            firstBatchStarted.countDown();
+            awaitQuietly(release);
+            if (items.contains("bad")) {
+                throw new IllegalStateException("rejected");
+            }
+            return items;
+        });
+
+        committer.submit("first");
+        awaitQuietly(firstBatchStarted);
+        CompletableFuture<String> good = committer.submit("good");
+        CompletableFuture<String> bad = committer.submit("bad");
+        CompletableFuture<String> other = committer.submit("other");
+        release.countDown();
+
+        assertThat(good.join()).isEqualTo("good");
+        assertThat(other.join()).isEqualTo("other");
+        assertThatThrownBy(bad::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject items submitted after shutdown")
+    void shouldRejectAfterShutdown() {
+        committer = new GroupCommitter<>("test-commit", 10, Duration.ofMillis(1), 100, items -> items);
+        committer.shutdown(Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> committer.submit("late").join())
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderItemProcessorRegistryTest {
+
+    @Test
+    @DisplayName("Should dispatch every product type to the processor declaring it")
+    void shouldDispatchByDeclaredType() {
+        List<OrderItemProcessor> processors = allTypes();
+        OrderItemProcessorRegistry registry = new OrderItemProcessorRegistry(processors);
+
+        for (ProductType type : ProductType.values()) {
+            assertThat(registry.processorFor(type).supportedType()).isEqualTo(type);
+        }
+        assertThat(registry.processorFor(null)).isNull();
+        assertThat(registry.processorNames()).containsOnlyKeys(ProductType.values());
+    }
+
+    @Test
+    @DisplayName("Should register proxied processors by their declared type")
+    void shouldRegisterProxiedProcessors() {
+        List<OrderItemProcessor> processors = allTypes();
+        ProxyFactory proxyFactory = new ProxyFactory(processors.get(0));
+        proxyFactory.setProxyTargetClass(true);
+        processors.set(0, (OrderItemProcessor) proxyFactory.getProxy());
+
+        OrderItemProcessorRegistry registry = new OrderItemProcessorRegistry(processors);
+
+        assertThat(registry.processorFor(ProductType.values()[0])).isSameAs(processors.get(0));
+        assertThat(registry.processorNames().get(ProductType.values()[0])).isEqualTo("StubProcessor");
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with two processors for the same type")
+    void shouldFailOnDuplicates() {
+        List<OrderItemProcessor> processors = allTypes();
+        processors.add(new StubProcessor(ProductType.DIGITAL));
+
+        assertThatThrownBy(() -> new OrderItemProcessorRegistry(processors))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("DIGITAL");
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with a product type without processor")
+    void shouldFailOnMissingType() {
+        List<OrderItemProcessor> processors = allTypes();
+        processors.removeIf(processor -> processor.supportedType() == ProductType.CORPORATE);
+
+        assertThatThrownBy(() -> new OrderItemProcessorRegistry(processors))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("CORPORATE");
+    }
+
+    private static List<OrderItemProcessor> allTypes() {
+        List<OrderItemProcessor> processors = new ArrayList<>();
+        Arrays.stream(ProductType.values()).forEach(type -> processors.add(new StubProcessor(type)));
+        return processors;
+    }
+
+    static class StubProcessor implements OrderItemProcessor {
+
+        private final ProductType type;
+
+        StubProcessor(ProductType type) {
+            this.type = type;
+        }
+
+        @Override
+        public ProductType supportedType() {
+            return type;
+        }
+
+        @Override
+        public void process(Order order, OrderItem item, OrderProcessingContext context) {
+        }
+    }
+}
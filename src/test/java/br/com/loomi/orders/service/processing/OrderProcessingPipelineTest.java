@@ -0,0 +1,144 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.config.ProcessingPipelineProperties;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProcessingPipelineTest {
+
+    @Mock
+    private OrderProcessingService stages;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderProcessingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new OrderProcessingPipeline(stages,
+                new ProcessingPipelineProperties(1, 1, Map.of()),
+                new OrderMetricsService(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run every stage in order on its own pool and time each one")
+    void shouldRunStagesInOrder() throws Exception {
+        OrderEvent event = event();
+        when(stages.load(event)).thenReturn(run(event));
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(inv -> threads.add(Thread.currentThread().getName())).when(stages).validate(any());
+        doAnswer(inv -> threads.add(Thread.currentThread().getName())).when(stages).reserve(any());
+        doAnswer(inv -> {
+            threads.add(Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(null);
+        }).when(stages).persist(any());
+        doAnswer(inv -> threads.add(Thread.currentThread().getName())).when(stages).publish(any());
+
+        pipeline.submit(event).completed().get(5, TimeUnit.SECONDS);
+
+        assertThat(threads).containsExactly(
+                "pipeline-validate-1", "pipeline-reserve-1", "pipeline-persist-1", "pipeline-publish-1");
+        for (PipelineStage stage : PipelineStage.values()) {
+            assertThat(meterRegistry.get("orders.pipeline.stage.duration").tag("stage", stage.name()).timer().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete without running later stages when the order is skipped on load")
+    void shouldSkipStagesWhenLoadSkipsTheOrder() throws Exception {
+        OrderEvent event = event();
+        when(stages.load(event)).thenReturn(null);
+
+        OrderProcessingPipeline.Submission submission = pipeline.submit(event);
+        submission.completed().get(5, TimeUnit.SECONDS);
+
+        assertThat(submission.persisted()).isCompleted();
+        verify(stages, never()).validate(any());
+        verify(stages, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should fail the submission and stop when a stage throws")
+    void shouldFailWhenAStageThrows() {
+        OrderEvent event = event();
+        when(stages.load(event)).thenThrow(new BusinessException(HttpStatus.NOT_FOUND, "ORDER_NOT_FOUND", "missing"));
+
+        OrderProcessingPipeline.Submission submission = pipeline.submit(event);
+
+        assertThatThrownBy(() -> submission.completed().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> submission.persisted().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BusinessException.class);
+        verify(stages, never()).persist(any());
+    }
+
+    @Test
+    @DisplayName("Should run a stage on the upstream thread instead of dropping orders when its queue is full")
+    void shouldApplyBackpressureWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> publishThreads = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(inv -> {
+            publishThreads.add(Thread.currentThread().getName());
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(stages).publish(any());
+        when(stages.persist(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(stages.load(any())).thenAnswer(inv -> run(inv.getArgument(0)));
+        List<CompletableFuture<Void>> completed = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            completed.add(pipeline.submit(event()).completed());
+        }
+        await().atMost(Duration.ofSeconds(5)).until(() -> publishThreads.contains("pipeline-persist-1"));
+        release.countDown();
+
+        CompletableFuture.allOf(completed.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(publishThreads).hasSize(4);
+    }
+
+    private static OrderEvent event() {
+        return OrderEvent.of("ORDER_CREATED", Map.of("orderId", 1L, "customerId", "customer-1"));
+    }
+
+    private static OrderRun run(OrderEvent event) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomerId("customer-1");
+        return new OrderRun(event, order, null);
+    }
+}
@@ -0,0 +1,360 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.persistence.OrderRepository;
+import br.com.loomi.orders.service.OrderStatusWaiters;
+import br.com.loomi.orders.service.event.OrderEventPublisher;
+import br.com.loomi.orders.service.event.ProcessedEventStore;
+import br.com.loomi.orders.service.features.CustomerFeatureStore;
+import br.com.loomi.orders.service.fraud.FraudDecision;
+import br.com.loomi.orders.service.fraud.FraudScoringStage;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.rules.OrderRuleEngine;
+import br.com.loomi.orders.service.rules.RuleAction;
+import br.com.loomi.orders.service.supporting.CorporateCreditService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProcessingServiceTest {
+
+    private static final long ORDER_ID = 42L;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemProcessorRegistry processorRegistry;
+
+    @Mock
+    private OrderItemProcessor processor;
+
+    @Mock
+    private OrderEventPublisher eventPublisher;
+
+    @Mock
+    private OrderMetricsService metricsService;
+
+    @Mock
+    private ProcessedEventStore processedEventStore;
+
+    @Mock
+    private OrderRuleEngine ruleEngine;
+
+    @Mock
+    private FraudScoringStage fraudScoringStage;
+
+    @Mock
+    private CustomerFeatureStore customerFeatureStore;
+
+    @Mock
+    private OrderStatusCommitter statusCommitter;
+
+    @Mock
+    private OrderStatusWaiters statusWaiters;
+
+    private final AtomicReference<OrderRun> committed = new AtomicReference<>();
+    private OrderProcessingService processingService;
+    private OrderEvent event;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        processingService = new OrderProcessingService(orderRepository, processorRegistry, eventPublisher,
+                metricsService, processedEventStore, ruleEngine, fraudScoringStage, customerFeatureStore,
+                statusCommitter, statusWaiters);
+        event = OrderEvent.of("ORDER_CREATED", Map.of("orderId", ORDER_ID));
+        order = new Order();
+        order.setId(ORDER_ID);
+        order.setCustomerId("customer-1");
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.markPending();
+        OrderItem item = new OrderItem();
+        item.setProductId("BOOK-CC-001");
+        item.setProductType(ProductType.PHYSICAL);
+        item.setQuantity(1);
+        order.setItems(List.of(item));
+    }
+
+    @Test
+    @DisplayName("Should skip an event that was already processed without reading the order")
+    void shouldSkipDuplicateEventOnLoad() {
+        when(processedEventStore.isProcessed(event.getEventId())).thenReturn(true);
+
+        processingService.processOrderCreated(event);
+
+        verify(metricsService).recordDuplicateEvent("store");
+        verifyNoInteractions(orderRepository, statusCommitter, eventPublisher, statusWaiters);
+    }
+
+    @Test
+    @DisplayName("Should skip an order that is no longer PENDING")
+    void shouldSkipNonPendingOrderOnLoad() {
+        order.markProcessed();
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+
+        processingService.processOrderCreated(event);
+
+        verifyNoInteractions(statusCommitter, eventPublisher, statusWaiters, fraudScoringStage);
+    }
+
+    @Test
+    @DisplayName("Should reject an event for an unknown order")
+    void shouldFailForUnknownOrder() {
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> processingService.processOrderCreated(event))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo("ORDER_NOT_FOUND");
+        verifyNoInteractions(statusCommitter);
+    }
+
+    @Test
+    @DisplayName("Should process the order and publish only after the transition committed")
+    void shouldProcessAndPublishAfterCommit() {
+        stubProcessing(FraudDecision.APPROVE);
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PROCESSED);
+        InOrder inOrder = inOrder(processor, statusCommitter, eventPublisher, statusWaiters);
+        inOrder.verify(processor).process(eq(order), any(), any());
+        inOrder.verify(statusCommitter).commit(any());
+        inOrder.verify(eventPublisher).publishOrderProcessed(order);
+        inOrder.verify(statusWaiters).notifyTransition(order);
+        verify(metricsService).recordOrderProcessed(OrderStatus.PROCESSED);
+    }
+
+    @Test
+    @DisplayName("Should send the order to manual approval, ahead of a failure reason")
+    void shouldPreferPendingApprovalOverFailureReason() {
+        stubProcessing(FraudDecision.APPROVE);
+        fireRule(RuleAction.FAIL_PAYMENT);
+        doAnswer(inv -> {
+            OrderProcessingContext context = inv.getArgument(2);
+            context.setPendingApproval(true);
+            context.setFailureMessage("Corporate order above approval threshold");
+            return null;
+        }).when(processor).process(any(), any(), any());
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(committed.get().outcome()).isEqualTo(OrderStatus.PENDING_APPROVAL);
+        assertThat(committed.get().failureReason()).isEqualTo(OrderFailureReason.PENDING_MANUAL_APPROVAL);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING_APPROVAL);
+        verify(eventPublisher).publishOrderPendingApproval(order);
+        verify(metricsService).recordOrderProcessed(OrderStatus.PENDING_APPROVAL);
+    }
+
+    @Test
+    @DisplayName("Should fail with the rule's reason when nothing requires approval")
+    void shouldFailWithRuleReason() {
+        stubProcessing(FraudDecision.APPROVE);
+        fireRule(RuleAction.FAIL_PAYMENT);
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(eventPublisher).publishOrderFailed(order, OrderFailureReason.PAYMENT_FAILED, "Payment simulation failed");
+        verify(metricsService).recordOrderFailed("PAYMENT_FAILED");
+    }
+
+    @Test
+    @DisplayName("A fraud alert should override a pending manual approval")
+    void fraudAlertShouldOverridePendingApproval() {
+        stubProcessing(FraudDecision.ALERT);
+        doAnswer(inv -> {
+            OrderProcessingContext context = inv.getArgument(2);
+            context.setPendingApproval(true);
+            return null;
+        }).when(processor).process(any(), any(), any());
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        assertThat(order.getFailureReason()).isEqualTo(OrderFailureReason.FRAUD_ALERT);
+        verify(eventPublisher).publishFraudAlert(String.valueOf(ORDER_ID), order.getTotalAmount());
+        verify(eventPublisher, never()).publishOrderPendingApproval(any());
+    }
+
+    @Test
+    @DisplayName("Should map a business error code to its failure reason")
+    void shouldMapBusinessErrorToFailureReason() {
+        stubProcessing(null);
+        doThrow(new BusinessException(HttpStatus.BAD_REQUEST, "OUT_OF_STOCK", "Not enough stock for BOOK-CC-001"))
+                .when(processor).process(any(), any(), any());
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(order.getFailureReason()).isEqualTo(OrderFailureReason.OUT_OF_STOCK);
+        verify(eventPublisher).publishOrderFailed(order, OrderFailureReason.OUT_OF_STOCK,
+                "Not enough stock for BOOK-CC-001");
+        verify(fraudScoringStage, never()).await(any());
+    }
+
+    @Test
+    @DisplayName("Should map an unknown business error code to INVALID_REQUEST")
+    void shouldMapUnknownBusinessErrorToInvalidRequest() {
+        stubProcessing(null);
+        doThrow(new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "WAREHOUSE_DOWN", "Warehouse is down"))
+                .when(processor).process(any(), any(), any());
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        verify(eventPublisher).publishOrderFailed(order, OrderFailureReason.INVALID_REQUEST, "Warehouse is down");
+    }
+
+    @Test
+    @DisplayName("Should fail an unexpected error with a generic message stored and the cause published")
+    void shouldFailUnexpectedError() {
+        stubProcessing(null);
+        doThrow(new IllegalStateException("boom")).when(processor).process(any(), any(), any());
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(committed.get().failureMessage()).isEqualTo("Unexpected processing error");
+        assertThat(order.getFailureReason()).isEqualTo(OrderFailureReason.PAYMENT_FAILED);
+        verify(eventPublisher).publishOrderFailed(order, OrderFailureReason.PAYMENT_FAILED, "boom");
+    }
+
+    @Test
+    @DisplayName("Should fail in the validate stage when a before-order hook rejects the order")
+    void shouldFailInValidateStage() {
+        stubProcessing(null);
+        doThrow(new BusinessException(HttpStatus.BAD_REQUEST, "INCOMPATIBLE_SUBSCRIPTIONS", "Incompatible plans"))
+                .when(processor).beforeOrder(any(), any(), any());
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        verify(processor, never()).process(any(), any(), any());
+        verify(eventPublisher).publishOrderFailed(order, OrderFailureReason.INCOMPATIBLE_SUBSCRIPTIONS,
+                "Incompatible plans");
+    }
+
+    @Test
+    @DisplayName("Should publish nothing when the committer reports a duplicate or a conflict")
+    void shouldNotPublishWithoutTransition() {
+        stubProcessing(FraudDecision.APPROVE);
+        commitTransitions(false);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        verify(statusCommitter).commit(any());
+        verifyNoInteractions(eventPublisher, statusWaiters);
+        verify(metricsService, never()).recordOrderProcessed(any());
+    }
+
+    @Test
+    @DisplayName("Should release the corporate credit reserved by an order that ends FAILED")
+    void shouldReleaseCreditOfFailedOrder() {
+        CorporateCreditService creditService = new CorporateCreditService();
+        stubProcessing(FraudDecision.APPROVE);
+        fireRule(RuleAction.FAIL_PAYMENT);
+        reserveCredit(creditService);
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        assertThat(creditService.getUsedCredit("customer-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the corporate credit of a run whose outcome was not committed")
+    void shouldReleaseCreditWithoutTransition() {
+        CorporateCreditService creditService = new CorporateCreditService();
+        stubProcessing(FraudDecision.APPROVE);
+        reserveCredit(creditService);
+        commitTransitions(false);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(creditService.getUsedCredit("customer-1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the corporate credit reserved by a processed order")
+    void shouldKeepCreditOfProcessedOrder() {
+        CorporateCreditService creditService = new CorporateCreditService();
+        stubProcessing(FraudDecision.APPROVE);
+        reserveCredit(creditService);
+        commitTransitions(true);
+
+        processingService.processOrderCreated(event);
+
+        assertThat(creditService.getUsedCredit("customer-1")).isEqualByComparingTo("100.00");
+    }
+
+    private void reserveCredit(CorporateCreditService creditService) {
+        doAnswer(inv -> {
+            OrderProcessingContext context = inv.getArgument(2);
+            context.addCreditReservation(creditService.validateAndReserve("customer-1", new BigDecimal("100.00")));
+            return null;
+        }).when(processor).process(any(), any(), any());
+    }
+
+    private void stubProcessing(FraudDecision decision) {
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(processorRegistry.processorFor(ProductType.PHYSICAL)).thenReturn(processor);
+        if (decision != null) {
+            when(fraudScoringStage.await(any())).thenReturn(decision);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fireRule(RuleAction action) {
+        doAnswer(inv -> {
+            ((Consumer<RuleAction>) inv.getArgument(1)).accept(action);
+            return null;
+        }).when(ruleEngine).evaluate(anyLong(), any());
+    }
+
+    /**
+     * Stubs the committer to either perform the transition or report that it was skipped,
+     * keeping the run it was handed.
+     */
+    private void commitTransitions(boolean transitioned) {
+        when(statusCommitter.commit(any())).thenAnswer(inv -> {
+            OrderRun run = inv.getArgument(0);
+            committed.set(run);
+            run.setTransitioned(transitioned);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+}
@@ -0,0 +1,260 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.OrderStatus;
+import br.com.loomi.orders.domain.event.OrderEvent;
+import br.com.loomi.orders.persistence.OrderStatusWriter;
+import br.com.loomi.orders.persistence.OrderTransition;
+import br.com.loomi.orders.service.OrderDetailCache;
+import br.com.loomi.orders.service.event.ProcessedEventStore;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusCommitterTest {
+
+    @Mock
+    private OrderStatusWriter statusWriter;
+
+    @Mock
+    private ProcessedEventStore processedEventStore;
+
+    @Mock
+    private OrderMetricsService metricsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderDetailCache detailCache;
+
+    private OrderStatusCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        committer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should claim the event and write the transition, then bump the order the caller holds")
+    void shouldWriteTransition() throws Exception {
+        committer = committer(1, 0);
+        OrderRun run = run(1L, OrderStatus.PROCESSED);
+        when(processedEventStore.claimAll(List.of(run.event()))).thenReturn(claimed(run));
+        when(statusWriter.transitionFromPending(anyList(), any())).thenReturn(new boolean[]{true});
+
+        committer.commit(run).get(5, TimeUnit.SECONDS);
+
+        assertThat(run.transitioned()).isTrue();
+        assertThat(run.order().getVersion()).isEqualTo(3L);
+        assertThat(run.order().getUpdatedAt()).isNotNull();
+        verify(statusWriter).transitionFromPending(
+                eq(List.of(new OrderTransition(run.order(), OrderStatus.PROCESSED, null, null))), any());
+        verify(detailCache).invalidate(1L);
+        verify(metricsService).recordGroupCommit(eq(1), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should pass the failure reason and message to the FAILED transition")
+    void shouldWriteFailure() throws Exception {
+        committer = committer(1, 0);
+        OrderRun run = run(1L, OrderStatus.FAILED);
+        when(processedEventStore.claimAll(List.of(run.event()))).thenReturn(claimed(run));
+        when(statusWriter.transitionFromPending(anyList(), any())).thenReturn(new boolean[]{true});
+
+        committer.commit(run).get(5, TimeUnit.SECONDS);
+
+        assertThat(run.transitioned()).isTrue();
+        verify(statusWriter).transitionFromPending(eq(List.of(new OrderTransition(run.order(), OrderStatus.FAILED,
+                OrderFailureReason.OUT_OF_STOCK, "Not enough stock"))), any());
+    }
+
+    @Test
+    @DisplayName("Should report a conflict and leave the order untouched when it is no longer PENDING")
+    void shouldReportConflictWhenGuardFails() throws Exception {
+        committer = committer(1, 0);
+        OrderRun run = run(1L, OrderStatus.PENDING_APPROVAL);
+        when(processedEventStore.claimAll(List.of(run.event()))).thenReturn(claimed(run));
+        when(statusWriter.transitionFromPending(anyList(), any())).thenReturn(new boolean[]{false});
+
+        committer.commit(run).get(5, TimeUnit.SECONDS);
+
+        assertThat(run.transitioned()).isFalse();
+        assertThat(run.order().getVersion()).isEqualTo(2L);
+        verify(metricsService).recordStatusTransitionConflict(OrderStatus.PENDING_APPROVAL);
+        verifyNoInteractions(detailCache);
+    }
+
+    @Test
+    @DisplayName("Should skip the write when another delivery already claimed the event")
+    void shouldSkipDuplicate() throws Exception {
+        committer = committer(1, 0);
+        OrderRun run = run(1L, OrderStatus.PROCESSED);
+        when(processedEventStore.claimAll(List.of(run.event()))).thenReturn(new HashSet<>());
+        when(statusWriter.transitionFromPending(anyList(), any())).thenReturn(new boolean[0]);
+
+        committer.commit(run).get(5, TimeUnit.SECONDS);
+
+        assertThat(run.transitioned()).isFalse();
+        verify(statusWriter).transitionFromPending(eq(List.of()), any());
+        verify(metricsService).recordDuplicateEvent("store");
+    }
+
+    @Test
+    @DisplayName("Should write a whole batch with one claim and one transition call")
+    void shouldWriteBatchTogether() throws Exception {
+        committer = committer(3, 1_000);
+        OrderRun first = run(1L, OrderStatus.PROCESSED);
+        OrderRun redelivered = new OrderRun(first.event(), order(1L, 2L), null);
+        redelivered.complete(OrderStatus.PROCESSED, null, null);
+        OrderRun stale = run(2L, OrderStatus.PROCESSED);
+        when(processedEventStore.claimAll(List.of(first.event(), redelivered.event(), stale.event())))
+                .thenReturn(claimed(first, stale));
+        when(statusWriter.transitionFromPending(anyList(), any())).thenReturn(new boolean[]{true, false});
+
+        CompletableFuture.allOf(committer.commit(first), committer.commit(redelivered), committer.commit(stale))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(first.transitioned()).isTrue();
+        assertThat(redelivered.transitioned()).isFalse();
+        assertThat(stale.transitioned()).isFalse();
+        verify(statusWriter, times(1)).transitionFromPending(eq(List.of(
+                new OrderTransition(first.order(), OrderStatus.PROCESSED, null, null),
+                new OrderTransition(stale.order(), OrderStatus.PROCESSED, null, null))), any());
+        verify(metricsService).recordDuplicateEvent("store");
+        verify(metricsService).recordStatusTransitionConflict(OrderStatus.PROCESSED);
+        verify(metricsService).recordGroupCommit(eq(3), anyLong());
+    }
+
+    @Test
+    @DisplayName("A failing batch should be retried order by order, failing only the bad order")
+    void shouldRetryBatchAloneOnFailure() throws Exception {
+        committer = committer(2, 1_000);
+        OrderRun bad = run(1L, OrderStatus.PROCESSED);
+        OrderRun good = run(2L, OrderStatus.PROCESSED);
+        when(processedEventStore.claimAll(anyList())).thenAnswer(inv -> {
+            List<OrderEvent> events = inv.getArgument(0);
+            Set<UUID> ids = new HashSet<>();
+            events.forEach(event -> ids.add(event.getEventId()));
+            return ids;
+        });
+        when(statusWriter.transitionFromPending(anyList(), any())).thenAnswer(inv -> {
+            List<OrderTransition> transitions = inv.getArgument(0);
+            if (transitions.stream().anyMatch(t -> t.order() == bad.order())) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            return new boolean[]{true};
+        });
+
+        CompletableFuture<Void> badCommit = committer.commit(bad);
+        CompletableFuture<Void> goodCommit = committer.commit(good);
+
+        goodCommit.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> badCommit.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        assertThat(good.transitioned()).isTrue();
+        assertThat(bad.transitioned()).isFalse();
+        assertThat(bad.order().getVersion()).isEqualTo(2L);
+        verify(metricsService, times(1)).recordGroupCommit(eq(1), anyLong());
+    }
+
+    @Test
+    @DisplayName("A stalled continuation should not hold up the batches behind it")
+    void shouldNotRunContinuationsOnCollectorThread() throws Exception {
+        committer = committer(1, 0);
+        OrderRun first = run(1L, OrderStatus.PROCESSED);
+        OrderRun second = run(2L, OrderStatus.PROCESSED);
+        when(processedEventStore.claimAll(anyList())).thenReturn(claimed(first), claimed(second));
+        when(statusWriter.transitionFromPending(anyList(), any())).thenReturn(new boolean[]{true});
+        CountDownLatch release = new CountDownLatch(1);
+        String[] continuationThread = new String[1];
+        doAnswer(inv -> {
+            continuationThread[0] = Thread.currentThread().getName();
+            awaitQuietly(release);
+            return null;
+        }).when(detailCache).invalidate(1L);
+
+        CompletableFuture<Void> stalled = committer.commit(first);
+        verify(detailCache, timeout(5_000)).invalidate(1L);
+        CompletableFuture<Void> next = committer.commit(second);
+
+        next.get(5, TimeUnit.SECONDS);
+        assertThat(stalled).isNotDone();
+        release.countDown();
+        stalled.get(5, TimeUnit.SECONDS);
+        assertThat(continuationThread[0]).startsWith("order-status-commit-callback-");
+    }
+
+    private OrderStatusCommitter committer(int maxBatchSize, long maxWaitMs) {
+        return new OrderStatusCommitter(statusWriter, processedEventStore, metricsService, transactionTemplate,
+                detailCache, maxBatchSize, maxWaitMs, 16, 2);
+    }
+
+    private static Set<UUID> claimed(OrderRun... runs) {
+        Set<UUID> ids = new HashSet<>();
+        for (OrderRun run : runs) {
+            ids.add(run.event().getEventId());
+        }
+        return ids;
+    }
+
+    private static OrderRun run(long orderId, OrderStatus outcome) {
+        OrderRun run = new OrderRun(OrderEvent.of("ORDER_CREATED", Map.of("orderId", orderId)), order(orderId, 2L), null);
+        if (outcome == OrderStatus.FAILED) {
+            run.complete(outcome, OrderFailureReason.OUT_OF_STOCK, "Not enough stock");
+        } else {
+            run.complete(outcome, null, null);
+        }
+        return run;
+    }
+
+    private static Order order(long id, long version) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerId("customer-" + id);
+        order.setVersion(version);
+        order.markPending();
+        return order;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.OrderFailureReason;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.supporting.SubscriptionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderViewTest {
+
+    @Test
+    @DisplayName("Should group items by product type in a single pass")
+    void shouldGroupItemsByType() {
+        Order order = order(
+                item("BOOK-CC-001", ProductType.PHYSICAL),
+                item("SUB-BASIC-001", ProductType.SUBSCRIPTION),
+                item("BOOK-DDD-002", ProductType.PHYSICAL));
+
+        OrderView view = OrderView.of(order);
+
+        assertThat(view.itemCount()).isEqualTo(3);
+        assertThat(view.initialTotal()).isEqualByComparingTo("300");
+        assertThat(view.presentTypes()).containsExactly(ProductType.PHYSICAL, ProductType.SUBSCRIPTION);
+        assertThat(view.items(ProductType.PHYSICAL)).extracting(OrderItem::getProductId)
+                .containsExactly("BOOK-CC-001", "BOOK-DDD-002");
+        assertThat(view.items(ProductType.DIGITAL)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Subscription processor should decide plan compatibility once before the items")
+    void subscriptionProcessorShouldCheckCompatibilityBeforeItems() {
+        Order order = order(
+                item("SUB-ENTERPRISE-001", ProductType.SUBSCRIPTION),
+                item("SUB-BASIC-001", ProductType.SUBSCRIPTION));
+        SubscriptionService subscriptionService = new SubscriptionService(
+                new OrderMetricsService(new SimpleMeterRegistry()), 30, 60_000, 65_536);
+        SubscriptionOrderItemProcessor processor = new SubscriptionOrderItemProcessor(subscriptionService);
+        OrderProcessingContext context = new OrderProcessingContext();
+
+        processor.beforeOrder(order, OrderView.of(order), context);
+        for (OrderItem item : order.getItems()) {
+            processor.process(order, item, context);
+        }
+
+        assertThat(context.getSubscriptionsCompatible()).isFalse();
+        assertThat(context.getFailureReason()).isEqualTo(OrderFailureReason.INCOMPATIBLE_SUBSCRIPTIONS);
+        assertThat(subscriptionService.getActiveSubscriptionCount("customer-1")).isZero();
+    }
+
+    private static Order order(OrderItem... items) {
+        Order order = new Order();
+        order.setCustomerId("customer-1");
+        order.setItems(List.of(items));
+        order.setTotalAmount(BigDecimal.valueOf(100L * items.length));
+        return order;
+    }
+
+    private static OrderItem item(String productId, ProductType type) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setProductType(type);
+        item.setQuantity(1);
+        item.setTotalPrice(BigDecimal.valueOf(100));
+        return item;
+    }
+}
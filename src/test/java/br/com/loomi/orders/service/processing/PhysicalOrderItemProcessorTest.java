@@ -0,0 +1,99 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.config.FlashSaleProperties;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.catalog.ProductCatalogService;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+import br.com.loomi.orders.service.event.OrderEventPublisher;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import br.com.loomi.orders.service.supporting.AvailabilityView;
+import br.com.loomi.orders.service.supporting.InventoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PhysicalOrderItemProcessorTest {
+
+    private static final String SKU = "BOOK-FLASH-001";
+
+    @Mock
+    private ProductCatalogService catalogService;
+
+    @Mock
+    private OrderEventPublisher eventPublisher;
+
+    @Mock
+    private OrderMetricsService metricsService;
+
+    private AvailabilityView availabilityView;
+
+    @Test
+    @DisplayName("Flash-sale reservations should not make the availability pre-check reject while stock remains")
+    void flashSaleShouldNotLockAvailabilityLow() {
+        PhysicalOrderItemProcessor processor = processorWithStock(10_000);
+
+        // 1,250 units per sub-pool: this thread drains its home sub-pool down to 30 units
+        // while the other seven stay full, 8,780 units in total.
+        for (int i = 0; i < 61; i++) {
+            processor.process(order(), item(20), new OrderProcessingContext());
+        }
+
+        assertThat(availabilityView.isClearlyUnavailable(SKU, 5_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A sold-out flash-sale SKU should be rejected by the pre-check")
+    void soldOutFlashSaleShouldBeRejected() {
+        PhysicalOrderItemProcessor processor = processorWithStock(40);
+
+        processor.process(order(), item(40), new OrderProcessingContext());
+        assertThatThrownBy(() -> processor.process(order(), item(1), new OrderProcessingContext()))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(availabilityView.isClearlyUnavailable(SKU, 1)).isTrue();
+    }
+
+    private PhysicalOrderItemProcessor processorWithStock(int stock) {
+        ProductInfo product = new ProductInfo();
+        product.setProductId(SKU);
+        product.setProductType(ProductType.PHYSICAL);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStock(stock);
+        when(catalogService.getRequiredProduct(SKU)).thenReturn(product);
+
+        availabilityView = new AvailabilityView(true);
+        InventoryService inventoryService = new InventoryService(new FlashSaleProperties(Set.of(SKU), 8));
+        return new PhysicalOrderItemProcessor(catalogService, inventoryService, eventPublisher, metricsService,
+                availabilityView);
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomerId("customer-1");
+        order.setItems(List.of());
+        return order;
+    }
+
+    private static OrderItem item(int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProductId(SKU);
+        item.setProductType(ProductType.PHYSICAL);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
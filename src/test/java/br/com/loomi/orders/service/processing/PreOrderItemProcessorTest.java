@@ -0,0 +1,93 @@
+package br.com.loomi.orders.service.processing;
+
+import br.com.loomi.orders.config.FlashSaleProperties;
+import br.com.loomi.orders.domain.entity.Order;
+import br.com.loomi.orders.domain.entity.OrderItem;
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.catalog.ProductCatalogService;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+import br.com.loomi.orders.service.supporting.AvailabilityView;
+import br.com.loomi.orders.service.supporting.PreOrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PreOrderItemProcessorTest {
+
+    private static final String SKU = "GAME-FLASH-001";
+
+    @Mock
+    private ProductCatalogService catalogService;
+
+    private AvailabilityView availabilityView;
+
+    @Test
+    @DisplayName("Flash-sale pre-order reservations should not record slots that could read low")
+    void flashSaleShouldNotRecordSlotsWhileOpen() {
+        PreOrderItemProcessor processor = processorWithSlots(10_000);
+
+        for (int i = 0; i < 61; i++) {
+            processor.process(order(), item(20), new OrderProcessingContext());
+        }
+
+        assertThat(availabilityView.lastKnownAvailable(SKU)).isNull();
+        assertThat(availabilityView.isClearlyUnavailable(SKU, 5_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A sold-out flash-sale pre-order should be rejected by the pre-check")
+    void soldOutFlashSaleShouldBeRejected() {
+        PreOrderItemProcessor processor = processorWithSlots(40);
+
+        processor.process(order(), item(40), new OrderProcessingContext());
+        assertThatThrownBy(() -> processor.process(order(), item(1), new OrderProcessingContext()))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(availabilityView.isClearlyUnavailable(SKU, 1)).isTrue();
+    }
+
+    private PreOrderItemProcessor processorWithSlots(int slots) {
+        ProductInfo product = new ProductInfo();
+        product.setProductId(SKU);
+        product.setProductType(ProductType.PRE_ORDER);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setReleaseDate(LocalDate.now().plusDays(30));
+        product.setPreOrderSlots(slots);
+        when(catalogService.getRequiredProduct(SKU)).thenReturn(product);
+
+        availabilityView = new AvailabilityView(true);
+        PreOrderService preOrderService = new PreOrderService(catalogService,
+                new FlashSaleProperties(Set.of(SKU), 8));
+        return new PreOrderItemProcessor(preOrderService, availabilityView);
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomerId("customer-1");
+        order.setItems(List.of());
+        return order;
+    }
+
+    private static OrderItem item(int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProductId(SKU);
+        item.setProductType(ProductType.PRE_ORDER);
+        item.setQuantity(quantity);
+        item.setTotalPrice(new BigDecimal("200.00"));
+        return item;
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.loomi.orders.service.rules;
+
+import br.com.loomi.orders.config.OrderRulesProperties;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderRuleEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderMetricsService metricsService = new OrderMetricsService(meterRegistry);
+
+    @Test
+    @DisplayName("Should fire threshold rules strictly above the amount, in rule order")
+    void shouldFireThresholdRulesInOrder() {
+        OrderRuleEngine engine = new OrderRuleEngine(new OrderRulesProperties(List.of(
+                rule("high-value", RuleAction.FLAG_HIGH_VALUE, "10000", 1.0),
+                rule("fraud-alert", RuleAction.FRAUD_ALERT, "20000", 1.0)
+        ), null), metricsService);
+
+        assertThat(fired(engine, "10000.00")).isEmpty();
+        assertThat(fired(engine, "10000.01")).containsExactly(RuleAction.FLAG_HIGH_VALUE);
+        assertThat(fired(engine, "25000")).containsExactly(RuleAction.FLAG_HIGH_VALUE, RuleAction.FRAUD_ALERT);
+        assertThat(meterRegistry.get("orders.rules.evaluation").tag("rule", "fraud-alert").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should round fractions of a cent up so thresholds stay strict")
+    void shouldRoundFractionsOfCentUp() {
+        assertThat(OrderRuleEngine.toCents(new BigDecimal("10000.001"))).isEqualTo(1_000_001L);
+        assertThat(OrderRuleEngine.toCents(new BigDecimal("10000"))).isEqualTo(1_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should draw the same simulated outcomes for the same seed")
+    void shouldBeDeterministicWithSeed() {
+        List<OrderRulesProperties.Rule> rules = List.of(
+                rule("payment-simulation", RuleAction.FAIL_PAYMENT, null, 0.5));
+
+        OrderRuleEngine first = new OrderRuleEngine(new OrderRulesProperties(rules, 42L), metricsService);
+        OrderRuleEngine second = new OrderRuleEngine(new OrderRulesProperties(rules, 42L), metricsService);
+
+        List<Integer> firstRun = new ArrayList<>();
+        List<Integer> secondRun = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            firstRun.add(fired(first, "100").size());
+            secondRun.add(fired(second, "100").size());
+        }
+
+        assertThat(firstRun).isEqualTo(secondRun).contains(0, 1);
+    }
+
+    @Test
+    @DisplayName("Should use the built-in rules when none are configured")
+    void shouldDefaultToBuiltInRules() {
+        OrderRuleEngine engine = new OrderRuleEngine(new OrderRulesProperties(null, null), metricsService);
+
+        assertThat(engine.ruleNames()).containsExactly("high-value", "payment-simulation");
+    }
+
+    @Test
+    @DisplayName("Should swap rules on reload and keep the active rules when the new ones are invalid")
+    void shouldReloadAtomically() {
+        OrderRuleEngine engine = new OrderRuleEngine(new OrderRulesProperties(List.of(
+                rule("high-value", RuleAction.FLAG_HIGH_VALUE, "10000", 1.0)), null), metricsService);
+
+        engine.reload(new OrderRulesProperties(List.of(
+                rule("high-value", RuleAction.FLAG_HIGH_VALUE, "5000", 1.0)), null));
+        assertThat(fired(engine, "6000")).containsExactly(RuleAction.FLAG_HIGH_VALUE);
+
+        assertThatThrownBy(() -> engine.reload(new OrderRulesProperties(List.of(
+                rule("high-value", RuleAction.FLAG_HIGH_VALUE, "1000", 1.0),
+                rule("high-value", RuleAction.FAIL_PAYMENT, null, 2.0)), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(fired(engine, "3000")).isEmpty();
+        assertThat(engine.ruleNames()).containsExactly("high-value");
+    }
+
+    private static OrderRulesProperties.Rule rule(String name, RuleAction action, String minAmount, double probability) {
+        return new OrderRulesProperties.Rule(name, action, minAmount != null ? new BigDecimal(minAmount) : null, probability);
+    }
+
+    private static List<RuleAction> fired(OrderRuleEngine engine, String amount) {
+        List<RuleAction> actions = new ArrayList<>();
+        engine.evaluate(OrderRuleEngine.toCents(new BigDecimal(amount)), actions::add);
+        return actions;
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.loomi.orders.service.rules;
+
+import br.com.loomi.orders.config.OrderRulesProperties;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderRulesEndpointTest {
+
+    private final OrderRuleEngine engine = new OrderRuleEngine(
+            new OrderRulesProperties(null, null), new OrderMetricsService(new SimpleMeterRegistry()));
+    private final OrderRulesEndpoint endpoint = new OrderRulesEndpoint(engine);
+
+    @Test
+    @DisplayName("Should compile and apply the definitions sent to the endpoint")
+    void shouldApplyChangedDefinitions() {
+        assertThat(fired(5_000_00L)).isEmpty();
+
+        List<String> active = endpoint.reload(List.of(
+                Map.of("name", "big-order", "action", "FLAG_HIGH_VALUE", "minAmount", 1000),
+                Map.of("name", "huge-order", "action", "FRAUD_ALERT", "min-amount", "4000.00", "probability", 1.0)
+        ), 7L);
+
+        assertThat(active).containsExactly("big-order", "huge-order");
+        assertThat(endpoint.rules()).containsExactly("big-order", "huge-order");
+        assertThat(fired(5_000_00L)).containsExactly(RuleAction.FLAG_HIGH_VALUE, RuleAction.FRAUD_ALERT);
+        assertThat(fired(2_000_00L)).containsExactly(RuleAction.FLAG_HIGH_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid definitions and keep the active rules")
+    void shouldRejectInvalidDefinitions() {
+        List<String> before = endpoint.rules();
+
+        assertThatThrownBy(() -> endpoint.reload(List.of(Map.of("name", "no-action")), null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("needs an action");
+        assertThatThrownBy(() -> endpoint.reload(List.of(Map.of("name", "bad", "action", "NOT_AN_ACTION")), null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.reload(List.of(), null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+
+        assertThat(endpoint.rules()).isEqualTo(before);
+    }
+
+    private List<RuleAction> fired(long amountCents) {
+        List<RuleAction> actions = new ArrayList<>();
+        engine.evaluate(amountCents, actions::add);
+        return actions;
+    }
+}
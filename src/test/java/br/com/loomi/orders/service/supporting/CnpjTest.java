@@ -0,0 +1,53 @@
+package br.com.loomi.orders.service.supporting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CnpjTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"12.345.678/0001-95", "12345678000195", "11.222.333/0001-81", "00.000.000/0001-91"})
+    @DisplayName("Should accept formatted and unformatted CNPJs with matching check digits")
+    void shouldAcceptValidCnpj(String cnpj) {
+        assertThat(Cnpj.isValid(cnpj)).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            "12.345.678/0001-90",
+            "12.345.678/0001-59",
+            "12345678000190",
+            "12.345.678.0001-95",
+            "12-345.678/0001.95",
+            "12.345.678/0001-9a",
+            "1234567800019",
+            "123456780001955",
+            "11.111.111/1111-11",
+            "00000000000000",
+            "invalid-cnpj-format"
+    })
+    @DisplayName("Should reject wrong check digits, separators, lengths and repeated digits")
+    void shouldRejectInvalidCnpj(String cnpj) {
+        assertThat(Cnpj.isValid(cnpj)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reuse the last result per customer and stay bounded")
+    void cacheShouldReuseResultPerCustomer() {
+        CnpjValidationCache cache = new CnpjValidationCache(2);
+
+        assertThat(cache.isValid("company-1", "12.345.678/0001-95")).isTrue();
+        assertThat(cache.isValid("company-1", "12.345.678/0001-95")).isTrue();
+        assertThat(cache.isValid("company-1", "12.345.678/0001-90")).isFalse();
+        assertThat(cache.isValid("company-2", "11.222.333/0001-81")).isTrue();
+        assertThat(cache.isValid("company-3", "11222333000181")).isTrue();
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.loomi.orders.service.supporting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Should expire entries only once their tick has elapsed")
+    void shouldExpireAtDeadlineTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofSeconds(1), 8, START);
+        wheel.schedule("a", START.plusMillis(1500));
+        wheel.schedule("b", START.plusSeconds(3));
+        List<String> expired = new ArrayList<>();
+
+        assertThat(wheel.advance(START.plusSeconds(1), expired::add)).isZero();
+        assertThat(wheel.advance(START.plusSeconds(2), expired::add)).isEqualTo(1);
+        assertThat(wheel.advance(START.plusSeconds(3), expired::add)).isEqualTo(1);
+
+        assertThat(expired).containsExactly("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep entries further than one revolution until their round comes")
+    void shouldHandleMultipleRounds() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofSeconds(1), 4, START);
+        wheel.schedule("near", START.plusSeconds(2));
+        wheel.schedule("far", START.plusSeconds(10));
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(START.plusSeconds(6), expired::add);
+        assertThat(expired).containsExactly("near");
+
+        wheel.advance(START.plusSeconds(10), expired::add);
+        assertThat(expired).containsExactly("near", "far");
+    }
+
+    @Test
+    @DisplayName("Should catch up after a pause longer than one revolution")
+    void shouldCatchUpAfterLongPause() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(Duration.ofSeconds(1), 4, START);
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i, START.plusSeconds(i));
+        }
+        wheel.advance(START, value -> { });
+
+        assertThat(wheel.advance(START.plusSeconds(15), value -> { })).isEqualTo(15);
+        assertThat(wheel.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reject wheel sizes that are not a power of two")
+    void shouldRejectInvalidWheelSize() {
+        assertThatThrownBy(() -> new HashedTimingWheel<>(Duration.ofSeconds(1), 6, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
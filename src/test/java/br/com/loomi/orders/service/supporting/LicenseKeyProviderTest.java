@@ -0,0 +1,69 @@
+package br.com.loomi.orders.service.supporting;
+
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class LicenseKeyProviderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LicenseKeyProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        provider.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fill the pool in the background and hand out unique keys")
+    void shouldServeKeysFromPool() {
+        provider = new LicenseKeyProvider(LicenseKeyFormat.uuid(), new OrderMetricsService(meterRegistry), 100, 25);
+        provider.start();
+        await().atMost(Duration.ofSeconds(5)).until(() -> provider.getPoolDepth() == 100);
+
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            keys.add(provider.nextKey());
+        }
+
+        assertThat(keys).hasSize(50);
+        assertThat(meterRegistry.get("licenses.key_pool.depth").gauge().value()).isEqualTo(50.0);
+        assertThat(meterRegistry.find("licenses.key_pool.miss.total").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refill once the pool falls below the low watermark")
+    void shouldRefillBelowLowWatermark() {
+        provider = new LicenseKeyProvider(LicenseKeyFormat.uuid(), new OrderMetricsService(meterRegistry), 100, 25);
+        provider.start();
+        await().atMost(Duration.ofSeconds(5)).until(() -> provider.getPoolDepth() == 100);
+
+        for (int i = 0; i < 80; i++) {
+            provider.nextKey();
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> provider.getPoolDepth() == 100);
+        assertThat(meterRegistry.get("licenses.key_pool.refill.duration").timer().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should use the pluggable format and generate inline when the pool is empty")
+    void shouldFallBackToInlineGeneration() {
+        AtomicInteger sequence = new AtomicInteger();
+        provider = new LicenseKeyProvider(() -> "KEY-" + sequence.incrementAndGet(),
+                new OrderMetricsService(meterRegistry), 10, 5);
+
+        assertThat(provider.nextKey()).startsWith("KEY-");
+        assertThat(meterRegistry.get("licenses.key_pool.miss.total").counter().count()).isEqualTo(1.0);
+    }
+}
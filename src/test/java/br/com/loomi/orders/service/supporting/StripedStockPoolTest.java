@@ -0,0 +1,79 @@
+package br.com.loomi.orders.service.supporting;
+
+import br.com.loomi.orders.config.FlashSaleProperties;
+import br.com.loomi.orders.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedStockPoolTest {
+
+    @Test
+    @DisplayName("Should serve a request larger than any single sub-pool by rebalancing")
+    void shouldRebalanceAcrossSubPools() {
+        StripedStockPool pool = new StripedStockPool(10, 4);
+
+        assertThat(pool.tryTake(7)).isNotNegative();
+        assertThat(pool.available()).isEqualTo(3);
+        assertThat(pool.tryTake(4)).isNegative();
+        assertThat(pool.isSoldOut()).isFalse();
+        assertThat(pool.tryTake(3)).isZero();
+        assertThat(pool.isSoldOut()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should sell exactly the initial stock under contention")
+    void shouldSellExactlyTheStock() throws InterruptedException {
+        int stock = 50_000;
+        StripedStockPool pool = new StripedStockPool(stock, 8);
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < 32; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    while (!pool.isSoldOut()) {
+                        int quantity = 1 + (int) (Thread.currentThread().threadId() % 3);
+                        if (pool.tryTake(quantity) >= 0) {
+                            sold.addAndGet(quantity);
+                        } else if (quantity > 1 && pool.tryTake(1) >= 0) {
+                            sold.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(sold.get()).isEqualTo(stock);
+        assertThat(pool.available()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should route configured hot SKUs of the inventory to a striped pool")
+    void shouldUseStripedPoolForFlashSaleSkus() {
+        InventoryService inventoryService = new InventoryService(new FlashSaleProperties(Set.of("PRE-PS6-001"), 4));
+        inventoryService.initStockIfAbsent("PRE-PS6-001", 5);
+
+        assertThat(inventoryService.reserve("PRE-PS6-001", 3)).isEqualTo(2);
+        assertThatThrownBy(() -> inventoryService.reserve("PRE-PS6-001", 3))
+                .isInstanceOf(BusinessException.class);
+        assertThat(inventoryService.reserve("PRE-PS6-001", 2)).isZero();
+        assertThat(inventoryService.getStock("PRE-PS6-001")).isZero();
+    }
+}
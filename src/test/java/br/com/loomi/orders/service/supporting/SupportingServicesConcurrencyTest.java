@@ -0,0 +1,205 @@
+package br.com.loomi.orders.service.supporting;
+
+import br.com.loomi.orders.domain.enums.ProductType;
+import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress tests for the customer-scoped supporting services.
+ * 64 threads hammer 10k customers (or a single hot product) and the invariants of each
+ * service are checked afterwards.
+ */
+class SupportingServicesConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int CUSTOMERS = 10_000;
+    private static final int OPERATIONS_PER_THREAD = 5_000;
+
+    @Test
+    @DisplayName("Should never exceed the credit limit under concurrent reservations")
+    void shouldKeepCreditInvariants() throws Exception {
+        CorporateCreditService creditService = new CorporateCreditService();
+        AtomicLong[] granted = newCounters();
+
+        runConcurrently(op -> {
+            int customer = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+            long amount = ThreadLocalRandom.current().nextLong(1_000, 30_000);
+            try {
+                creditService.validateAndReserve(customerId(customer), BigDecimal.valueOf(amount));
+                granted[customer].addAndGet(amount);
+            } catch (BusinessException ex) {
+                assertThat(ex.getCode()).isEqualTo("CREDIT_LIMIT_EXCEEDED");
+            }
+        });
+
+        for (int customer = 0; customer < CUSTOMERS; customer++) {
+            BigDecimal used = creditService.getUsedCredit(customerId(customer));
+            assertThat(used).isEqualByComparingTo(BigDecimal.valueOf(granted[customer].get()));
+            assertThat(used).isLessThanOrEqualTo(BigDecimal.valueOf(100_000));
+        }
+    }
+
+    @Test
+    @DisplayName("Should activate each subscription at most once and respect the per-customer cap")
+    void shouldKeepSubscriptionInvariants() throws Exception {
+        SubscriptionService subscriptionService = new SubscriptionService(
+                new OrderMetricsService(new SimpleMeterRegistry()), Clock.systemUTC(),
+                Duration.ofDays(30), Duration.ofMinutes(1), 1024);
+        Set<String> activated = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger[] perCustomer = new AtomicInteger[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            perCustomer[i] = new AtomicInteger();
+        }
+
+        runConcurrently(op -> {
+            int customer = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+            String plan = "SUB-ADDON-" + ThreadLocalRandom.current().nextInt(8);
+            try {
+                subscriptionService.validateAndActivate(customerId(customer), plan);
+                if (!activated.add(customerId(customer) + "|" + plan)) {
+                    duplicates.incrementAndGet();
+                }
+                perCustomer[customer].incrementAndGet();
+            } catch (BusinessException ex) {
+                assertThat(ex.getCode()).isIn("DUPLICATE_ACTIVE_SUBSCRIPTION", "SUBSCRIPTION_LIMIT_EXCEEDED");
+            }
+        });
+
+        assertThat(duplicates.get()).isZero();
+        for (int customer = 0; customer < CUSTOMERS; customer++) {
+            assertThat(perCustomer[customer].get()).isLessThanOrEqualTo(5);
+            assertThat(subscriptionService.getActiveSubscriptionCount(customerId(customer)))
+                    .isEqualTo(perCustomer[customer].get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should never oversell licenses nor grant a product twice to the same customer")
+    void shouldKeepLicenseInvariants() throws Exception {
+        int licensesPerProduct = 20_000;
+        int products = 4;
+        Map<String, ProductInfo> catalog = new ConcurrentHashMap<>();
+        for (int i = 0; i < products; i++) {
+            ProductInfo info = new ProductInfo();
+            info.setProductId("EBOOK-" + i);
+            info.setProductType(ProductType.DIGITAL);
+            info.setLicenses(licensesPerProduct);
+            catalog.put(info.getProductId(), info);
+        }
+        DigitalLicenseService licenseService = new DigitalLicenseService(catalog::get);
+        Set<String> granted = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger[] allocatedPerProduct = new AtomicInteger[products];
+        for (int i = 0; i < products; i++) {
+            allocatedPerProduct[i] = new AtomicInteger();
+        }
+
+        runConcurrently(op -> {
+            int customer = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+            int product = ThreadLocalRandom.current().nextInt(products);
+            try {
+                licenseService.allocateLicense(customerId(customer), "EBOOK-" + product, 1);
+                if (!granted.add(customerId(customer) + "|" + product)) {
+                    duplicates.incrementAndGet();
+                }
+                allocatedPerProduct[product].incrementAndGet();
+            } catch (BusinessException ex) {
+                assertThat(ex.getCode()).isIn("ALREADY_OWNED", "LICENSE_UNAVAILABLE");
+            }
+        });
+
+        assertThat(duplicates.get()).isZero();
+        for (int product = 0; product < products; product++) {
+            int allocated = allocatedPerProduct[product].get();
+            assertThat(allocated).isLessThanOrEqualTo(licensesPerProduct);
+            assertThat(licenseService.getRemainingLicenses("EBOOK-" + product))
+                    .isEqualTo(licensesPerProduct - allocated);
+        }
+    }
+
+    @Test
+    @DisplayName("Should never oversell pre-order slots of a single hot product")
+    void shouldKeepPreOrderInvariants() throws Exception {
+        int totalSlots = 100_000;
+        ProductInfo info = new ProductInfo();
+        info.setProductId("PRE-LAUNCH-001");
+        info.setProductType(ProductType.PRE_ORDER);
+        info.setReleaseDate(LocalDate.now().plusMonths(1));
+        info.setPreOrderSlots(totalSlots);
+        PreOrderService preOrderService = new PreOrderService(productId -> info);
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(op -> {
+            int quantity = ThreadLocalRandom.current().nextInt(1, 3);
+            try {
+                preOrderService.validateAndReserve("PRE-LAUNCH-001", quantity);
+                reserved.addAndGet(quantity);
+            } catch (BusinessException ex) {
+                assertThat(ex.getCode()).isEqualTo("PRE_ORDER_SOLD_OUT");
+            }
+        });
+
+        assertThat(reserved.get()).isLessThanOrEqualTo(totalSlots);
+        assertThat(preOrderService.getReservedSlots("PRE-LAUNCH-001")).isEqualTo(reserved.get());
+    }
+
+    private static String customerId(int customer) {
+        return "customer-" + customer;
+    }
+
+    private static AtomicLong[] newCounters() {
+        AtomicLong[] counters = new AtomicLong[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            counters[i] = new AtomicLong();
+        }
+        return counters;
+    }
+
+    private static void runConcurrently(IntConsumer operation) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                            operation.accept(i);
+                        }
+                    } catch (Throwable ex) {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        assertThat(failures.get()).isZero();
+    }
+}
@@ -1,10 +1,24 @@
 package br.com.loomi.orders.service.supporting;
 
+import br.com.loomi.orders.config.CorporateCreditProperties;
+import br.com.loomi.orders.config.FlashSaleProperties;
+import br.com.loomi.orders.domain.enums.ProductType;
 import br.com.loomi.orders.exception.BusinessException;
+import br.com.loomi.orders.service.catalog.InMemoryProductCatalogService;
+import br.com.loomi.orders.service.catalog.ProductInfo;
+import br.com.loomi.orders.service.metrics.OrderMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -70,7 +84,8 @@ class SupportingServicesTest {
 
         @BeforeEach
         void setUp() {
-            subscriptionService = new SubscriptionService();
+            subscriptionService = new SubscriptionService(new OrderMetricsService(new SimpleMeterRegistry()),
+                    Clock.systemUTC(), Duration.ofDays(30), Duration.ofMinutes(1), 1024);
         }
 
         @Test
@@ -139,6 +154,17 @@ class SupportingServicesTest {
              });
         }
 
+        @Test
+        @DisplayName("Should allow Basic and Premium plans together")
+        void shouldAllowBasicPlusPremium() {
+            subscriptionService.validateAndActivate("customer-001", "SUB-BASIC-001");
+
+            assertThatCode(() ->
+                subscriptionService.validateAndActivate("customer-001", "SUB-PREMIUM-001")
+            ).doesNotThrowAnyException();
+            assertThat(subscriptionService.getActiveSubscriptionCount("customer-001")).isEqualTo(2);
+        }
+
         @Test
         @DisplayName("Should allow different customers to have same subscription")
         void shouldAllowDifferentCustomersSameSubscription() {
@@ -206,4 +232,328 @@ class SupportingServicesTest {
             }).doesNotThrowAnyException();
         }
     }
+
+    @Nested
+    @DisplayName("Digital License Service Tests")
+    class DigitalLicenseServiceTests {
+
+        private DigitalLicenseService licenseService;
+
+        @BeforeEach
+        void setUp() {
+            licenseService = new DigitalLicenseService(new InMemoryProductCatalogService());
+        }
+
+        @Test
+        @DisplayName("Should index ownership per customer and product")
+        void shouldIndexOwnership() {
+            licenseService.allocateLicense("customer-001", "EBOOK-JAVA-001", 1);
+            licenseService.allocateLicense("customer-001", "COURSE-KAFKA-001", 1);
+
+            assertThat(licenseService.ownsProduct("customer-001", "EBOOK-JAVA-001")).isTrue();
+            assertThat(licenseService.ownsProduct("customer-001", "COURSE-KAFKA-001")).isTrue();
+            assertThat(licenseService.ownsProduct("customer-001", "EBOOK-DDD-001")).isFalse();
+            assertThat(licenseService.ownsProduct("customer-002", "EBOOK-JAVA-001")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject a product the customer already owns")
+        void shouldRejectAlreadyOwned() {
+            licenseService.allocateLicense("customer-001", "EBOOK-JAVA-001", 1);
+
+            assertThatThrownBy(() ->
+                licenseService.allocateLicense("customer-001", "EBOOK-JAVA-001", 1)
+            ).isInstanceOf(BusinessException.class)
+             .satisfies(ex -> assertThat(((BusinessException) ex).getCode()).isEqualTo("ALREADY_OWNED"));
+            assertThat(licenseService.getRemainingLicenses("EBOOK-JAVA-001")).isEqualTo(999);
+        }
+    }
+
+    @Nested
+    @DisplayName("Pre-Order Service Tests")
+    class PreOrderServiceTests {
+
+        private MutableClock clock;
+        private PreOrderService preOrderService;
+
+        @BeforeEach
+        void setUp() {
+            clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+            Map<String, ProductInfo> catalog = Map.of(
+                    "PRE-GAME-001", preOrderProduct("PRE-GAME-001", LocalDate.of(2025, 1, 3), 10),
+                    "PRE-CONSOLE-001", preOrderProduct("PRE-CONSOLE-001", LocalDate.of(2025, 2, 1), 10),
+                    "PRE-OLD-001", preOrderProduct("PRE-OLD-001", LocalDate.of(2024, 12, 1), 10)
+            );
+            preOrderService = new PreOrderService(catalog::get, FlashSaleProperties.disabled(), clock);
+        }
+
+        @Test
+        @DisplayName("Should reserve slots until the product is sold out")
+        void shouldReserveUntilSoldOut() {
+            preOrderService.validateAndReserve("PRE-GAME-001", 6);
+            preOrderService.validateAndReserve("PRE-GAME-001", 4);
+
+            assertThatThrownBy(() -> preOrderService.validateAndReserve("PRE-GAME-001", 1))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(ex -> assertThat(((BusinessException) ex).getCode()).isEqualTo("PRE_ORDER_SOLD_OUT"));
+            assertThat(preOrderService.getReservedSlots("PRE-GAME-001")).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should reject products already released")
+        void shouldRejectReleasedProducts() {
+            assertThatThrownBy(() -> preOrderService.validateAndReserve("PRE-OLD-001", 1))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(ex -> assertThat(((BusinessException) ex).getCode()).isEqualTo("RELEASE_DATE_PASSED"));
+        }
+
+        @Test
+        @DisplayName("Should close only the products released by the time the pass runs")
+        void shouldCloseReleasedProductsInBulk() {
+            preOrderService.validateAndReserve("PRE-GAME-001", 1);
+            preOrderService.validateAndReserve("PRE-CONSOLE-001", 1);
+
+            clock.advance(Duration.ofDays(2));
+            assertThat(preOrderService.closeReleasedProducts()).isEqualTo(1);
+            assertThat(preOrderService.closeReleasedProducts()).isZero();
+
+            assertThatThrownBy(() -> preOrderService.validateAndReserve("PRE-GAME-001", 1))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(ex -> assertThat(((BusinessException) ex).getCode()).isEqualTo("RELEASE_DATE_PASSED"));
+            assertThatCode(() -> preOrderService.validateAndReserve("PRE-CONSOLE-001", 1))
+                    .doesNotThrowAnyException();
+        }
+
+        private ProductInfo preOrderProduct(String productId, LocalDate releaseDate, int slots) {
+            ProductInfo info = new ProductInfo();
+            info.setProductId(productId);
+            info.setProductType(ProductType.PRE_ORDER);
+            info.setReleaseDate(releaseDate);
+            info.setPreOrderSlots(slots);
+            return info;
+        }
+    }
+
+    @Nested
+    @DisplayName("Availability View Tests")
+    class AvailabilityViewTests {
+
+        @Test
+        @DisplayName("Should only flag products known to have fewer units than requested")
+        void shouldFlagClearlyUnavailableProducts() {
+            AvailabilityView view = new AvailabilityView(true);
+            view.record("BOOK-001", 3);
+
+            assertThat(view.isClearlyUnavailable("BOOK-001", 3)).isFalse();
+            assertThat(view.isClearlyUnavailable("BOOK-001", 4)).isTrue();
+            assertThat(view.isClearlyUnavailable("UNKNOWN-001", 100)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep the lowest value when updates arrive out of order")
+        void shouldKeepLowestValue() {
+            AvailabilityView view = new AvailabilityView(true);
+            view.record("BOOK-001", 2);
+            view.record("BOOK-001", 5);
+
+            assertThat(view.lastKnownAvailable("BOOK-001")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should never flag products when the pre-check is disabled")
+        void shouldIgnoreWhenDisabled() {
+            AvailabilityView view = new AvailabilityView(false);
+            view.record("BOOK-001", 0);
+
+            assertThat(view.isClearlyUnavailable("BOOK-001", 1)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Corporate Credit Ledger Tests")
+    class CorporateCreditLedgerTests {
+
+        private MutableClock clock;
+        private CorporateCreditService creditService;
+
+        @BeforeEach
+        void setUp() {
+            clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+            CorporateCreditProperties properties = new CorporateCreditProperties(
+                    BigDecimal.valueOf(100_000),
+                    Map.of("company-vip", BigDecimal.valueOf(500_000))
+            );
+            creditService = new CorporateCreditService(properties, clock);
+        }
+
+        @Test
+        @DisplayName("Should apply per-customer credit limit overrides")
+        void shouldApplyPerCustomerLimit() {
+            assertThatCode(() ->
+                creditService.validateAndReserve("company-vip", BigDecimal.valueOf(300_000), 30)
+            ).doesNotThrowAnyException();
+
+            assertThatThrownBy(() ->
+                creditService.validateAndReserve("company-001", BigDecimal.valueOf(300_000), 30)
+            ).isInstanceOf(BusinessException.class);
+        }
+
+        @Test
+        @DisplayName("Should release credit when the payment term ends")
+        void shouldReleaseCreditAfterPaymentTerm() {
+            creditService.validateAndReserve("company-001", BigDecimal.valueOf(60_000), 30);
+            creditService.validateAndReserve("company-001", BigDecimal.valueOf(30_000), 60);
+
+            clock.advance(Duration.ofDays(29));
+            assertThat(creditService.releaseExpired()).isZero();
+            assertThat(creditService.getUsedCredit("company-001")).isEqualByComparingTo("90000");
+
+            clock.advance(Duration.ofDays(2));
+            assertThat(creditService.releaseExpired()).isEqualTo(1);
+            assertThat(creditService.getUsedCredit("company-001")).isEqualByComparingTo("30000");
+
+            assertThatCode(() ->
+                creditService.validateAndReserve("company-001", BigDecimal.valueOf(60_000), 90)
+            ).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should release credit early only once")
+        void shouldReleaseCreditEarlyOnce() {
+            var reservation = creditService.validateAndReserve("company-001", BigDecimal.valueOf(60_000), 30);
+            creditService.validateAndReserve("company-001", BigDecimal.valueOf(30_000), 30);
+
+            reservation.release();
+            reservation.release();
+            assertThat(creditService.getUsedCredit("company-001")).isEqualByComparingTo("30000");
+
+            clock.advance(Duration.ofDays(31));
+            assertThat(creditService.releaseExpired()).isEqualTo(1);
+            assertThat(creditService.getUsedCredit("company-001")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should drop customers without outstanding credit from the ledger")
+        void shouldDropSettledCustomers() {
+            creditService.validateAndReserve("company-001", BigDecimal.valueOf(10_000), 30);
+            creditService.validateAndReserve("company-002", BigDecimal.valueOf(10_000), 90);
+            assertThat(creditService.getActiveCustomerCount()).isEqualTo(2);
+
+            clock.advance(Duration.ofDays(31));
+            creditService.releaseExpired();
+
+            assertThat(creditService.getActiveCustomerCount()).isEqualTo(1);
+            assertThat(creditService.getUsedCredit("company-001")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Subscription Lifecycle Tests")
+    class SubscriptionLifecycleTests {
+
+        private MutableClock clock;
+        private SimpleMeterRegistry meterRegistry;
+        private SubscriptionService subscriptionService;
+
+        @BeforeEach
+        void setUp() {
+            clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+            meterRegistry = new SimpleMeterRegistry();
+            subscriptionService = new SubscriptionService(new OrderMetricsService(meterRegistry), clock,
+                    Duration.ofDays(30), Duration.ofMinutes(1), 1024);
+        }
+
+        @Test
+        @DisplayName("Should free a slot when a subscription is cancelled")
+        void shouldFreeSlotOnCancel() {
+            for (int i = 1; i <= 5; i++) {
+                subscriptionService.validateAndActivate("customer-001", "SUB-" + i);
+            }
+
+            subscriptionService.cancel("customer-001", "SUB-3");
+
+            assertThatCode(() ->
+                subscriptionService.validateAndActivate("customer-001", "SUB-6")
+            ).doesNotThrowAnyException();
+            assertThatThrownBy(() ->
+                subscriptionService.cancel("customer-001", "SUB-3")
+            ).isInstanceOf(BusinessException.class)
+             .satisfies(ex -> assertThat(((BusinessException) ex).getCode()).isEqualTo("SUBSCRIPTION_NOT_ACTIVE"));
+        }
+
+        @Test
+        @DisplayName("Should allow an incompatible plan once the conflicting one is cancelled")
+        void shouldRecomputeFamiliesOnCancel() {
+            subscriptionService.validateAndActivate("customer-001", "SUB-ENTERPRISE-001");
+            subscriptionService.cancel("customer-001", "SUB-ENTERPRISE-001");
+
+            assertThatCode(() ->
+                subscriptionService.validateAndActivate("customer-001", "SUB-BASIC-001")
+            ).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should expire subscriptions at period end and drop idle customers")
+        void shouldExpireAtPeriodEnd() {
+            subscriptionService.validateAndActivate("customer-001", "SUB-PREMIUM-001");
+
+            clock.advance(Duration.ofDays(29));
+            assertThat(subscriptionService.expireDue()).isZero();
+
+            clock.advance(Duration.ofDays(1));
+            assertThat(subscriptionService.expireDue()).isEqualTo(1);
+            assertThat(subscriptionService.getActiveSubscriptionCount("customer-001")).isZero();
+            assertThat(subscriptionService.getActiveCustomerCount()).isZero();
+            assertThat(meterRegistry.get("subscriptions.lifecycle.total").tag("event", "expired").counter().count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should extend the period on renewal")
+        void shouldExtendPeriodOnRenewal() {
+            subscriptionService.validateAndActivate("customer-001", "SUB-PREMIUM-001");
+            clock.advance(Duration.ofDays(10));
+
+            Instant periodEnd = subscriptionService.renew("customer-001", "SUB-PREMIUM-001");
+
+            assertThat(periodEnd).isEqualTo(Instant.parse("2025-03-02T00:00:00Z"));
+            clock.advance(Duration.ofDays(20));
+            assertThat(subscriptionService.expireDue()).isZero();
+            assertThat(subscriptionService.getActiveSubscriptionCount("customer-001")).isEqualTo(1);
+
+            clock.advance(Duration.ofDays(30));
+            assertThat(subscriptionService.expireDue()).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Clock that only moves when the test advances it.
+     */
+    static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
 }